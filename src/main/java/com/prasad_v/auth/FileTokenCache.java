@@ -0,0 +1,301 @@
+package com.prasad_v.auth;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonParseException;
+import com.google.gson.reflect.TypeToken;
+import com.prasad_v.config.ConfigurationManager;
+import com.prasad_v.config.EnvironmentManager;
+import com.prasad_v.logging.CustomLogger;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.lang.reflect.Type;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.FileAttribute;
+import java.nio.file.attribute.PosixFilePermission;
+import java.nio.file.attribute.PosixFilePermissions;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+
+/**
+ * File-backed token cache shared by all JVMs on the same machine.
+ * Lets Surefire forks and CI shards reuse a token obtained by another process instead of
+ * re-authenticating. Writes go to a temporary file that is atomically moved into place, so
+ * readers never see a partial file; writers and token fetches are coordinated through an
+ * exclusive lock on a sibling ".lock" file.
+ * Enabled with token.cache.file.enabled; the file location is token.cache.file.path
+ * (defaults to one file per environment in ~/.restassured-tokens). Bearer tokens are
+ * credentials, so directories the cache creates and the cache file are private to the user.
+ * Each entry records the process that wrote it, so clearOwnTokens() leaves other forks' tokens alone.
+ */
+public class FileTokenCache {
+
+    private static final CustomLogger logger = new CustomLogger(FileTokenCache.class);
+    private static final Gson gson = new Gson();
+    private static final Type ENTRIES_TYPE = new TypeToken<Map<String, CachedToken>>() { }.getType();
+    private static final long PID = ProcessHandle.current().pid();
+    private static final boolean POSIX = FileSystems.getDefault().supportedFileAttributeViews().contains("posix");
+
+    private static FileTokenCache instance;
+
+    private final Path cacheFile;
+    private final Path lockFile;
+
+    // FileLock is held per JVM, so threads in this JVM are serialized before taking it
+    private final ReentrantLock processLock = new ReentrantLock();
+    private FileChannel lockChannel;
+    private FileLock fileLock;
+
+    /**
+     * Token entry as stored in the cache file
+     */
+    public static class CachedToken {
+        private final String value;
+        private final long expiresAt; // Milliseconds since epoch, -1 for no expiration
+        private final long owner; // Process ID of the writer
+
+        public CachedToken(String value, long expiresAt) {
+            this(value, expiresAt, PID);
+        }
+
+        private CachedToken(String value, long expiresAt, long owner) {
+            this.value = value;
+            this.expiresAt = expiresAt;
+            this.owner = owner;
+        }
+
+        public String getValue() {
+            return value;
+        }
+
+        public long getExpiresAt() {
+            return expiresAt;
+        }
+
+        public boolean isExpired() {
+            return expiresAt != -1 && System.currentTimeMillis() > expiresAt;
+        }
+    }
+
+    private FileTokenCache(Path cacheFile) {
+        this.cacheFile = cacheFile.toAbsolutePath();
+        this.lockFile = Paths.get(this.cacheFile + ".lock");
+        logger.info("Using shared token cache file: " + this.cacheFile);
+    }
+
+    /**
+     * Get the singleton instance of FileTokenCache
+     *
+     * @return FileTokenCache instance
+     */
+    public static synchronized FileTokenCache getInstance() {
+        if (instance == null) {
+            String path = ConfigurationManager.getInstance().getProperty("token.cache.file.path", "");
+            if (path.isEmpty()) {
+                String environment = EnvironmentManager.getInstance().getCurrentEnvironment();
+                path = Paths.get(System.getProperty("user.home"), ".restassured-tokens",
+                        "tokens-" + environment + ".json").toString();
+            }
+            instance = new FileTokenCache(Paths.get(path));
+        }
+        return instance;
+    }
+
+    /**
+     * Check if the shared file cache is enabled (token.cache.file.enabled)
+     *
+     * @return true if tokens should be shared through the cache file
+     */
+    public static boolean isEnabled() {
+        return ConfigurationManager.getInstance().getBooleanProperty("token.cache.file.enabled", false);
+    }
+
+    /**
+     * Get a token from the cache file
+     *
+     * @param tokenKey Unique identifier for the token
+     * @return The cached token, or null if not found or expired
+     */
+    public CachedToken get(String tokenKey) {
+        CachedToken token = readEntries().get(tokenKey);
+        return token != null && !token.isExpired() ? token : null;
+    }
+
+    /**
+     * Store a token in the cache file
+     *
+     * @param tokenKey Unique identifier for the token
+     * @param tokenValue The token value
+     * @param expiresAt Expiration time in milliseconds since epoch, -1 for no expiration
+     */
+    public void put(String tokenKey, String tokenValue, long expiresAt) {
+        update(entries -> entries.put(tokenKey, new CachedToken(tokenValue, expiresAt)));
+    }
+
+    /**
+     * Remove a token from the cache file
+     *
+     * @param tokenKey Unique identifier for the token
+     */
+    public void remove(String tokenKey) {
+        update(entries -> entries.remove(tokenKey));
+    }
+
+    /**
+     * Remove the tokens this process wrote from the cache file
+     */
+    public void clearOwnTokens() {
+        update(entries -> entries.values().removeIf(token -> token.owner == PID));
+    }
+
+    /**
+     * Acquire the cross-process lock. Reentrant for the owning thread.
+     * Callers must release it with unlock() in a finally block.
+     */
+    public void lock() {
+        processLock.lock();
+        if (processLock.getHoldCount() > 1) {
+            return;
+        }
+        try {
+            createPrivateDirectory(lockFile.getParent());
+            lockChannel = FileChannel.open(lockFile, StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+            fileLock = lockChannel.lock();
+        } catch (IOException e) {
+            // Degrade to in-process locking; the cache file itself is still written atomically
+            logger.warn("Could not lock token cache file " + lockFile + ": " + e.getMessage());
+            closeLockChannel();
+        }
+    }
+
+    /**
+     * Release the cross-process lock
+     */
+    public void unlock() {
+        try {
+            if (processLock.getHoldCount() == 1) {
+                closeLockChannel();
+            }
+        } finally {
+            processLock.unlock();
+        }
+    }
+
+    private void closeLockChannel() {
+        try {
+            if (fileLock != null) {
+                fileLock.release();
+            }
+            if (lockChannel != null) {
+                lockChannel.close();
+            }
+        } catch (IOException e) {
+            logger.warn("Failed to release token cache lock: " + e.getMessage());
+        } finally {
+            fileLock = null;
+            lockChannel = null;
+        }
+    }
+
+    /**
+     * Apply a change to the cache file under the cross-process lock.
+     * Expired entries are pruned on every write.
+     *
+     * @param change Change to apply to the entries
+     */
+    private void update(Consumer<Map<String, CachedToken>> change) {
+        lock();
+        try {
+            Map<String, CachedToken> entries = readEntries();
+            entries.values().removeIf(CachedToken::isExpired);
+            change.accept(entries);
+            writeEntries(entries);
+        } catch (IOException e) {
+            logger.warn("Failed to update token cache file " + cacheFile + ": " + e.getMessage());
+        } finally {
+            unlock();
+        }
+    }
+
+    private Map<String, CachedToken> readEntries() {
+        if (!Files.exists(cacheFile)) {
+            return new HashMap<>();
+        }
+        try {
+            String json = new String(Files.readAllBytes(cacheFile), StandardCharsets.UTF_8);
+            Map<String, CachedToken> entries = gson.fromJson(json, ENTRIES_TYPE);
+            return entries != null ? entries : new HashMap<>();
+        } catch (IOException | JsonParseException e) {
+            logger.warn("Ignoring unreadable token cache file " + cacheFile + ": " + e.getMessage());
+            return new HashMap<>();
+        }
+    }
+
+    /**
+     * Create the cache directory (and missing parents) accessible by the owner only where supported.
+     * An existing directory is left as it is, with a warning if other users can read it.
+     *
+     * @param directory Directory to create
+     * @throws IOException If the directory cannot be created
+     */
+    private static void createPrivateDirectory(Path directory) throws IOException {
+        if (directory == null) {
+            return;
+        }
+        if (Files.isDirectory(directory)) {
+            if (POSIX) {
+                Set<PosixFilePermission> permissions = Files.getPosixFilePermissions(directory);
+                if (permissions.contains(PosixFilePermission.GROUP_READ)
+                        || permissions.contains(PosixFilePermission.OTHERS_READ)) {
+                    logger.warn("Token cache directory " + directory + " is readable by other users");
+                }
+            }
+            return;
+        }
+        if (POSIX) {
+            Files.createDirectories(directory,
+                    PosixFilePermissions.asFileAttribute(PosixFilePermissions.fromString("rwx------")));
+        } else {
+            Files.createDirectories(directory);
+        }
+    }
+
+    private void writeEntries(Map<String, CachedToken> entries) throws IOException {
+        Path directory = cacheFile.getParent();
+        createPrivateDirectory(directory);
+
+        // Tokens are credentials, keep the file readable by the owner only where supported
+        Path tempFile;
+        if (POSIX) {
+            FileAttribute<?> ownerOnly = PosixFilePermissions.asFileAttribute(PosixFilePermissions.fromString("rw-------"));
+            tempFile = Files.createTempFile(directory, cacheFile.getFileName().toString(), ".tmp", ownerOnly);
+        } else {
+            tempFile = Files.createTempFile(directory, cacheFile.getFileName().toString(), ".tmp");
+        }
+
+        try {
+            try (Writer writer = Files.newBufferedWriter(tempFile, StandardCharsets.UTF_8)) {
+                gson.toJson(entries, ENTRIES_TYPE, writer);
+            }
+            try {
+                Files.move(tempFile, cacheFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(tempFile, cacheFile, StandardCopyOption.REPLACE_EXISTING);
+            }
+        } finally {
+            Files.deleteIfExists(tempFile);
+        }
+    }
+}
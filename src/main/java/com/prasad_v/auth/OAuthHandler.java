@@ -7,28 +7,66 @@ import com.prasad_v.auth.AuthenticationFactory.IAuthHandler;
 import com.prasad_v.logging.CustomLogger;
 import com.prasad_v.config.ConfigurationManager;
 import com.prasad_v.exceptions.AuthenticationException;
+import com.prasad_v.metrics.FrameworkMetrics;
 
+import java.lang.ref.WeakReference;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.util.HashMap;
+import java.util.HexFormat;
 import java.util.Map;
+import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.ReentrantLock;
 
 /**
  * Handles OAuth 2.0 authentication for API requests.
  * Supports client credentials flow, authorization code flow,
  * and pre-configured access tokens.
+ * Token fetches are single-flight: when the token is missing or expired, one thread
+ * requests a new one while concurrent callers wait for it. Tokens are refreshed in the
+ * background shortly before they expire, so requests normally never wait on the auth server.
+ * The refresh window is 30 seconds, or half the token lifetime for shorter-lived tokens, and
+ * background refreshes start at most once every 5 seconds so a failing or slow auth server is
+ * not hit by back-to-back refreshes.
+ * Tokens are stored in TokenManager under keys that include a hash of the token URL, client ID,
+ * scope and grant type, so handlers for different clients never overwrite each other's tokens.
+ * Scheduled refreshes only hold a weak reference to their handler, so a handler no test uses
+ * any more stops refreshing once it is garbage collected.
  */
 public class OAuthHandler implements IAuthHandler {
 
     private static final CustomLogger logger = new CustomLogger(OAuthHandler.class);
 
+    // Refresh tokens this long before they expire (at most half of the token lifetime)
+    private static final long REFRESH_BUFFER_MS = 30000;
+
+    // Minimum time between two background refreshes
+    private static final long MIN_BACKGROUND_REFRESH_INTERVAL_MS = 5000;
+
+    // Shared scheduler for background token refreshes
+    private static final ScheduledThreadPoolExecutor refreshScheduler = createRefreshScheduler();
+
     // OAuth credentials
     private String clientId;
     private String clientSecret;
     private String scope;
 
     // Token information
-    private String accessToken;
-    private String refreshToken;
-    private long expiresAt = 0;
+    private volatile String accessToken;
+    private volatile String refreshToken;
+    private volatile long expiresAt = 0;
+    private volatile long refreshAt = 0;
+
+    // Single-flight token fetching and background refresh state
+    private final ReentrantLock tokenLock = new ReentrantLock();
+    private final AtomicBoolean backgroundRefreshPending = new AtomicBoolean(false);
+    private volatile long lastBackgroundRefreshAt = 0;
+    private ScheduledFuture<?> scheduledRefresh;
 
     // OAuth endpoints
     private String tokenUrl;
@@ -45,6 +83,17 @@ public class OAuthHandler implements IAuthHandler {
 
     private GrantType grantType = GrantType.CLIENT_CREDENTIALS;
 
+    private static ScheduledThreadPoolExecutor createRefreshScheduler() {
+        ScheduledThreadPoolExecutor scheduler = new ScheduledThreadPoolExecutor(1, runnable -> {
+            Thread thread = new Thread(runnable, "oauth-token-refresher");
+            thread.setDaemon(true);
+            return thread;
+        });
+        // Re-armed refreshes cancel the previous one; drop it from the queue right away
+        scheduler.setRemoveOnCancelPolicy(true);
+        return scheduler;
+    }
+
     /**
      * Default constructor
      */
@@ -129,9 +178,9 @@ public class OAuthHandler implements IAuthHandler {
      * @param expiresInSeconds Token expiration in seconds (from now)
      */
     public void setAccessToken(String accessToken, long expiresInSeconds) {
-        this.accessToken = accessToken;
-        this.expiresAt = System.currentTimeMillis() + (expiresInSeconds * 1000);
-        TokenManager.storeToken("oauth_access_token", accessToken, expiresInSeconds);
+        publishToken(accessToken, System.currentTimeMillis() + (expiresInSeconds * 1000));
+        TokenManager.storeToken(tokenKey("oauth_access_token"), accessToken, expiresInSeconds);
+        scheduleProactiveRefresh();
     }
 
     /**
@@ -141,7 +190,7 @@ public class OAuthHandler implements IAuthHandler {
      */
     public void setRefreshToken(String refreshToken) {
         this.refreshToken = refreshToken;
-        TokenManager.storeToken("oauth_refresh_token", refreshToken, -1); // -1 means no expiration
+        TokenManager.storeToken(tokenKey("oauth_refresh_token"), refreshToken, -1); // -1 means no expiration
     }
 
     /**
@@ -158,37 +207,180 @@ public class OAuthHandler implements IAuthHandler {
     }
 
     /**
-     * Ensures a valid access token is available, requesting a new one if needed
+     * Ensures a valid access token is available.
+     * A token that is still valid but inside the refresh buffer is used as-is while a
+     * background refresh runs; only a missing or expired token blocks the caller.
      */
     private void ensureValidAccessToken() {
-        // If we have no token or it's expired (with 30s buffer)
-        if (accessToken == null || System.currentTimeMillis() > (expiresAt - 30000)) {
-            logger.debug("Access token missing or expired. Requesting new token.");
-
-            // Try to get from token manager first
-            accessToken = TokenManager.getToken("oauth_access_token");
-            if (accessToken != null && !TokenManager.isTokenExpired("oauth_access_token")) {
-                logger.debug("Using cached access token from TokenManager");
-                expiresAt = TokenManager.getTokenExpiry("oauth_access_token");
+        long now = System.currentTimeMillis();
+        long currentExpiry = expiresAt;
+
+        if (accessToken != null && now < currentExpiry) {
+            if (now >= refreshAt) {
+                triggerBackgroundRefresh();
+            }
+            return;
+        }
+
+        logger.debug("Access token missing or expired. Waiting for token request.");
+        tokenLock.lock();
+        try {
+            // Another thread may have fetched a token while we were waiting
+            if (accessToken != null && System.currentTimeMillis() < expiresAt) {
                 return;
             }
+            TokenManager.runExclusive(this::obtainAccessToken);
+        } finally {
+            tokenLock.unlock();
+        }
+    }
 
-            // If we have a refresh token, try to use it
-            if (refreshToken != null) {
-                try {
-                    refreshAccessToken();
+    /**
+     * Obtains a new access token from the TokenManager cache, the refresh token or a new token request.
+     * Must be called while holding the token lock.
+     */
+    private void obtainAccessToken() {
+        // Another JVM may have refreshed the token while we waited for the shared cache lock
+        String accessTokenKey = tokenKey("oauth_access_token");
+        TokenManager.reloadFromSharedCache(accessTokenKey);
+
+        // Try to get from token manager first; only a token newer than the current one helps
+        String cachedToken = TokenManager.getToken(accessTokenKey);
+        long cachedExpiry = TokenManager.getTokenExpiry(accessTokenKey);
+        if (cachedToken != null && !cachedToken.equals(accessToken) && cachedExpiry > expiresAt) {
+            logger.debug("Using cached access token from TokenManager");
+            publishToken(cachedToken, cachedExpiry);
+            scheduleProactiveRefresh();
+            return;
+        }
+
+        // If we have a refresh token, try to use it
+        if (refreshToken != null) {
+            try {
+                refreshAccessToken();
+                return;
+            } catch (Exception e) {
+                logger.warn("Failed to refresh token: " + e.getMessage());
+                // Fall through to request new token
+            }
+        }
+
+        // Request brand new token
+        requestNewAccessToken();
+    }
+
+    /**
+     * Publishes a new access token together with the time its background refresh is due.
+     * The expiry is set before the token so readers never pair the token with the old expiry.
+     *
+     * @param token The access token
+     * @param tokenExpiresAt Expiry time in milliseconds since epoch
+     */
+    private void publishToken(String token, long tokenExpiresAt) {
+        long lifetimeMs = Math.max(0, tokenExpiresAt - System.currentTimeMillis());
+        refreshAt = tokenExpiresAt - Math.min(REFRESH_BUFFER_MS, lifetimeMs / 2);
+        expiresAt = tokenExpiresAt;
+        accessToken = token;
+    }
+
+    /**
+     * Starts a background token refresh unless one is already pending or running,
+     * or the previous one started less than MIN_BACKGROUND_REFRESH_INTERVAL_MS ago
+     */
+    private void triggerBackgroundRefresh() {
+        if (System.currentTimeMillis() - lastBackgroundRefreshAt < MIN_BACKGROUND_REFRESH_INTERVAL_MS) {
+            return;
+        }
+        if (backgroundRefreshPending.compareAndSet(false, true)) {
+            long now = System.currentTimeMillis();
+            lastBackgroundRefreshAt = now;
+            logger.debug("Access token expires in " + (expiresAt - now) + "ms. Refreshing in background.");
+            refreshScheduler.execute(this::backgroundRefresh);
+        }
+    }
+
+    /**
+     * Refreshes the access token off the request path. If a foreground fetch is already
+     * in progress it is left to complete that fetch.
+     */
+    private void backgroundRefresh() {
+        try {
+            if (!tokenLock.tryLock()) {
+                return;
+            }
+            try {
+                if (accessToken != null && System.currentTimeMillis() < refreshAt) {
                     return;
-                } catch (Exception e) {
-                    logger.warn("Failed to refresh token: " + e.getMessage());
-                    // Fall through to request new token
                 }
+                TokenManager.runExclusive(this::obtainAccessToken);
+            } finally {
+                tokenLock.unlock();
             }
+        } catch (Exception e) {
+            logger.warn("Background OAuth token refresh failed: " + e.getMessage());
+        } finally {
+            backgroundRefreshPending.set(false);
+        }
+    }
 
-            // Request brand new token
-            requestNewAccessToken();
+    /**
+     * Schedules a refresh of the current access token for when it enters its refresh window.
+     * Nothing is scheduled when the handler has no credentials to request a token with.
+     */
+    private synchronized void scheduleProactiveRefresh() {
+        if (scheduledRefresh != null) {
+            scheduledRefresh.cancel(false);
+            scheduledRefresh = null;
+        }
+
+        if (tokenUrl == null || clientId == null || clientSecret == null) {
+            return;
+        }
+
+        long delayMs = refreshAt - System.currentTimeMillis();
+        if (accessToken != null && delayMs > 0) {
+            logger.debug("Scheduling proactive OAuth token refresh in " + delayMs + "ms");
+            scheduledRefresh = refreshScheduler.schedule(refreshTask(new WeakReference<>(this)),
+                    delayMs, TimeUnit.MILLISECONDS);
         }
     }
 
+    /**
+     * Build a scheduled refresh that does not keep its handler reachable
+     *
+     * @param handlerRef The handler to refresh
+     * @return Refresh task that does nothing once the handler is garbage collected
+     */
+    private static Runnable refreshTask(WeakReference<OAuthHandler> handlerRef) {
+        return () -> {
+            OAuthHandler handler = handlerRef.get();
+            if (handler != null) {
+                handler.triggerBackgroundRefresh();
+            }
+        };
+    }
+
+    /**
+     * Cancels any scheduled background refresh for this handler
+     */
+    public synchronized void cancelScheduledRefresh() {
+        if (scheduledRefresh != null) {
+            scheduledRefresh.cancel(false);
+            scheduledRefresh = null;
+        }
+    }
+
+    /**
+     * Cancels the scheduled and pending background refreshes of every handler.
+     * Call at the end of the suite; handlers used afterwards schedule their refreshes again.
+     */
+    public static void cancelAllScheduledRefreshes() {
+        for (Runnable task : refreshScheduler.getQueue().toArray(new Runnable[0])) {
+            ((Future<?>) task).cancel(false);
+        }
+        logger.debug("Cancelled all scheduled OAuth token refreshes");
+    }
+
     /**
      * Requests a new access token using client credentials flow
      */
@@ -266,7 +458,7 @@ public class OAuthHandler implements IAuthHandler {
             }
 
             // Parse response
-            accessToken = response.jsonPath().getString("access_token");
+            String newAccessToken = response.jsonPath().getString("access_token");
 
             // Get expiry if available
             Object expiresIn = response.jsonPath().get("expires_in");
@@ -279,20 +471,22 @@ public class OAuthHandler implements IAuthHandler {
                 }
             }
 
-            // Set expiry time
-            expiresAt = System.currentTimeMillis() + (expirySeconds * 1000);
+            publishToken(newAccessToken, System.currentTimeMillis() + (expirySeconds * 1000));
 
             // Store in token manager
-            TokenManager.storeToken("oauth_access_token", accessToken, expirySeconds);
+            String accessTokenKey = tokenKey("oauth_access_token");
+            TokenManager.storeToken(accessTokenKey, newAccessToken, expirySeconds);
+            FrameworkMetrics.tokenRefreshed(accessTokenKey);
 
             // Check for refresh token
             String newRefreshToken = response.jsonPath().getString("refresh_token");
             if (newRefreshToken != null && !newRefreshToken.isEmpty()) {
                 this.refreshToken = newRefreshToken;
-                TokenManager.storeToken("oauth_refresh_token", refreshToken, -1); // No expiry for refresh tokens
+                TokenManager.storeToken(tokenKey("oauth_refresh_token"), refreshToken, -1); // No expiry for refresh tokens
             }
 
             logger.info("Successfully obtained OAuth token. Expires in " + expirySeconds + " seconds");
+            scheduleProactiveRefresh();
 
         } catch (Exception e) {
             logger.error("Error requesting OAuth token: " + e.getMessage(), e);
@@ -300,6 +494,23 @@ public class OAuthHandler implements IAuthHandler {
         }
     }
 
+    /**
+     * Builds the TokenManager key for a token of this handler's client
+     *
+     * @param baseKey Token kind, e.g. "oauth_access_token"
+     * @return Key such as "oauth_access_token@3f2a9c1b7d4e"
+     */
+    private String tokenKey(String baseKey) {
+        String identity = tokenUrl + "|" + clientId + "|" + scope + "|" + grantType;
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(identity.getBytes(StandardCharsets.UTF_8));
+            return baseKey + "@" + HexFormat.of().formatHex(digest, 0, 6);
+        } catch (NoSuchAlgorithmException e) {
+            // Every JVM is required to support SHA-256
+            throw new IllegalStateException(e);
+        }
+    }
+
     /**
      * Validates that the required OAuth configuration is available
      */
@@ -377,6 +588,11 @@ public class OAuthHandler implements IAuthHandler {
         formParams.put("client_id", clientId);
         formParams.put("client_secret", clientSecret);
 
-        sendTokenRequest(formParams);
+        tokenLock.lock();
+        try {
+            sendTokenRequest(formParams);
+        } finally {
+            tokenLock.unlock();
+        }
     }
 }
\ No newline at end of file
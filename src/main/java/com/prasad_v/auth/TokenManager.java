@@ -1,12 +1,15 @@
 package com.prasad_v.auth;
 
 import com.prasad_v.logging.CustomLogger;
+import com.prasad_v.metrics.FrameworkMetrics;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * Manages authentication tokens for the API automation framework.
  * This class provides centralized storage, retrieval, and expiration handling for tokens.
+ * When token.cache.file.enabled is set, tokens are also written to a FileTokenCache so
+ * other JVMs on the same machine can reuse them.
  */
 public class TokenManager {
 
@@ -19,10 +22,18 @@ public class TokenManager {
         private final String value;
         private final long expiresAt; // Expiration time in milliseconds since epoch
 
-        public Token(String value, long expiresInSeconds) {
+        private Token(String value, long expiresAt) {
             this.value = value;
+            this.expiresAt = expiresAt;
+        }
+
+        public static Token expiringIn(String value, long expiresInSeconds) {
             // -1 means no expiration
-            this.expiresAt = expiresInSeconds < 0 ? -1 : System.currentTimeMillis() + (expiresInSeconds * 1000);
+            return new Token(value, expiresInSeconds < 0 ? -1 : System.currentTimeMillis() + (expiresInSeconds * 1000));
+        }
+
+        public static Token expiringAt(String value, long expiresAt) {
+            return new Token(value, expiresAt);
         }
 
         public boolean isExpired() {
@@ -51,8 +62,91 @@ public class TokenManager {
     public static void storeToken(String tokenKey, String tokenValue, long expiresInSeconds) {
         logger.debug("Storing token: " + tokenKey + " with expiry: " +
                 (expiresInSeconds < 0 ? "never" : expiresInSeconds + " seconds"));
-        Token token = new Token(tokenValue, expiresInSeconds);
+        Token token = Token.expiringIn(tokenValue, expiresInSeconds);
         tokenStore.put(tokenKey, token);
+
+        if (FileTokenCache.isEnabled()) {
+            FileTokenCache.getInstance().put(tokenKey, tokenValue, token.getExpiresAt());
+        }
+    }
+
+    /**
+     * Looks up a token in memory, falling back to the shared file cache if enabled
+     *
+     * @param tokenKey Unique identifier for the token
+     * @return The token, or null if not found in either store
+     */
+    private static Token lookup(String tokenKey) {
+        Token token = tokenStore.get(tokenKey);
+        if ((token == null || token.isExpired()) && FileTokenCache.isEnabled()) {
+            Token shared = loadFromFileCache(tokenKey);
+            if (shared != null) {
+                return shared;
+            }
+        }
+        return token;
+    }
+
+    /**
+     * Loads a token from the shared file cache into memory
+     *
+     * @param tokenKey Unique identifier for the token
+     * @return The loaded token, or null if the file cache has no valid token for the key
+     */
+    private static Token loadFromFileCache(String tokenKey) {
+        FileTokenCache.CachedToken cached = FileTokenCache.getInstance().get(tokenKey);
+        if (cached == null) {
+            return null;
+        }
+        logger.debug("Loaded token from shared file cache: " + tokenKey);
+        FrameworkMetrics.sharedTokenLoaded();
+        Token token = Token.expiringAt(cached.getValue(), cached.getExpiresAt());
+        tokenStore.put(tokenKey, token);
+        return token;
+    }
+
+    /**
+     * Reloads a token from the shared file cache if another process stored one that
+     * expires later than the in-memory copy
+     *
+     * @param tokenKey Unique identifier for the token
+     * @return true if a newer token was loaded
+     */
+    public static boolean reloadFromSharedCache(String tokenKey) {
+        if (!FileTokenCache.isEnabled()) {
+            return false;
+        }
+        FileTokenCache.CachedToken cached = FileTokenCache.getInstance().get(tokenKey);
+        Token current = tokenStore.get(tokenKey);
+        if (cached == null || (current != null && current.getExpiresAt() >= cached.getExpiresAt()
+                && current.getExpiresAt() != -1)) {
+            return false;
+        }
+        logger.debug("Reloaded newer token from shared file cache: " + tokenKey);
+        FrameworkMetrics.sharedTokenLoaded();
+        tokenStore.put(tokenKey, Token.expiringAt(cached.getValue(), cached.getExpiresAt()));
+        return true;
+    }
+
+    /**
+     * Runs a token fetch while holding the shared cache lock, so that only one JVM on the
+     * machine requests a token at a time and the others pick it up from the cache file.
+     * Runs the action directly when the file cache is disabled.
+     *
+     * @param action Token fetch to run
+     */
+    public static void runExclusive(Runnable action) {
+        if (!FileTokenCache.isEnabled()) {
+            action.run();
+            return;
+        }
+        FileTokenCache cache = FileTokenCache.getInstance();
+        cache.lock();
+        try {
+            action.run();
+        } finally {
+            cache.unlock();
+        }
     }
 
     /**
@@ -62,7 +156,7 @@ public class TokenManager {
      * @return The token value, or null if not found or expired
      */
     public static String getToken(String tokenKey) {
-        Token token = tokenStore.get(tokenKey);
+        Token token = lookup(tokenKey);
 
         if (token == null) {
             logger.debug("Token not found in store: " + tokenKey);
@@ -71,7 +165,8 @@ public class TokenManager {
 
         if (token.isExpired()) {
             logger.debug("Token found but expired: " + tokenKey);
-            tokenStore.remove(tokenKey);
+            // Only remove this instance, a fresh token may have been stored concurrently
+            tokenStore.remove(tokenKey, token);
             return null;
         }
 
@@ -86,7 +181,7 @@ public class TokenManager {
      * @return true if token exists and is valid, false otherwise
      */
     public static boolean hasValidToken(String tokenKey) {
-        Token token = tokenStore.get(tokenKey);
+        Token token = lookup(tokenKey);
         return token != null && !token.isExpired();
     }
 
@@ -97,7 +192,7 @@ public class TokenManager {
      * @return true if token is expired or doesn't exist, false if token is valid
      */
     public static boolean isTokenExpired(String tokenKey) {
-        Token token = tokenStore.get(tokenKey);
+        Token token = lookup(tokenKey);
         return token == null || token.isExpired();
     }
 
@@ -108,7 +203,7 @@ public class TokenManager {
      * @return Expiry time in milliseconds since epoch, or -1 if token never expires or doesn't exist
      */
     public static long getTokenExpiry(String tokenKey) {
-        Token token = tokenStore.get(tokenKey);
+        Token token = lookup(tokenKey);
         return token != null ? token.getExpiresAt() : -1;
     }
 
@@ -120,14 +215,24 @@ public class TokenManager {
     public static void removeToken(String tokenKey) {
         logger.debug("Removing token: " + tokenKey);
         tokenStore.remove(tokenKey);
+
+        if (FileTokenCache.isEnabled()) {
+            FileTokenCache.getInstance().remove(tokenKey);
+        }
     }
 
     /**
-     * Clears all tokens from the store
+     * Clears all tokens from the store.
+     * Only the tokens this process wrote are removed from the shared file cache; tokens of
+     * other forks stay available to them.
      */
     public static void clearAllTokens() {
         logger.debug("Clearing all tokens from token store");
         tokenStore.clear();
+
+        if (FileTokenCache.isEnabled()) {
+            FileTokenCache.getInstance().clearOwnTokens();
+        }
     }
 
     /**
@@ -137,7 +242,7 @@ public class TokenManager {
      * @return Remaining lifetime in seconds, -1 if token never expires, 0 if expired or doesn't exist
      */
     public static long getTokenRemainingLifetime(String tokenKey) {
-        Token token = tokenStore.get(tokenKey);
+        Token token = lookup(tokenKey);
 
         if (token == null) {
             return 0;
@@ -168,8 +273,7 @@ public class TokenManager {
 
         logger.debug("Updating token expiry: " + tokenKey + " to " +
                 (newExpiresInSeconds < 0 ? "never expire" : newExpiresInSeconds + " seconds"));
-        Token newToken = new Token(token.value, newExpiresInSeconds);
-        tokenStore.put(tokenKey, newToken);
+        storeToken(tokenKey, token.value, newExpiresInSeconds);
         return true;
     }
 
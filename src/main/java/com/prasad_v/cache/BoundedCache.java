@@ -0,0 +1,238 @@
+package com.prasad_v.cache;
+
+import com.prasad_v.exceptions.APIException;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Thread-safe, size-bounded cache with compute-once loading.
+ * Concurrent callers asking for the same missing key wait for a single load instead of
+ * loading it themselves. When the cache grows past its maximum size the least recently
+ * used entries are evicted. Hit, miss, load time and eviction counts are tracked for reporting.
+ *
+ * @param <K> Key type
+ * @param <V> Value type
+ */
+public class BoundedCache<K, V> {
+
+    /**
+     * Loads the value for a key on a cache miss
+     *
+     * @param <K> Key type
+     * @param <V> Value type
+     */
+    @FunctionalInterface
+    public interface Loader<K, V> {
+        V load(K key) throws Exception;
+    }
+
+    private static final class Entry<V> {
+        private final CompletableFuture<V> future = new CompletableFuture<>();
+        private volatile long lastAccess;
+
+        private Entry(long lastAccess) {
+            this.lastAccess = lastAccess;
+        }
+    }
+
+    private final String name;
+    private final int maxSize;
+    private final Map<K, Entry<V>> entries = new ConcurrentHashMap<>();
+    private final AtomicLong accessClock = new AtomicLong();
+    private final Object evictionLock = new Object();
+
+    private final LongAdder hitCount = new LongAdder();
+    private final LongAdder missCount = new LongAdder();
+    private final LongAdder loadFailureCount = new LongAdder();
+    private final LongAdder evictionCount = new LongAdder();
+    private final LongAdder totalLoadNanos = new LongAdder();
+
+    /**
+     * Constructor
+     *
+     * @param name Cache name used in statistics output
+     * @param maxSize Maximum number of entries before eviction
+     */
+    public BoundedCache(String name, int maxSize) {
+        if (maxSize < 1) {
+            throw new IllegalArgumentException("Cache max size must be at least 1: " + maxSize);
+        }
+        this.name = name;
+        this.maxSize = maxSize;
+    }
+
+    /**
+     * Get the value for a key, loading it once if it is not cached.
+     * A failed load is not cached, so the next caller retries it.
+     *
+     * @param key Cache key
+     * @param loader Loader invoked on a miss
+     * @return Cached or freshly loaded value
+     * @throws APIException If the loader fails with a checked exception
+     */
+    public V get(K key, Loader<? super K, ? extends V> loader) {
+        Entry<V> entry = entries.get(key);
+        if (entry == null) {
+            Entry<V> newEntry = new Entry<>(accessClock.incrementAndGet());
+            entry = entries.putIfAbsent(key, newEntry);
+            if (entry == null) {
+                missCount.increment();
+                return load(key, newEntry, loader);
+            }
+        }
+
+        hitCount.increment();
+        entry.lastAccess = accessClock.incrementAndGet();
+        try {
+            return entry.future.join();
+        } catch (CompletionException e) {
+            throw unwrap(key, e.getCause());
+        }
+    }
+
+    private V load(K key, Entry<V> entry, Loader<? super K, ? extends V> loader) {
+        long start = System.nanoTime();
+        try {
+            V value = loader.load(key);
+            entry.future.complete(value);
+            evictIfNeeded();
+            return value;
+        } catch (Throwable t) {
+            loadFailureCount.increment();
+            entries.remove(key, entry);
+            entry.future.completeExceptionally(t);
+            throw unwrap(key, t);
+        } finally {
+            totalLoadNanos.add(System.nanoTime() - start);
+        }
+    }
+
+    private RuntimeException unwrap(K key, Throwable t) {
+        if (t instanceof RuntimeException) {
+            return (RuntimeException) t;
+        }
+        if (t instanceof Error) {
+            throw (Error) t;
+        }
+        return new APIException("Failed to load " + name + " cache entry '" + key + "': " + t.getMessage(), t);
+    }
+
+    /**
+     * Evict least recently used entries until the cache is within its bound
+     */
+    private void evictIfNeeded() {
+        if (entries.size() <= maxSize) {
+            return;
+        }
+        synchronized (evictionLock) {
+            while (entries.size() > maxSize) {
+                K oldestKey = null;
+                long oldestAccess = Long.MAX_VALUE;
+                for (Map.Entry<K, Entry<V>> e : entries.entrySet()) {
+                    Entry<V> candidate = e.getValue();
+                    // Never evict an entry that is still loading
+                    if (candidate.future.isDone() && candidate.lastAccess < oldestAccess) {
+                        oldestAccess = candidate.lastAccess;
+                        oldestKey = e.getKey();
+                    }
+                }
+                if (oldestKey == null || entries.remove(oldestKey) == null) {
+                    return;
+                }
+                evictionCount.increment();
+            }
+        }
+    }
+
+    /**
+     * Remove one entry from the cache
+     *
+     * @param key Cache key
+     */
+    public void invalidate(K key) {
+        entries.remove(key);
+    }
+
+    /**
+     * Remove all entries from the cache. Statistics are kept.
+     */
+    public void clear() {
+        entries.clear();
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    public int getMaxSize() {
+        return maxSize;
+    }
+
+    public long getHitCount() {
+        return hitCount.sum();
+    }
+
+    public long getMissCount() {
+        return missCount.sum();
+    }
+
+    public long getLoadFailureCount() {
+        return loadFailureCount.sum();
+    }
+
+    public long getEvictionCount() {
+        return evictionCount.sum();
+    }
+
+    /**
+     * Get the share of lookups served from the cache
+     *
+     * @return Hit rate between 0.0 and 1.0
+     */
+    public double getHitRate() {
+        long hits = hitCount.sum();
+        long total = hits + missCount.sum();
+        return total > 0 ? (double) hits / total : 0;
+    }
+
+    /**
+     * Get the average time spent loading a missing entry
+     *
+     * @return Average load time in milliseconds
+     */
+    public double getAverageLoadTimeMs() {
+        long loads = missCount.sum();
+        return loads > 0 ? totalLoadNanos.sum() / 1_000_000.0 / loads : 0;
+    }
+
+    /**
+     * Get cache statistics as a map, suitable for logging or metrics export
+     *
+     * @return Map of statistic name to value
+     */
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("size", size());
+        stats.put("maxSize", maxSize);
+        stats.put("hits", getHitCount());
+        stats.put("misses", getMissCount());
+        stats.put("loadFailures", getLoadFailureCount());
+        stats.put("evictions", getEvictionCount());
+        stats.put("hitRate", getHitRate());
+        stats.put("averageLoadTimeMs", getAverageLoadTimeMs());
+        return stats;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%s cache: size=%d/%d hits=%d misses=%d hitRate=%.1f%% evictions=%d avgLoad=%.3fms",
+                name, size(), maxSize, getHitCount(), getMissCount(), getHitRate() * 100,
+                getEvictionCount(), getAverageLoadTimeMs());
+    }
+}
@@ -0,0 +1,21 @@
+package com.prasad_v.config;
+
+import java.util.Set;
+
+/**
+ * Listener notified after ConfigurationManager publishes a new configuration snapshot.
+ * Listeners read the new values from ConfigurationManager; only the keys that were
+ * added, removed or changed are passed in.
+ * Notifications run on the thread that changed the configuration (the config watcher
+ * thread for hot reloads), so listeners should return quickly.
+ */
+@FunctionalInterface
+public interface ConfigChangeListener {
+
+    /**
+     * Called after the configuration has changed
+     *
+     * @param changedKeys Keys whose values were added, removed or changed
+     */
+    void onConfigChange(Set<String> changedKeys);
+}
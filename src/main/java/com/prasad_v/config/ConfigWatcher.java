@@ -0,0 +1,215 @@
+package com.prasad_v.config;
+
+import java.io.IOException;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.logging.log4j.Level;
+import org.apache.logging.log4j.core.config.Configurator;
+
+import com.prasad_v.exceptions.APIException;
+import com.prasad_v.logging.CustomLogger;
+
+/**
+ * ConfigWatcher reloads the current environment's properties file when it changes on disk,
+ * so long-running soak and load sessions can adjust thresholds, pool limits, rates and
+ * log levels without restarting the JVM.
+ * A daemon thread watches the config directory with a WatchService. After a change has
+ * settled for config.hot.reload.debounce.ms, the file is parsed on that thread into a new
+ * snapshot, which ConfigurationManager swaps in atomically and reports to its listeners.
+ * Values set at runtime with ConfigurationManager.setProperty() stay in effect across reloads.
+ * Values read per request (e.g. perf.threshold.*) apply immediately; ConnectionPoolManager
+ * and LoadRunner listen for their own keys, and log.level.&lt;logger&gt;=LEVEL keys are
+ * applied here.
+ * Enabled with config.hot.reload.enabled. The watched directory defaults to the config
+ * directory on the classpath; set config.hot.reload.dir to watch the source files instead.
+ */
+public class ConfigWatcher {
+
+    private static final CustomLogger logger = new CustomLogger(ConfigWatcher.class);
+    private static final String LOG_LEVEL_PREFIX = "log.level.";
+
+    private static ConfigWatcher instance;
+
+    private final Path directory;
+    private final long debounceMs;
+    private final WatchService watchService;
+    private final Thread watcherThread;
+    private final ConfigChangeListener logLevelListener = ConfigWatcher::applyLogLevels;
+
+    private ConfigWatcher(Path directory, long debounceMs) throws IOException {
+        this.directory = directory;
+        this.debounceMs = debounceMs;
+        this.watchService = FileSystems.getDefault().newWatchService();
+        directory.register(watchService, StandardWatchEventKinds.ENTRY_CREATE, StandardWatchEventKinds.ENTRY_MODIFY);
+
+        watcherThread = new Thread(this::watch, "config-watcher");
+        watcherThread.setDaemon(true);
+    }
+
+    /**
+     * Check if hot reload is enabled (config.hot.reload.enabled)
+     *
+     * @return true if the watcher should be started
+     */
+    public static boolean isEnabled() {
+        return ConfigurationManager.getInstance().getBooleanProperty("config.hot.reload.enabled", false);
+    }
+
+    /**
+     * Start watching the current environment's properties file. Does nothing if already started.
+     *
+     * @throws APIException If the config directory cannot be found or watched
+     */
+    public static synchronized void start() throws APIException {
+        if (instance != null) {
+            return;
+        }
+        ConfigurationManager config = ConfigurationManager.getInstance();
+        Path directory = resolveDirectory(config.getProperty("config.hot.reload.dir", ""));
+        long debounceMs = config.getIntProperty("config.hot.reload.debounce.ms", 250);
+        try {
+            instance = new ConfigWatcher(directory, debounceMs);
+        } catch (IOException e) {
+            throw new APIException("Failed to watch config directory " + directory + ": " + e.getMessage(), e);
+        }
+
+        // Apply log levels from the initial configuration, then follow changes
+        applyLogLevels(config.getProperties().keySet());
+        config.addChangeListener(instance.logLevelListener);
+        instance.watcherThread.start();
+        logger.info("Watching " + directory + " for configuration changes");
+    }
+
+    /**
+     * Stop watching for configuration changes
+     */
+    public static synchronized void stop() {
+        if (instance != null) {
+            ConfigurationManager.getInstance().removeChangeListener(instance.logLevelListener);
+            try {
+                instance.watchService.close();
+            } catch (IOException e) {
+                logger.warn("Error closing config watch service: " + e.getMessage());
+            }
+            instance = null;
+        }
+    }
+
+    private static Path resolveDirectory(String configuredDir) throws APIException {
+        if (!configuredDir.trim().isEmpty()) {
+            Path directory = Paths.get(configuredDir.trim()).toAbsolutePath();
+            if (!Files.isDirectory(directory)) {
+                throw new APIException("config.hot.reload.dir is not a directory: " + directory);
+            }
+            return directory;
+        }
+
+        String resource = EnvironmentManager.getConfigResource(EnvironmentManager.getInstance().getCurrentEnvironment());
+        URL url = ConfigWatcher.class.getClassLoader().getResource(resource);
+        if (url == null || !"file".equals(url.getProtocol())) {
+            throw new APIException("Cannot watch " + resource + " (" + url + "); set config.hot.reload.dir");
+        }
+        try {
+            return Paths.get(url.toURI()).getParent();
+        } catch (URISyntaxException e) {
+            throw new APIException("Cannot resolve config directory from " + url, e);
+        }
+    }
+
+    private void watch() {
+        try {
+            while (true) {
+                WatchKey key = watchService.take();
+                boolean changed = containsConfigFile(key);
+                key.reset();
+
+                // Editors often write a file in several steps; wait until events stop arriving
+                WatchKey next;
+                while ((next = watchService.poll(debounceMs, TimeUnit.MILLISECONDS)) != null) {
+                    changed |= containsConfigFile(next);
+                    next.reset();
+                }
+                if (changed) {
+                    reload();
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ClosedWatchServiceException e) {
+            // stop() was called
+        }
+    }
+
+    private boolean containsConfigFile(WatchKey key) {
+        Path configFile = currentConfigFile().getFileName();
+        for (WatchEvent<?> event : key.pollEvents()) {
+            if (configFile.equals(event.context())) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private Path currentConfigFile() {
+        String resource = EnvironmentManager.getConfigResource(EnvironmentManager.getInstance().getCurrentEnvironment());
+        return directory.resolve(Paths.get(resource).getFileName());
+    }
+
+    private void reload() {
+        Path configFile = currentConfigFile();
+        try {
+            if (Files.size(configFile) == 0) {
+                logger.warn("Ignoring empty configuration file: " + configFile);
+                return;
+            }
+            ConfigurationManager.getInstance().reloadConfig(configFile.toString());
+            logger.info("Reloaded configuration from " + configFile);
+        } catch (IOException e) {
+            // Keep serving the previous snapshot
+            logger.warn("Failed to reload configuration from " + configFile + ": " + e.getMessage());
+        }
+    }
+
+    /**
+     * Apply log.level.&lt;logger&gt;=LEVEL keys; log.level.root sets the root logger
+     *
+     * @param changedKeys Changed configuration keys
+     */
+    private static void applyLogLevels(Set<String> changedKeys) {
+        ConfigurationManager config = ConfigurationManager.getInstance();
+        for (String key : changedKeys) {
+            if (!key.startsWith(LOG_LEVEL_PREFIX)) {
+                continue;
+            }
+            String loggerName = key.substring(LOG_LEVEL_PREFIX.length());
+            String value = config.getProperty(key);
+            if (value == null) {
+                // Removed keys leave the current level in place
+                continue;
+            }
+            Level level = Level.toLevel(value.trim(), null);
+            if (level == null) {
+                logger.warn("Ignoring invalid log level " + key + "=" + value);
+                continue;
+            }
+            if ("root".equals(loggerName)) {
+                Configurator.setRootLevel(level);
+            } else {
+                Configurator.setLevel(loggerName, level);
+            }
+            logger.info("Set log level of " + loggerName + " to " + level);
+        }
+    }
+}
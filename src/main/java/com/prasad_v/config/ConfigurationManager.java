@@ -3,18 +3,117 @@ package com.prasad_v.config;
 import java.io.FileInputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Properties;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.UnaryOperator;
+
+import com.prasad_v.logging.CustomLogger;
 
 /**
  * Configuration manager to handle properties files for different environments
  * This class provides functionality to load and retrieve configuration properties
+ *
+ * Loaded properties are held in an immutable snapshot with integer and boolean values
+ * parsed once up front. The snapshot is published through a volatile reference, so reads
+ * never take a lock; loading or changing properties builds a new snapshot and swaps it in.
+ * Registered ConfigChangeListeners are told which keys changed after each swap.
+ * Values set with setProperty() are runtime overrides: reloadConfig() keeps them on top of the
+ * reloaded file, while loadConfig() and clearProperties() start from scratch.
  */
 public class ConfigurationManager {
-    private static ConfigurationManager instance;
-    private Properties properties;
+
+    private static final CustomLogger logger = new CustomLogger(ConfigurationManager.class);
+
+    /**
+     * Immutable view of the configuration at one point in time
+     */
+    private static final class Snapshot {
+        private static final Snapshot EMPTY = new Snapshot(Collections.emptyMap(), Collections.emptyMap());
+
+        private final Map<String, String> values;
+        private final Map<String, Integer> intValues;
+        private final Map<String, Boolean> booleanValues;
+        // Values set with setProperty(), already included in values
+        private final Map<String, String> overrides;
+
+        private Snapshot(Map<String, String> values, Map<String, String> overrides) {
+            Map<String, Integer> ints = new HashMap<>();
+            Map<String, Boolean> booleans = new HashMap<>();
+            for (Map.Entry<String, String> entry : values.entrySet()) {
+                try {
+                    ints.put(entry.getKey(), Integer.parseInt(entry.getValue()));
+                } catch (NumberFormatException e) {
+                    // Not an integer; getIntProperty falls back to the caller's default
+                }
+                booleans.put(entry.getKey(), Boolean.parseBoolean(entry.getValue()));
+            }
+            this.values = Collections.unmodifiableMap(new HashMap<>(values));
+            this.intValues = Collections.unmodifiableMap(ints);
+            this.booleanValues = Collections.unmodifiableMap(booleans);
+            this.overrides = overrides;
+        }
+
+        private static Map<String, String> toMap(Properties properties) {
+            Map<String, String> values = new HashMap<>();
+            for (String key : properties.stringPropertyNames()) {
+                values.put(key, properties.getProperty(key));
+            }
+            return values;
+        }
+
+        private static Snapshot of(Properties properties) {
+            return new Snapshot(toMap(properties), Collections.emptyMap());
+        }
+
+        private Snapshot with(String key, String value) {
+            Map<String, String> updated = new HashMap<>(values);
+            updated.put(key, value);
+            Map<String, String> updatedOverrides = new HashMap<>(overrides);
+            updatedOverrides.put(key, value);
+            return new Snapshot(updated, Collections.unmodifiableMap(updatedOverrides));
+        }
+
+        private Snapshot reloadedFrom(Properties properties) {
+            Map<String, String> reloaded = toMap(properties);
+            reloaded.putAll(overrides);
+            return new Snapshot(reloaded, overrides);
+        }
+
+        private Set<String> changedKeys(Snapshot other) {
+            Set<String> changed = new HashSet<>();
+            for (Map.Entry<String, String> entry : values.entrySet()) {
+                if (!Objects.equals(entry.getValue(), other.values.get(entry.getKey()))) {
+                    changed.add(entry.getKey());
+                }
+            }
+            for (String key : other.values.keySet()) {
+                if (!values.containsKey(key)) {
+                    changed.add(key);
+                }
+            }
+            return changed;
+        }
+    }
+
+    private static final class Holder {
+        private static final ConfigurationManager INSTANCE = new ConfigurationManager();
+    }
+
+    private volatile Snapshot snapshot = Snapshot.EMPTY;
+
+    // Serializes writers only; readers go through the volatile snapshot
+    private final Object writeLock = new Object();
+
+    private final List<ConfigChangeListener> listeners = new CopyOnWriteArrayList<>();
 
     private ConfigurationManager() {
-        properties = new Properties();
     }
 
     /**
@@ -22,11 +121,8 @@ public class ConfigurationManager {
      *
      * @return ConfigurationManager instance
      */
-    public static synchronized ConfigurationManager getInstance() {
-        if (instance == null) {
-            instance = new ConfigurationManager();
-        }
-        return instance;
+    public static ConfigurationManager getInstance() {
+        return Holder.INSTANCE;
     }
 
     /**
@@ -37,8 +133,28 @@ public class ConfigurationManager {
      */
     public void loadConfig(String filePath) throws IOException {
         try (InputStream input = new FileInputStream(filePath)) {
-            properties = new Properties();
+            Properties properties = new Properties();
+            properties.load(input);
+            replaceSnapshot(Snapshot.of(properties));
+        }
+    }
+
+    /**
+     * Reload properties from a file, keeping values set at runtime with setProperty().
+     * Used when the file changes on disk (see ConfigWatcher).
+     *
+     * @param filePath Path to the properties file
+     * @throws IOException If file cannot be read or doesn't exist
+     */
+    public void reloadConfig(String filePath) throws IOException {
+        try (InputStream input = new FileInputStream(filePath)) {
+            Properties properties = new Properties();
             properties.load(input);
+            updateSnapshot(current -> current.reloadedFrom(properties));
+        }
+        Map<String, String> overrides = snapshot.overrides;
+        if (!overrides.isEmpty()) {
+            logger.info("Runtime overrides kept over reloaded " + filePath + ": " + overrides.keySet());
         }
     }
 
@@ -53,11 +169,58 @@ public class ConfigurationManager {
             if (input == null) {
                 throw new IOException("Resource not found: " + resourcePath);
             }
-            properties = new Properties();
+            Properties properties = new Properties();
             properties.load(input);
+            replaceSnapshot(Snapshot.of(properties));
         }
     }
 
+    private void replaceSnapshot(Snapshot replacement) {
+        updateSnapshot(current -> replacement);
+    }
+
+    private void updateSnapshot(UnaryOperator<Snapshot> update) {
+        Set<String> changedKeys;
+        synchronized (writeLock) {
+            Snapshot replacement = update.apply(snapshot);
+            changedKeys = snapshot.changedKeys(replacement);
+            snapshot = replacement;
+        }
+        notifyListeners(changedKeys);
+    }
+
+    private void notifyListeners(Set<String> changedKeys) {
+        if (changedKeys.isEmpty() || listeners.isEmpty()) {
+            return;
+        }
+        Set<String> keys = Collections.unmodifiableSet(changedKeys);
+        for (ConfigChangeListener listener : listeners) {
+            try {
+                listener.onConfigChange(keys);
+            } catch (RuntimeException e) {
+                logger.error("Configuration change listener failed: " + e.getMessage(), e);
+            }
+        }
+    }
+
+    /**
+     * Register a listener for configuration changes
+     *
+     * @param listener Listener to notify after each change
+     */
+    public void addChangeListener(ConfigChangeListener listener) {
+        listeners.add(listener);
+    }
+
+    /**
+     * Unregister a configuration change listener
+     *
+     * @param listener Listener to remove
+     */
+    public void removeChangeListener(ConfigChangeListener listener) {
+        listeners.remove(listener);
+    }
+
     /**
      * Get a property value as string
      *
@@ -65,7 +228,7 @@ public class ConfigurationManager {
      * @return Property value or null if not found
      */
     public String getProperty(String key) {
-        return properties.getProperty(key);
+        return snapshot.values.get(key);
     }
 
     /**
@@ -76,7 +239,8 @@ public class ConfigurationManager {
      * @return Property value or default value if not found
      */
     public String getProperty(String key, String defaultValue) {
-        return properties.getProperty(key, defaultValue);
+        String value = snapshot.values.get(key);
+        return value != null ? value : defaultValue;
     }
 
     /**
@@ -87,15 +251,8 @@ public class ConfigurationManager {
      * @return Property value as integer or default value
      */
     public int getIntProperty(String key, int defaultValue) {
-        String value = properties.getProperty(key);
-        if (value == null) {
-            return defaultValue;
-        }
-        try {
-            return Integer.parseInt(value);
-        } catch (NumberFormatException e) {
-            return defaultValue;
-        }
+        Integer value = snapshot.intValues.get(key);
+        return value != null ? value : defaultValue;
     }
 
     /**
@@ -106,21 +263,20 @@ public class ConfigurationManager {
      * @return Property value as boolean or default value
      */
     public boolean getBooleanProperty(String key, boolean defaultValue) {
-        String value = properties.getProperty(key);
-        if (value == null) {
-            return defaultValue;
-        }
-        return Boolean.parseBoolean(value);
+        Boolean value = snapshot.booleanValues.get(key);
+        return value != null ? value : defaultValue;
     }
 
     /**
-     * Set a property value
+     * Set a property value. Builds and publishes a new snapshot, so prefer
+     * loading values from a file over setting many properties one by one.
+     * The value overrides the file's value until the next loadConfig() or clearProperties().
      *
      * @param key Property key
      * @param value Property value
      */
     public void setProperty(String key, String value) {
-        properties.setProperty(key, value);
+        updateSnapshot(current -> current.with(key, value));
     }
 
     /**
@@ -130,13 +286,22 @@ public class ConfigurationManager {
      * @return true if property exists, false otherwise
      */
     public boolean hasProperty(String key) {
-        return properties.containsKey(key);
+        return snapshot.values.containsKey(key);
+    }
+
+    /**
+     * Get all properties of the current snapshot
+     *
+     * @return Unmodifiable map of property keys to values
+     */
+    public Map<String, String> getProperties() {
+        return snapshot.values;
     }
 
     /**
      * Clear all loaded properties
      */
     public void clearProperties() {
-        properties.clear();
+        replaceSnapshot(Snapshot.EMPTY);
     }
-}
\ No newline at end of file
+}
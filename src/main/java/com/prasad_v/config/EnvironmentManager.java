@@ -5,13 +5,15 @@ import java.io.IOException;
 /**
  * Environment manager to handle environment-specific configurations
  * This class loads the appropriate properties file based on the selected environment
+ * Switching environments builds the new configuration before publishing it, so other
+ * threads see either the old or the new environment, never an empty configuration.
  */
 public class EnvironmentManager {
     private static final String CONFIG_PATH = "config/";
     private static final String DEFAULT_ENV = "dev";
 
     private static EnvironmentManager instance;
-    private String currentEnvironment;
+    private volatile String currentEnvironment;
     private ConfigurationManager configManager;
 
     private EnvironmentManager() {
@@ -38,23 +40,37 @@ public class EnvironmentManager {
      * @throws IOException If the properties file cannot be loaded
      */
     public void initializeEnvironment() throws IOException {
-        String configFile = CONFIG_PATH + currentEnvironment + ".properties";
+        loadEnvironment(currentEnvironment);
+    }
+
+    private void loadEnvironment(String environment) throws IOException {
         try {
-            configManager.loadConfigFromResource(configFile);
+            configManager.loadConfigFromResource(getConfigResource(environment));
         } catch (IOException e) {
-            throw new IOException("Failed to initialize environment '" + currentEnvironment + "': " + e.getMessage(), e);
+            throw new IOException("Failed to initialize environment '" + environment + "': " + e.getMessage(), e);
         }
     }
 
+    /**
+     * Get the classpath resource holding an environment's properties
+     *
+     * @param environment Environment name
+     * @return Resource path, e.g. config/dev.properties
+     */
+    public static String getConfigResource(String environment) {
+        return CONFIG_PATH + environment + ".properties";
+    }
+
     /**
      * Set the environment and load its configuration
      *
      * @param environment Environment name (e.g., "dev", "qa", "prod")
      * @throws IOException If the properties file cannot be loaded
      */
-    public void setEnvironment(String environment) throws IOException {
+    public synchronized void setEnvironment(String environment) throws IOException {
+        // Load first: a failed load leaves both the environment and its configuration unchanged
+        loadEnvironment(environment);
         this.currentEnvironment = environment;
-        initializeEnvironment();
     }
 
     /**
@@ -1,5 +1,7 @@
 package com.prasad_v.contracts;
 
+import com.prasad_v.cache.BoundedCache;
+import com.prasad_v.config.ConfigurationManager;
 import com.prasad_v.exceptions.APIException;
 import com.prasad_v.logging.CustomLogger;
 import io.restassured.response.Response;
@@ -14,19 +16,25 @@ import java.io.FileInputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.util.ArrayList;
-import java.util.HashMap;
 import java.util.List;
-import java.util.Map;
 
 /**
  * Utility class for validating API responses against contract specifications.
  * This class provides functionality to validate that API responses conform to
  * expected schemas and contracts.
+ * Loaded schemas and parsed contract files are cached in bounded, thread-safe caches
+ * (size set by contract.cache.max.size) so parallel tests load each file only once.
  */
 public class ContractValidator {
 
     private static final CustomLogger logger = new CustomLogger(ContractValidator.class);
-    private static final Map<String, Schema> schemaCache = new HashMap<>();
+    private static final int CACHE_MAX_SIZE =
+            ConfigurationManager.getInstance().getIntProperty("contract.cache.max.size", 256);
+
+    private static final BoundedCache<String, Schema> schemaCache = new BoundedCache<>("schema", CACHE_MAX_SIZE);
+
+    // Parsed contracts are shared between threads and must only be read
+    private static final BoundedCache<String, JSONObject> contractCache = new BoundedCache<>("contract", CACHE_MAX_SIZE);
 
     /**
      * Validates an API response against a JSON schema
@@ -67,7 +75,7 @@ public class ContractValidator {
      */
     public static boolean validateAgainstContract(Response response, String contractPath) throws APIException {
         try {
-            JSONObject contract = loadJsonFromFile(contractPath);
+            JSONObject contract = contractCache.get(contractPath, ContractValidator::loadJsonFromFile);
             JSONObject responseJson = new JSONObject(response.getBody().asString());
 
             List<String> validationErrors = new ArrayList<>();
@@ -131,16 +139,27 @@ public class ContractValidator {
      *
      * @param schemaPath Path to the schema file
      * @return Schema object
-     * @throws IOException If schema file cannot be read
+     * @throws APIException If schema file cannot be read
      */
-    private static Schema getSchemaFromCache(String schemaPath) throws IOException {
-        if (schemaCache.containsKey(schemaPath)) {
-            return schemaCache.get(schemaPath);
-        }
+    private static Schema getSchemaFromCache(String schemaPath) {
+        return schemaCache.get(schemaPath, ContractValidator::loadSchema);
+    }
+
+    /**
+     * Get statistics for the schema and contract caches
+     *
+     * @return Cache statistics, one line per cache
+     */
+    public static String getCacheStats() {
+        return schemaCache + System.lineSeparator() + contractCache;
+    }
 
-        Schema schema = loadSchema(schemaPath);
-        schemaCache.put(schemaPath, schema);
-        return schema;
+    /**
+     * Clear the schema and contract caches, e.g. after contract files were changed
+     */
+    public static void clearCaches() {
+        schemaCache.clear();
+        contractCache.clear();
     }
 
     /**
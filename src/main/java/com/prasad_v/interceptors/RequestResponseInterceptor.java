@@ -2,34 +2,50 @@ package com.prasad_v.interceptors;
 
 import com.prasad_v.config.ConfigurationManager;
 import com.prasad_v.logging.CustomLogger;
+import com.prasad_v.metrics.FrameworkMetrics;
+import com.prasad_v.metrics.LatencyRecorder;
 import io.restassured.builder.RequestSpecBuilder;
 import io.restassured.filter.Filter;
 import io.restassured.filter.FilterContext;
-import io.restassured.filter.log.LogDetail;
-import io.restassured.filter.log.RequestLoggingFilter;
-import io.restassured.filter.log.ResponseLoggingFilter;
 import io.restassured.internal.RestAssuredResponseImpl;
 import io.restassured.response.Response;
 import io.restassured.specification.FilterableRequestSpecification;
 import io.restassured.specification.FilterableResponseSpecification;
 import io.restassured.specification.RequestSpecification;
 
-import java.io.ByteArrayOutputStream;
-import java.io.PrintStream;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.charset.Charset;
+import java.nio.charset.CodingErrorAction;
+import java.nio.charset.StandardCharsets;
 import java.time.Instant;
-import java.time.temporal.ChronoUnit;
-import java.util.HashMap;
 import java.util.Map;
 import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
 
 /**
  * Interceptor for HTTP requests and responses.
  * This class provides functionality to intercept, log, and measure API requests and responses.
+ *
+ * Full request/response logging is sampled: failed calls (status 400 and above, or no
+ * response at all) are always logged, successful calls 1 in logging.sample.rate.
+ * Bodies are read through a bounded reader and cut at logging.body.max.chars, so large
+ * payloads are never copied into a log-sized string.
  */
 public class RequestResponseInterceptor implements Filter {
 
     private static final CustomLogger logger = new CustomLogger(RequestResponseInterceptor.class);
-    private static final Map<String, RequestInfo> requestInfoMap = new HashMap<>();
+    private static final Map<String, RequestInfo> requestInfoMap = new ConcurrentHashMap<>();
+    private static final AtomicLong successfulCalls = new AtomicLong();
+
+    private static final int DEFAULT_SAMPLE_RATE = 1;
+    private static final int DEFAULT_BODY_MAX_CHARS = 4096;
+    private static final int WARN_BODY_MAX_CHARS = 1000;
+
+    private final boolean logRequest;
+    private final boolean logResponse;
 
     /**
      * Inner class to hold request information
@@ -39,7 +55,24 @@ public class RequestResponseInterceptor implements Filter {
         String requestId;
         String method;
         String url;
-        String requestBody;
+    }
+
+    /**
+     * Create an interceptor that logs both requests and responses
+     */
+    public RequestResponseInterceptor() {
+        this(true, true);
+    }
+
+    /**
+     * Create an interceptor
+     *
+     * @param logRequest Whether sampled and failed calls log the request
+     * @param logResponse Whether sampled and failed calls log the response
+     */
+    public RequestResponseInterceptor(boolean logRequest, boolean logResponse) {
+        this.logRequest = logRequest;
+        this.logResponse = logResponse;
     }
 
     /**
@@ -49,20 +82,10 @@ public class RequestResponseInterceptor implements Filter {
      * @return A new RequestSpecification with the interceptor added
      */
     public static RequestSpecification addInterceptor(RequestSpecification requestSpecification) {
-        RequestSpecBuilder builder = new RequestSpecBuilder();
-        builder.addFilter(new RequestResponseInterceptor());
-
         boolean enableLogging = ConfigurationManager.getInstance().getBooleanProperty("api.logging.enabled", true);
-        if (enableLogging) {
-            ByteArrayOutputStream requestLog = new ByteArrayOutputStream();
-            ByteArrayOutputStream responseLog = new ByteArrayOutputStream();
-            PrintStream requestPrintStream = new PrintStream(requestLog);
-            PrintStream responsePrintStream = new PrintStream(responseLog);
-
-            builder.addFilter(new RequestLoggingFilter(LogDetail.ALL, requestPrintStream));
-            builder.addFilter(new ResponseLoggingFilter(LogDetail.ALL, responsePrintStream));
-        }
 
+        RequestSpecBuilder builder = new RequestSpecBuilder();
+        builder.addFilter(new RequestResponseInterceptor(enableLogging, enableLogging));
         return requestSpecification.spec(builder.build());
     }
 
@@ -81,6 +104,7 @@ public class RequestResponseInterceptor implements Filter {
 
         String requestId = UUID.randomUUID().toString();
         Instant startTime = Instant.now();
+        long startNanos = System.nanoTime();
 
         // Add correlation ID header if not already present
         if (!requestSpec.hasHeader("X-Correlation-ID")) {
@@ -93,36 +117,65 @@ public class RequestResponseInterceptor implements Filter {
         info.requestId = requestId;
         info.method = requestSpec.getMethod();
         info.url = requestSpec.getURI();
-        info.requestBody = requestSpec.getBody() != null ? requestSpec.getBody().toString() : null;
         requestInfoMap.put(requestId, info);
 
         // Log request
-        logger.debug("Starting API request [" + requestId + "]: " + info.method + " " + info.url);
+        logger.debug("Starting API request [{}]: {} {}", requestId, info.method, info.url);
 
         // Execute request and capture response
-        Response response = filterContext.next(requestSpec, responseSpec);
+        String endpointKey = LatencyRecorder.endpointKey(info.method, info.url);
+        FrameworkMetrics.requestStarted();
+        Response response;
+        try {
+            response = filterContext.next(requestSpec, responseSpec);
+        } catch (RuntimeException e) {
+            FrameworkMetrics.requestFailed(endpointKey);
+            requestInfoMap.remove(requestId);
+            // A call without a response is a failure, so its request is always logged
+            if ((logRequest || logResponse) && isRequestLoggingEnabled()) {
+                logRequestDetails(requestSpec);
+            }
+            throw e;
+        }
 
         // Calculate duration
-        Instant endTime = Instant.now();
-        long durationMs = ChronoUnit.MILLIS.between(startTime, endTime);
+        long durationNanos = System.nanoTime() - startNanos;
+        long durationMs = TimeUnit.NANOSECONDS.toMillis(durationNanos);
+
+        // Record latency per endpoint for percentile reporting
+        if (ConfigurationManager.getInstance().getBooleanProperty("metrics.latency.enabled", true)) {
+            LatencyRecorder.record(endpointKey, durationNanos);
+        }
 
         // Log response
         int statusCode = response.getStatusCode();
-        logger.debug("API response [" + requestId + "]: Status " + statusCode +
-                " (" + durationMs + "ms): " + info.method + " " + info.url);
+        FrameworkMetrics.requestCompleted(endpointKey, statusCode);
+        if (logger.isDebugEnabled()) {
+            logger.debug("API response [{}]: Status {} ({}ms): {} {}", requestId, statusCode, durationMs,
+                    info.method, info.url);
+        }
 
         // Add response time as a property to the response object
         if (response instanceof RestAssuredResponseImpl) {
             ((RestAssuredResponseImpl) response).setProperty("responseTimeInMs", durationMs);
         }
 
+        // Log the full exchange for failures and for sampled successful calls
+        boolean exchangeLogged = false;
+        if ((logRequest || logResponse) && logger.isInfoEnabled() && isSampled(statusCode)) {
+            if (logRequest && isRequestLoggingEnabled()) {
+                logRequestDetails(requestSpec);
+            }
+            if (logResponse && isResponseLoggingEnabled()) {
+                logResponseDetails(response, durationMs);
+                exchangeLogged = true;
+            }
+        }
+
         // Log extra information for non-2xx responses
         if (statusCode < 200 || statusCode >= 300) {
-            String responseBody = response.getBody() != null ? response.getBody().asString() : "No body";
-            if (responseBody.length() > 1000) {
-                responseBody = responseBody.substring(0, 997) + "...";
-            }
-            logger.warn("Non-successful API response [" + requestId + "]: " + statusCode + " - " + responseBody);
+            String responseBody = exchangeLogged ? "(body logged above)" : captureBody(response, WARN_BODY_MAX_CHARS);
+            logger.warn("Non-successful API response [{}]: {} - {}", requestId, statusCode, responseBody);
         }
 
         // Remove request info from map to avoid memory leaks
@@ -131,6 +184,114 @@ public class RequestResponseInterceptor implements Filter {
         return response;
     }
 
+    /**
+     * Decide if a call is logged in full: failures always, successful calls 1 in logging.sample.rate.
+     * A rate of 0 logs failures only.
+     *
+     * @param statusCode Response status code
+     * @return true if the exchange should be logged
+     */
+    private static boolean isSampled(int statusCode) {
+        if (statusCode >= 400) {
+            return true;
+        }
+        int sampleRate = ConfigurationManager.getInstance().getIntProperty("logging.sample.rate", DEFAULT_SAMPLE_RATE);
+        return sampleRate > 0 && successfulCalls.getAndIncrement() % sampleRate == 0;
+    }
+
+    private static boolean isRequestLoggingEnabled() {
+        return ConfigurationManager.getInstance().getBooleanProperty("logging.request.enable", true);
+    }
+
+    private static boolean isResponseLoggingEnabled() {
+        return ConfigurationManager.getInstance().getBooleanProperty("logging.response.enable", true);
+    }
+
+    private static int getBodyMaxChars() {
+        return ConfigurationManager.getInstance().getIntProperty("logging.body.max.chars", DEFAULT_BODY_MAX_CHARS);
+    }
+
+    private static void logRequestDetails(FilterableRequestSpecification requestSpec) {
+        ConfigurationManager config = ConfigurationManager.getInstance();
+        String headers = config.getBooleanProperty("logging.request.headers", true)
+                ? String.valueOf(requestSpec.getHeaders()) : "(not logged)";
+        String body = config.getBooleanProperty("logging.request.body", true)
+                ? captureRequestBody(requestSpec.getBody(), getBodyMaxChars()) : null;
+        logger.logRequest(requestSpec.getURI(), requestSpec.getMethod(), headers, body);
+    }
+
+    private static void logResponseDetails(Response response, long durationMs) {
+        ConfigurationManager config = ConfigurationManager.getInstance();
+        String headers = config.getBooleanProperty("logging.response.headers", true)
+                ? String.valueOf(response.getHeaders()) : "(not logged)";
+        String body = config.getBooleanProperty("logging.response.body", true)
+                ? captureBody(response, getBodyMaxChars()) : null;
+        logger.logResponse(response.getStatusCode(), durationMs, headers, body);
+    }
+
+    /**
+     * Capture at most maxChars of a request body
+     *
+     * @param body Request body as set on the spec (usually a String or byte array)
+     * @param maxChars Maximum characters to keep
+     * @return Possibly truncated body, or null if there is none
+     */
+    private static String captureRequestBody(Object body, int maxChars) {
+        if (body == null) {
+            return null;
+        }
+        if (body instanceof byte[]) {
+            byte[] bytes = (byte[]) body;
+            // UTF-8 uses at most 4 bytes per char, so this prefix covers maxChars
+            int prefix = (int) Math.min(bytes.length, 4L * maxChars);
+            return truncate(new String(bytes, 0, prefix, StandardCharsets.UTF_8), maxChars, bytes.length + " bytes");
+        }
+        String text = body.toString();
+        return truncate(text, maxChars, text.length() + " chars");
+    }
+
+    /**
+     * Decode at most maxChars of a response body without converting the whole body to a String.
+     * Uses the cached body bytes so later extraction by the test still sees the full body.
+     *
+     * @param response The response
+     * @param maxChars Maximum characters to keep
+     * @return Possibly truncated body
+     */
+    private static String captureBody(Response response, int maxChars) {
+        byte[] bytes;
+        try {
+            bytes = response.asByteArray();
+        } catch (RuntimeException e) {
+            return "(body not readable: " + e.getMessage() + ")";
+        }
+        if (bytes == null || bytes.length == 0) {
+            return "No body";
+        }
+        CharBuffer chars = CharBuffer.allocate(Math.max(0, maxChars) + 1);
+        charsetOf(response.getContentType()).newDecoder()
+                .onMalformedInput(CodingErrorAction.REPLACE)
+                .onUnmappableCharacter(CodingErrorAction.REPLACE)
+                .decode(ByteBuffer.wrap(bytes), chars, true);
+        chars.flip();
+        return truncate(chars.toString(), maxChars, bytes.length + " bytes");
+    }
+
+    private static Charset charsetOf(String contentType) {
+        if (contentType != null) {
+            int index = contentType.toLowerCase().indexOf("charset=");
+            if (index >= 0) {
+                String name = contentType.substring(index + 8).split(";")[0].trim().replace("\"", "");
+                try {
+                    return Charset.forName(name);
+                } catch (RuntimeException e) {
+                    // Unknown charset; fall back to UTF-8
+                }
+            }
+        }
+        return StandardCharsets.UTF_8;
+    }
+
     /**
      * Gets response time for a specific request
      *
@@ -160,12 +321,13 @@ public class RequestResponseInterceptor implements Filter {
      *
      * @param input The input string
      * @param maxLength Maximum length before truncation
+     * @param fullSize Description of the untruncated size, added when truncating
      * @return The truncated string
      */
-    private static String truncate(String input, int maxLength) {
+    private static String truncate(String input, int maxLength, String fullSize) {
         if (input == null) {
             return "null";
         }
-        return input.length() <= maxLength ? input : input.substring(0, maxLength) + "...";
+        return input.length() <= maxLength ? input : input.substring(0, maxLength) + "... [truncated, " + fullSize + "]";
     }
 }
\ No newline at end of file
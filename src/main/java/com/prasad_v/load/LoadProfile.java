@@ -0,0 +1,123 @@
+package com.prasad_v.load;
+
+import java.time.Duration;
+
+/**
+ * Describes how a load run is scheduled.
+ * OPEN runs start requests at a constant arrival rate regardless of how fast the API answers;
+ * CLOSED runs keep a fixed number of virtual users that each send the next request as soon
+ * as the previous one completes (plus optional think time).
+ */
+public class LoadProfile {
+
+    /**
+     * Scheduling model for a load run
+     */
+    public enum Mode {
+        OPEN,
+        CLOSED
+    }
+
+    private static final int DEFAULT_MAX_CONCURRENCY = 1000;
+
+    private final Mode mode;
+    private Duration duration;
+    private double targetRate;
+    private int concurrency;
+    private int maxConcurrency = DEFAULT_MAX_CONCURRENCY;
+    private Duration thinkTime = Duration.ZERO;
+
+    private LoadProfile(Mode mode, Duration duration) {
+        this.mode = mode;
+        this.duration = duration;
+    }
+
+    /**
+     * Create an open-model profile with a constant arrival rate
+     *
+     * @param requestsPerSecond Target arrival rate
+     * @param duration How long to generate load
+     * @return LoadProfile instance
+     */
+    public static LoadProfile constantRate(double requestsPerSecond, Duration duration) {
+        if (requestsPerSecond <= 0) {
+            throw new IllegalArgumentException("Target rate must be positive: " + requestsPerSecond);
+        }
+        LoadProfile profile = new LoadProfile(Mode.OPEN, duration);
+        profile.targetRate = requestsPerSecond;
+        return profile;
+    }
+
+    /**
+     * Create a closed-model profile with a fixed number of concurrent users
+     *
+     * @param concurrency Number of virtual users
+     * @param duration How long to generate load
+     * @return LoadProfile instance
+     */
+    public static LoadProfile fixedConcurrency(int concurrency, Duration duration) {
+        if (concurrency <= 0) {
+            throw new IllegalArgumentException("Concurrency must be positive: " + concurrency);
+        }
+        LoadProfile profile = new LoadProfile(Mode.CLOSED, duration);
+        profile.concurrency = concurrency;
+        return profile;
+    }
+
+    /**
+     * Set the maximum number of requests an open-model run may have in flight.
+     * Arrivals beyond this limit are counted as dropped (and as failures) instead of queued.
+     *
+     * @param maxConcurrency Maximum in-flight requests
+     * @return Current LoadProfile instance for method chaining
+     */
+    public LoadProfile setMaxConcurrency(int maxConcurrency) {
+        if (maxConcurrency <= 0) {
+            throw new IllegalArgumentException("Max concurrency must be positive: " + maxConcurrency);
+        }
+        this.maxConcurrency = maxConcurrency;
+        return this;
+    }
+
+    /**
+     * Set the pause each closed-model user takes between requests
+     *
+     * @param thinkTime Pause between requests
+     * @return Current LoadProfile instance for method chaining
+     */
+    public LoadProfile setThinkTime(Duration thinkTime) {
+        this.thinkTime = thinkTime;
+        return this;
+    }
+
+    public Mode getMode() {
+        return mode;
+    }
+
+    public Duration getDuration() {
+        return duration;
+    }
+
+    public double getTargetRate() {
+        return targetRate;
+    }
+
+    public int getConcurrency() {
+        return concurrency;
+    }
+
+    public int getMaxConcurrency() {
+        return maxConcurrency;
+    }
+
+    public Duration getThinkTime() {
+        return thinkTime;
+    }
+
+    @Override
+    public String toString() {
+        return mode == Mode.OPEN
+                ? "open model, " + targetRate + " req/s for " + duration
+                : "closed model, " + concurrency + " users for " + duration;
+    }
+}
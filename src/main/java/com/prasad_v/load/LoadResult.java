@@ -0,0 +1,131 @@
+package com.prasad_v.load;
+
+import java.time.Duration;
+
+import org.HdrHistogram.Histogram;
+
+/**
+ * Summary of a completed load run: throughput, error rate and latency percentiles.
+ * Latencies are recorded in microseconds and reported in milliseconds.
+ * Open-model arrivals dropped at max concurrency never got a latency, so they count as
+ * failures in the error rate; otherwise an overloaded API would look healthier the more
+ * requests it caused to be dropped.
+ */
+public class LoadResult {
+
+    private final LoadProfile profile;
+    private final long successCount;
+    private final long errorCount;
+    private final long droppedCount;
+    private final Duration elapsed;
+    private final Histogram latencyHistogram;
+
+    LoadResult(LoadProfile profile, long successCount, long errorCount, long droppedCount,
+               Duration elapsed, Histogram latencyHistogram) {
+        this.profile = profile;
+        this.successCount = successCount;
+        this.errorCount = errorCount;
+        this.droppedCount = droppedCount;
+        this.elapsed = elapsed;
+        this.latencyHistogram = latencyHistogram;
+    }
+
+    public LoadProfile getProfile() {
+        return profile;
+    }
+
+    /**
+     * Get the number of requests that completed, successfully or not
+     *
+     * @return Completed request count
+     */
+    public long getCompletedCount() {
+        return successCount + errorCount;
+    }
+
+    public long getSuccessCount() {
+        return successCount;
+    }
+
+    public long getErrorCount() {
+        return errorCount;
+    }
+
+    /**
+     * Get the number of requests that failed or were dropped
+     *
+     * @return Error count plus dropped count
+     */
+    public long getFailedCount() {
+        return errorCount + droppedCount;
+    }
+
+    /**
+     * Get the number of open-model arrivals skipped because max concurrency was reached
+     *
+     * @return Dropped arrival count
+     */
+    public long getDroppedCount() {
+        return droppedCount;
+    }
+
+    public Duration getElapsed() {
+        return elapsed;
+    }
+
+    /**
+     * Get the achieved throughput
+     *
+     * @return Completed requests per second
+     */
+    public double getThroughput() {
+        double seconds = elapsed.toNanos() / 1_000_000_000.0;
+        return seconds > 0 ? getCompletedCount() / seconds : 0;
+    }
+
+    /**
+     * Get the share of scheduled requests that failed or were dropped
+     *
+     * @return Error rate between 0.0 and 1.0
+     */
+    public double getErrorRate() {
+        long scheduled = getCompletedCount() + droppedCount;
+        return scheduled > 0 ? (double) getFailedCount() / scheduled : 0;
+    }
+
+    /**
+     * Get a latency percentile of the requests that were sent
+     *
+     * @param percentile Percentile between 0 and 100 (e.g. 99.9)
+     * @return Latency in milliseconds
+     */
+    public double getLatencyPercentileMs(double percentile) {
+        return latencyHistogram.getValueAtPercentile(percentile) / 1000.0;
+    }
+
+    public double getMaxLatencyMs() {
+        return latencyHistogram.getMaxValue() / 1000.0;
+    }
+
+    public double getMeanLatencyMs() {
+        return latencyHistogram.getMean() / 1000.0;
+    }
+
+    /**
+     * Get the raw latency histogram (microsecond values)
+     *
+     * @return Latency histogram
+     */
+    public Histogram getLatencyHistogram() {
+        return latencyHistogram;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("Load run (%s): %d completed, %d errors, %d dropped (%.2f%% failed), %.1f req/s, "
+                        + "latency ms p50=%.1f p90=%.1f p99=%.1f p99.9=%.1f max=%.1f",
+                profile, getCompletedCount(), errorCount, droppedCount, getErrorRate() * 100, getThroughput(),
+                getLatencyPercentileMs(50), getLatencyPercentileMs(90), getLatencyPercentileMs(99),
+                getLatencyPercentileMs(99.9), getMaxLatencyMs());
+    }
+}
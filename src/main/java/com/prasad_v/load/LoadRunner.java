@@ -0,0 +1,259 @@
+package com.prasad_v.load;
+
+import java.time.Duration;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import com.prasad_v.config.ConfigChangeListener;
+import com.prasad_v.config.ConfigurationManager;
+import com.prasad_v.exceptions.APIException;
+import com.prasad_v.logging.CustomLogger;
+import com.prasad_v.requestbuilder.RequestBuilder;
+
+import io.restassured.response.Response;
+
+/**
+ * LoadRunner drives a RequestBuilder template for a fixed duration and reports
+ * throughput, error rate and latency percentiles.
+ * Because the template is an ordinary RequestBuilder, load runs reuse the same
+ * authentication, headers and interceptors as the functional tests.
+ * Turn off request/response logging on the template before running at high rates.
+ * Retries are turned off on the template for the length of the run, so each sample is one
+ * request and 429/502/503 responses count as errors instead of hiding in longer latencies.
+ * The arrival rate of an open-model run can be changed while it runs with setTargetRate()
+ * or by changing load.target.rps in a hot-reloaded configuration.
+ */
+public class LoadRunner {
+
+    private static final CustomLogger logger = new CustomLogger(LoadRunner.class);
+    private static final int SIGNIFICANT_DIGITS = 3;
+    private static final long SHUTDOWN_GRACE_SECONDS = 60;
+
+    private final RequestBuilder template;
+    private final LoadProfile profile;
+    private final long shutdownGraceNanos;
+
+    private final ConfigChangeListener targetRateListener = this::applyConfiguredRate;
+
+    private volatile long intervalNanos;
+
+    /**
+     * Outcomes of one run. Each run gets its own, so a second run starts from zero and
+     * requests that complete after a run was cancelled cannot change another run's result.
+     */
+    private static final class RunStats {
+        private final LongAdder successCount = new LongAdder();
+        private final LongAdder errorCount = new LongAdder();
+        private final LongAdder droppedCount = new LongAdder();
+        private final Histogram latencyHistogram = new ConcurrentHistogram(SIGNIFICANT_DIGITS);
+    }
+
+    /**
+     * Constructor
+     *
+     * @param template Fully configured request to send repeatedly. Its retries are disabled
+     *                 while run() is in progress and restored when it returns, so the builder
+     *                 must not be used elsewhere during the run.
+     * @param profile Scheduling profile for the run
+     */
+    public LoadRunner(RequestBuilder template, LoadProfile profile) {
+        this(template, profile, TimeUnit.SECONDS.toNanos(SHUTDOWN_GRACE_SECONDS));
+    }
+
+    /**
+     * Constructor with a custom grace period for requests still in flight when the run ends
+     *
+     * @param template Fully configured request to send repeatedly
+     * @param profile Scheduling profile for the run
+     * @param shutdownGraceNanos Time to wait for in-flight requests after the run duration
+     */
+    LoadRunner(RequestBuilder template, LoadProfile profile, long shutdownGraceNanos) {
+        this.template = template;
+        this.profile = profile;
+        this.shutdownGraceNanos = shutdownGraceNanos;
+        if (profile.getMode() == LoadProfile.Mode.OPEN) {
+            this.intervalNanos = toIntervalNanos(profile.getTargetRate());
+        }
+    }
+
+    /**
+     * Change the arrival rate of an open-model run. Takes effect from the next scheduled request.
+     *
+     * @param requestsPerSecond New target rate
+     * @throws APIException If the run is not an open-model run or the rate is not positive
+     */
+    public void setTargetRate(double requestsPerSecond) throws APIException {
+        if (profile.getMode() != LoadProfile.Mode.OPEN) {
+            throw new APIException("Target rate can only be changed for open-model runs");
+        }
+        if (requestsPerSecond <= 0) {
+            throw new APIException("Target rate must be positive: " + requestsPerSecond);
+        }
+        intervalNanos = toIntervalNanos(requestsPerSecond);
+        logger.info("Load run target rate changed to " + requestsPerSecond + " req/s");
+    }
+
+    private static long toIntervalNanos(double requestsPerSecond) {
+        return Math.max(1, (long) (1_000_000_000L / requestsPerSecond));
+    }
+
+    private void applyConfiguredRate(Set<String> changedKeys) {
+        if (!changedKeys.contains("load.target.rps")) {
+            return;
+        }
+        String value = ConfigurationManager.getInstance().getProperty("load.target.rps");
+        if (value == null || value.trim().isEmpty()) {
+            return;
+        }
+        try {
+            setTargetRate(Double.parseDouble(value.trim()));
+        } catch (NumberFormatException | APIException e) {
+            logger.warn("Ignoring load.target.rps=" + value + ": " + e.getMessage());
+        }
+    }
+
+    /**
+     * Run the load profile to completion
+     *
+     * @return Summary of the run
+     * @throws APIException If the run is interrupted
+     */
+    public LoadResult run() throws APIException {
+        logger.info("Starting load run: " + profile);
+        long startNanos = System.nanoTime();
+        long endNanos = startNanos + profile.getDuration().toNanos();
+        RunStats stats = new RunStats();
+
+        boolean templateRetry = template.isRetry();
+        template.retry(false);
+        ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+        try {
+            if (profile.getMode() == LoadProfile.Mode.OPEN) {
+                ConfigurationManager.getInstance().addChangeListener(targetRateListener);
+                runOpenModel(executor, startNanos, stats);
+            } else {
+                runClosedModel(executor, startNanos, stats);
+            }
+            executor.shutdown();
+            // Closed-model users keep running until the end of the run, so the grace period starts there
+            long waitNanos = Math.max(0, endNanos - System.nanoTime()) + shutdownGraceNanos;
+            if (!executor.awaitTermination(waitNanos, TimeUnit.NANOSECONDS)) {
+                logger.warn("Load run requests still in flight "
+                        + TimeUnit.NANOSECONDS.toSeconds(shutdownGraceNanos) + "s after the run ended; cancelling");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new APIException("Load run interrupted", e);
+        } finally {
+            ConfigurationManager.getInstance().removeChangeListener(targetRateListener);
+            executor.shutdownNow();
+            template.retry(templateRetry);
+        }
+
+        Duration elapsed = Duration.ofNanos(System.nanoTime() - startNanos);
+        LoadResult result = new LoadResult(profile, stats.successCount.sum(), stats.errorCount.sum(),
+                stats.droppedCount.sum(), elapsed, stats.latencyHistogram.copy());
+        logger.info(result.toString());
+        return result;
+    }
+
+    /**
+     * Start requests at a constant arrival rate. Latency is measured from the intended
+     * start time, so a slow API shows up as latency instead of silently lowering the rate.
+     * Arrivals that find max concurrency in use are dropped and reported as failures.
+     *
+     * @param executor Executor to run requests on
+     * @param startNanos Run start time
+     * @param stats Outcomes of this run
+     */
+    private void runOpenModel(ExecutorService executor, long startNanos, RunStats stats) {
+        long endNanos = startNanos + profile.getDuration().toNanos();
+        Semaphore inFlight = new Semaphore(profile.getMaxConcurrency());
+
+        long intendedStart = startNanos;
+        while (intendedStart < endNanos) {
+            sleepUntil(intendedStart);
+
+            if (!inFlight.tryAcquire()) {
+                stats.droppedCount.increment();
+            } else {
+                final long scheduledAt = intendedStart;
+                executor.execute(() -> {
+                    try {
+                        sendRequest(scheduledAt, stats);
+                    } finally {
+                        inFlight.release();
+                    }
+                });
+            }
+            intendedStart += intervalNanos;
+        }
+    }
+
+    /**
+     * Keep a fixed number of users busy until the run ends
+     *
+     * @param executor Executor to run users on
+     * @param startNanos Run start time
+     * @param stats Outcomes of this run
+     */
+    private void runClosedModel(ExecutorService executor, long startNanos, RunStats stats) {
+        long endNanos = startNanos + profile.getDuration().toNanos();
+        long thinkTimeNanos = profile.getThinkTime().toNanos();
+
+        for (int user = 0; user < profile.getConcurrency(); user++) {
+            executor.execute(() -> {
+                while (System.nanoTime() < endNanos && !Thread.currentThread().isInterrupted()) {
+                    sendRequest(System.nanoTime(), stats);
+                    if (thinkTimeNanos > 0) {
+                        LockSupport.parkNanos(thinkTimeNanos);
+                    }
+                }
+            });
+        }
+    }
+
+    /**
+     * Execute one request from the template and record the outcome
+     *
+     * @param startNanos Time the request was (or should have been) started
+     * @param stats Outcomes of the run the request belongs to
+     */
+    private void sendRequest(long startNanos, RunStats stats) {
+        boolean success;
+        try {
+            Response response = template.execute();
+            success = response.getStatusCode() < 400;
+        } catch (Exception e) {
+            logger.debug("Load run request failed: " + e.getMessage());
+            success = false;
+        }
+
+        stats.latencyHistogram.recordValue(Math.max(0, (System.nanoTime() - startNanos) / 1000));
+        if (success) {
+            stats.successCount.increment();
+        } else {
+            stats.errorCount.increment();
+        }
+    }
+
+    /**
+     * Park the dispatching thread until the given time
+     *
+     * @param deadlineNanos Target System.nanoTime() value
+     */
+    private static void sleepUntil(long deadlineNanos) {
+        long remaining;
+        while ((remaining = deadlineNanos - System.nanoTime()) > 0) {
+            LockSupport.parkNanos(remaining);
+        }
+    }
+}
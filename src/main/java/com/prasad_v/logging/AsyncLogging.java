@@ -0,0 +1,126 @@
+package com.prasad_v.logging;
+
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.apache.logging.log4j.core.LoggerContext;
+import org.apache.logging.log4j.core.async.AsyncLoggerConfigDelegate;
+import org.apache.logging.log4j.core.config.AbstractConfiguration;
+import org.apache.logging.log4j.core.config.Configuration;
+import org.apache.logging.log4j.core.config.Configurator;
+import org.apache.logging.log4j.core.jmx.RingBufferAdmin;
+
+import com.prasad_v.config.ConfigurationManager;
+
+/**
+ * AsyncLogging switches Log4j to the asynchronous logging profile (log4j2-async.xml) and
+ * reports its ring buffer metrics.
+ * With the async profile, test threads only copy log events into a ring buffer; formatting
+ * and file I/O happen on a background thread, so logging no longer caps request rates.
+ * Configured with logging.async.enabled, logging.async.ring.buffer.size,
+ * logging.async.overflow.policy (discard or block) and logging.async.discard.threshold.
+ */
+public final class AsyncLogging {
+
+    private static final CustomLogger logger = new CustomLogger(AsyncLogging.class);
+    private static final String ASYNC_CONFIG = "log4j2-async.xml";
+
+    private static volatile RingBufferAdmin ringBuffer;
+
+    private AsyncLogging() {
+    }
+
+    /**
+     * Check if the async logging profile is enabled (logging.async.enabled)
+     *
+     * @return true if logging should be asynchronous
+     */
+    public static boolean isEnabled() {
+        return ConfigurationManager.getInstance().getBooleanProperty("logging.async.enabled", false);
+    }
+
+    /**
+     * Reconfigure Log4j with the async profile if it is enabled. Safe to call more than once.
+     */
+    public static synchronized void configure() {
+        if (!isEnabled() || ringBuffer != null) {
+            return;
+        }
+        ConfigurationManager config = ConfigurationManager.getInstance();
+
+        // Read by Log4j when the async configuration starts its ring buffer
+        System.setProperty("log4j2.asyncLoggerConfigRingBufferSize",
+                String.valueOf(config.getIntProperty("logging.async.ring.buffer.size", 262144)));
+        System.setProperty("log4j2.asyncQueueFullPolicy", CountingQueueFullPolicy.class.getName());
+        System.setProperty(CountingQueueFullPolicy.MODE_PROPERTY,
+                config.getProperty("logging.async.overflow.policy", "discard"));
+        System.setProperty(CountingQueueFullPolicy.THRESHOLD_PROPERTY,
+                config.getProperty("logging.async.discard.threshold", "INFO"));
+
+        URL resource = AsyncLogging.class.getClassLoader().getResource(ASYNC_CONFIG);
+        if (resource == null) {
+            logger.warn("Async logging enabled but " + ASYNC_CONFIG + " is not on the classpath");
+            return;
+        }
+        try {
+            Configurator.reconfigure(resource.toURI());
+        } catch (URISyntaxException e) {
+            logger.warn("Failed to load " + ASYNC_CONFIG + ": " + e.getMessage());
+            return;
+        }
+
+        ringBuffer = createRingBufferAdmin();
+        logger.info("Async logging enabled: " + getMetrics());
+    }
+
+    private static RingBufferAdmin createRingBufferAdmin() {
+        LoggerContext context = LoggerContext.getContext(false);
+        Configuration configuration = context.getConfiguration();
+        if (!(configuration instanceof AbstractConfiguration)) {
+            return null;
+        }
+        AsyncLoggerConfigDelegate delegate = ((AbstractConfiguration) configuration).getAsyncLoggerConfigDelegate();
+        return delegate != null ? delegate.createRingBufferAdmin(context.getName(), "") : null;
+    }
+
+    /**
+     * Get the ring buffer capacity
+     *
+     * @return Number of slots, or 0 if async logging is not active
+     */
+    public static long getQueueCapacity() {
+        RingBufferAdmin admin = ringBuffer;
+        return admin != null ? admin.getBufferSize() : 0;
+    }
+
+    /**
+     * Get the number of log events waiting to be written
+     *
+     * @return Queued event count, or 0 if async logging is not active
+     */
+    public static long getQueueDepth() {
+        RingBufferAdmin admin = ringBuffer;
+        if (admin == null) {
+            return 0;
+        }
+        // The two reads are not atomic, so clamp transient out-of-range values
+        long capacity = admin.getBufferSize();
+        return Math.max(0, Math.min(capacity, capacity - admin.getRemainingCapacity()));
+    }
+
+    /**
+     * Get async logging metrics, suitable for logging or metrics export
+     *
+     * @return Map of metric name to value
+     */
+    public static Map<String, Long> getMetrics() {
+        Map<String, Long> metrics = new LinkedHashMap<>();
+        metrics.put("queueCapacity", getQueueCapacity());
+        metrics.put("queueDepth", getQueueDepth());
+        metrics.put("discardedEvents", CountingQueueFullPolicy.getDiscardedEvents());
+        metrics.put("blockedEvents", CountingQueueFullPolicy.getBlockedEvents());
+        return metrics;
+    }
+}
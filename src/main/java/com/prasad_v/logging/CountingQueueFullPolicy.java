@@ -0,0 +1,68 @@
+package com.prasad_v.logging;
+
+import java.util.concurrent.atomic.LongAdder;
+
+import org.apache.logging.log4j.Level;
+import org.apache.logging.log4j.core.async.AsyncQueueFullPolicy;
+import org.apache.logging.log4j.core.async.EventRoute;
+
+/**
+ * Decides what happens to a log event when the async logging ring buffer is full,
+ * and counts how often that happens.
+ * In "discard" mode events at or below the discard threshold (INFO by default) are dropped
+ * so test threads never wait on log I/O; more severe events are still queued. In "block"
+ * mode the logging thread waits for space, so no event is lost.
+ * Log4j creates this policy itself; AsyncLogging selects it and sets its mode from
+ * logging.async.overflow.policy and logging.async.discard.threshold.
+ */
+public class CountingQueueFullPolicy implements AsyncQueueFullPolicy {
+
+    static final String MODE_PROPERTY = "com.prasad_v.logging.overflow.policy";
+    static final String THRESHOLD_PROPERTY = "com.prasad_v.logging.discard.threshold";
+
+    private static final LongAdder discardedEvents = new LongAdder();
+    private static final LongAdder blockedEvents = new LongAdder();
+
+    private final boolean discard;
+    private final Level discardThreshold;
+
+    /**
+     * Constructor used by Log4j when the async logger configuration starts
+     */
+    public CountingQueueFullPolicy() {
+        this.discard = !"block".equalsIgnoreCase(System.getProperty(MODE_PROPERTY, "discard"));
+        this.discardThreshold = Level.toLevel(System.getProperty(THRESHOLD_PROPERTY, "INFO"), Level.INFO);
+    }
+
+    @Override
+    public EventRoute getRoute(long backgroundThreadId, Level level) {
+        if (Thread.currentThread().threadId() == backgroundThreadId) {
+            // Logging from the appender thread itself would deadlock on a full buffer
+            return EventRoute.SYNCHRONOUS;
+        }
+        if (discard && level.isLessSpecificThan(discardThreshold)) {
+            discardedEvents.increment();
+            return EventRoute.DISCARD;
+        }
+        blockedEvents.increment();
+        return EventRoute.ENQUEUE;
+    }
+
+    /**
+     * Get the number of events dropped because the ring buffer was full
+     *
+     * @return Discarded event count since startup
+     */
+    public static long getDiscardedEvents() {
+        return discardedEvents.sum();
+    }
+
+    /**
+     * Get the number of events that made a logging thread wait for ring buffer space
+     *
+     * @return Blocked event count since startup
+     */
+    public static long getBlockedEvents() {
+        return blockedEvents.sum();
+    }
+}
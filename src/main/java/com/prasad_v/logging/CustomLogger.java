@@ -1,7 +1,6 @@
 package com.prasad_v.logging;
 
-import java.text.SimpleDateFormat;
-import java.util.Date;
+import java.util.function.Supplier;
 
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
@@ -9,10 +8,12 @@ import org.apache.logging.log4j.Logger;
 /**
  * Custom logger class to provide standardized logging functionality
  * throughout the framework.
+ * Timestamp and thread name come from the Log4j layout. Messages can be parameterized
+ * with {} placeholders or built by a Supplier; either way nothing is formatted unless
+ * the level is enabled, so disabled debug logging costs no allocations.
  */
 public class CustomLogger {
-    private Logger logger;
-    private static final String DATE_FORMAT = "yyyy-MM-dd HH:mm:ss.SSS";
+    private final Logger logger;
 
     /**
      * Constructor that initializes the logger for a specific class
@@ -23,13 +24,85 @@ public class CustomLogger {
         this.logger = LogManager.getLogger(clazz);
     }
 
+    /**
+     * Check if debug messages are logged
+     *
+     * @return true if the debug level is enabled
+     */
+    public boolean isDebugEnabled() {
+        return logger.isDebugEnabled();
+    }
+
+    /**
+     * Check if info messages are logged
+     *
+     * @return true if the info level is enabled
+     */
+    public boolean isInfoEnabled() {
+        return logger.isInfoEnabled();
+    }
+
     /**
      * Log an info message
      *
      * @param message The message to log
      */
     public void info(String message) {
-        logger.info(formatMessage(message));
+        logger.info(message);
+    }
+
+    /**
+     * Log a parameterized info message
+     *
+     * @param message The message, with {} placeholders
+     * @param p0 The placeholder value
+     */
+    public void info(String message, Object p0) {
+        logger.info(message, p0);
+    }
+
+    /**
+     * Log a parameterized info message
+     *
+     * @param message The message, with {} placeholders
+     * @param p0 The first placeholder value
+     * @param p1 The second placeholder value
+     */
+    public void info(String message, Object p0, Object p1) {
+        logger.info(message, p0, p1);
+    }
+
+    /**
+     * Log a parameterized info message
+     *
+     * @param message The message, with {} placeholders
+     * @param p0 The first placeholder value
+     * @param p1 The second placeholder value
+     * @param p2 The third placeholder value
+     */
+    public void info(String message, Object p0, Object p1, Object p2) {
+        logger.info(message, p0, p1, p2);
+    }
+
+    /**
+     * Log a parameterized info message
+     *
+     * @param message The message, with {} placeholders
+     * @param params The placeholder values
+     */
+    public void info(String message, Object... params) {
+        logger.info(message, params);
+    }
+
+    /**
+     * Log an info message built only if the info level is enabled
+     *
+     * @param messageSupplier Supplier of the message
+     */
+    public void info(Supplier<String> messageSupplier) {
+        if (logger.isInfoEnabled()) {
+            logger.info(messageSupplier.get());
+        }
     }
 
     /**
@@ -38,7 +111,61 @@ public class CustomLogger {
      * @param message The message to log
      */
     public void debug(String message) {
-        logger.debug(formatMessage(message));
+        logger.debug(message);
+    }
+
+    /**
+     * Log a parameterized debug message
+     *
+     * @param message The message, with {} placeholders
+     * @param p0 The placeholder value
+     */
+    public void debug(String message, Object p0) {
+        logger.debug(message, p0);
+    }
+
+    /**
+     * Log a parameterized debug message
+     *
+     * @param message The message, with {} placeholders
+     * @param p0 The first placeholder value
+     * @param p1 The second placeholder value
+     */
+    public void debug(String message, Object p0, Object p1) {
+        logger.debug(message, p0, p1);
+    }
+
+    /**
+     * Log a parameterized debug message
+     *
+     * @param message The message, with {} placeholders
+     * @param p0 The first placeholder value
+     * @param p1 The second placeholder value
+     * @param p2 The third placeholder value
+     */
+    public void debug(String message, Object p0, Object p1, Object p2) {
+        logger.debug(message, p0, p1, p2);
+    }
+
+    /**
+     * Log a parameterized debug message
+     *
+     * @param message The message, with {} placeholders
+     * @param params The placeholder values
+     */
+    public void debug(String message, Object... params) {
+        logger.debug(message, params);
+    }
+
+    /**
+     * Log a debug message built only if the debug level is enabled
+     *
+     * @param messageSupplier Supplier of the message
+     */
+    public void debug(Supplier<String> messageSupplier) {
+        if (logger.isDebugEnabled()) {
+            logger.debug(messageSupplier.get());
+        }
     }
 
     /**
@@ -47,7 +174,28 @@ public class CustomLogger {
      * @param message The message to log
      */
     public void warn(String message) {
-        logger.warn(formatMessage(message));
+        logger.warn(message);
+    }
+
+    /**
+     * Log a parameterized warning message
+     *
+     * @param message The message, with {} placeholders
+     * @param params The placeholder values
+     */
+    public void warn(String message, Object... params) {
+        logger.warn(message, params);
+    }
+
+    /**
+     * Log a warning message built only if the warn level is enabled
+     *
+     * @param messageSupplier Supplier of the message
+     */
+    public void warn(Supplier<String> messageSupplier) {
+        if (logger.isWarnEnabled()) {
+            logger.warn(messageSupplier.get());
+        }
     }
 
     /**
@@ -56,7 +204,7 @@ public class CustomLogger {
      * @param message The message to log
      */
     public void error(String message) {
-        logger.error(formatMessage(message));
+        logger.error(message);
     }
 
     /**
@@ -66,7 +214,17 @@ public class CustomLogger {
      * @param throwable The exception to log
      */
     public void error(String message, Throwable throwable) {
-        logger.error(formatMessage(message), throwable);
+        logger.error(message, throwable);
+    }
+
+    /**
+     * Log a parameterized error message. A Throwable as the last value is logged with its stack trace.
+     *
+     * @param message The message, with {} placeholders
+     * @param params The placeholder values
+     */
+    public void error(String message, Object... params) {
+        logger.error(message, params);
     }
 
     /**
@@ -78,6 +236,9 @@ public class CustomLogger {
      * @param body The request body
      */
     public void logRequest(String endpoint, String method, String headers, String body) {
+        if (!logger.isInfoEnabled()) {
+            return;
+        }
         StringBuilder sb = new StringBuilder();
         sb.append("\n====== REQUEST ======\n");
         sb.append("Endpoint: ").append(endpoint).append("\n");
@@ -100,6 +261,9 @@ public class CustomLogger {
      * @param body The response body
      */
     public void logResponse(int statusCode, long responseTime, String headers, String body) {
+        if (!logger.isInfoEnabled()) {
+            return;
+        }
         StringBuilder sb = new StringBuilder();
         sb.append("\n====== RESPONSE ======\n");
         sb.append("Status Code: ").append(statusCode).append("\n");
@@ -112,18 +276,4 @@ public class CustomLogger {
 
         logger.info(sb.toString());
     }
-
-    /**
-     * Format log message with timestamp and thread information
-     *
-     * @param message The message to format
-     * @return The formatted message
-     */
-    private String formatMessage(String message) {
-        SimpleDateFormat sdf = new SimpleDateFormat(DATE_FORMAT);
-        String timestamp = sdf.format(new Date());
-        String threadName = Thread.currentThread().getName();
-
-        return String.format("[%s] [%s] %s", timestamp, threadName, message);
-    }
-}
\ No newline at end of file
+}
@@ -0,0 +1,154 @@
+package com.prasad_v.metrics;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Live counters for the running suite, read by MetricsServer.
+ * Updates are a LongAdder increment (plus a map lookup for per-endpoint counters), so they
+ * are cheap enough to call on every request from many parallel test threads.
+ * Endpoints use the keys built by LatencyRecorder.endpointKey(), e.g. "GET /booking/{id}".
+ */
+public final class FrameworkMetrics {
+
+    private static final Map<String, Map<Integer, LongAdder>> requests = new ConcurrentHashMap<>();
+    private static final Map<String, LongAdder> requestErrors = new ConcurrentHashMap<>();
+    private static final AtomicInteger inFlightRequests = new AtomicInteger();
+    private static final Map<String, LongAdder> tokenRefreshes = new ConcurrentHashMap<>();
+    private static final LongAdder sharedTokenLoads = new LongAdder();
+    private static final LongAdder testRetries = new LongAdder();
+    private static final LongAdder requestRetries = new LongAdder();
+    private static final LongAdder retryBudgetExhausted = new LongAdder();
+
+    private FrameworkMetrics() {
+    }
+
+    /**
+     * Record that a request was sent
+     */
+    public static void requestStarted() {
+        inFlightRequests.incrementAndGet();
+    }
+
+    /**
+     * Record that a request completed with a response
+     *
+     * @param endpointKey Endpoint key
+     * @param statusCode Response status code
+     */
+    public static void requestCompleted(String endpointKey, int statusCode) {
+        inFlightRequests.decrementAndGet();
+        requests.computeIfAbsent(endpointKey, k -> new ConcurrentHashMap<>())
+                .computeIfAbsent(statusCode, k -> new LongAdder())
+                .increment();
+    }
+
+    /**
+     * Record that a request failed without a response (connection error, timeout, ...)
+     *
+     * @param endpointKey Endpoint key
+     */
+    public static void requestFailed(String endpointKey) {
+        inFlightRequests.decrementAndGet();
+        requestErrors.computeIfAbsent(endpointKey, k -> new LongAdder()).increment();
+    }
+
+    /**
+     * Record that a new access token was obtained from a token endpoint
+     *
+     * @param tokenKey Token key, e.g. "oauth_access_token@3f2a9c1b7d4e"
+     */
+    public static void tokenRefreshed(String tokenKey) {
+        tokenRefreshes.computeIfAbsent(tokenKey, k -> new LongAdder()).increment();
+    }
+
+    /**
+     * Record that a token stored by another process was picked up from the shared token cache
+     */
+    public static void sharedTokenLoaded() {
+        sharedTokenLoads.increment();
+    }
+
+    /**
+     * Record that a failed test is being re-run by RetryAnalyzer
+     */
+    public static void testRetried() {
+        testRetries.increment();
+    }
+
+    /**
+     * Record that RequestBuilder is re-sending a request after a retryable status
+     */
+    public static void requestRetried() {
+        requestRetries.increment();
+    }
+
+    /**
+     * Record that a retryable request was not retried because the retry budget was used up
+     */
+    public static void requestRetryBudgetExhausted() {
+        retryBudgetExhausted.increment();
+    }
+
+    /**
+     * Get request counts per endpoint and status code
+     *
+     * @return Live view of the counters
+     */
+    public static Map<String, Map<Integer, LongAdder>> getRequestCounts() {
+        return requests;
+    }
+
+    /**
+     * Get counts of requests that failed without a response, per endpoint
+     *
+     * @return Live view of the counters
+     */
+    public static Map<String, LongAdder> getRequestErrors() {
+        return requestErrors;
+    }
+
+    public static int getInFlightRequests() {
+        return inFlightRequests.get();
+    }
+
+    /**
+     * Get the number of access tokens obtained per token key
+     *
+     * @return Live view of the counters
+     */
+    public static Map<String, LongAdder> getTokenRefreshes() {
+        return tokenRefreshes;
+    }
+
+    public static long getSharedTokenLoads() {
+        return sharedTokenLoads.sum();
+    }
+
+    public static long getTestRetries() {
+        return testRetries.sum();
+    }
+
+    public static long getRequestRetries() {
+        return requestRetries.sum();
+    }
+
+    public static long getRetryBudgetExhausted() {
+        return retryBudgetExhausted.sum();
+    }
+
+    /**
+     * Reset all counters
+     */
+    public static void reset() {
+        requests.clear();
+        requestErrors.clear();
+        tokenRefreshes.clear();
+        sharedTokenLoads.reset();
+        testRetries.reset();
+        requestRetries.reset();
+        retryBudgetExhausted.reset();
+    }
+}
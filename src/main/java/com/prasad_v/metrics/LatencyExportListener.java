@@ -0,0 +1,36 @@
+package com.prasad_v.metrics;
+
+import org.testng.ISuite;
+import org.testng.ISuiteListener;
+
+import com.prasad_v.config.ConfigurationManager;
+import com.prasad_v.logging.CustomLogger;
+
+/**
+ * TestNG suite listener that logs per-endpoint latency percentiles and exports
+ * the recorded histograms when a suite finishes.
+ * TestNG picks it up for every suite through META-INF/services/org.testng.ITestNGListener,
+ * so it does not need to be listed in the suite XML files; metrics.latency.export.enabled
+ * turns the export off.
+ */
+public class LatencyExportListener implements ISuiteListener {
+
+    private static final CustomLogger logger = new CustomLogger(LatencyExportListener.class);
+
+    @Override
+    public void onFinish(ISuite suite) {
+        if (!ConfigurationManager.getInstance().getBooleanProperty("metrics.latency.export.enabled", true)) {
+            return;
+        }
+
+        for (LatencySnapshot snapshot : LatencyRecorder.getAllSnapshots().values()) {
+            logger.info("Latency " + snapshot);
+        }
+
+        try {
+            LatencyRecorder.export();
+        } catch (Exception e) {
+            logger.error("Failed to export latency histograms for suite: " + suite.getName(), e);
+        }
+    }
+}
@@ -0,0 +1,279 @@
+package com.prasad_v.metrics;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.net.URI;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.text.SimpleDateFormat;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Pattern;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import com.prasad_v.config.ConfigurationManager;
+import com.prasad_v.logging.CustomLogger;
+
+/**
+ * Records API latencies per endpoint for the whole run.
+ * Each endpoint (HTTP method + normalized path) gets its own HdrHistogram with
+ * microsecond resolution; recording is wait-free so it is safe on the request path
+ * of many parallel test threads. Snapshots expose p50/p90/p99/p99.9/max and the
+ * full histograms can be exported at suite end to compare tail latency between builds.
+ */
+public class LatencyRecorder {
+
+    private static final CustomLogger logger = new CustomLogger(LatencyRecorder.class);
+    private static final int SIGNIFICANT_DIGITS = 3;
+    private static final String DEFAULT_EXPORT_DIR = "test-output/latency";
+    private static final Pattern NUMERIC_SEGMENT = Pattern.compile("\\d+");
+    private static final Pattern OPAQUE_ID_SEGMENT = Pattern.compile(
+            "[0-9a-fA-F]{8}-[0-9a-fA-F]{4}-[0-9a-fA-F]{4}-[0-9a-fA-F]{4}-[0-9a-fA-F]{12}|[0-9a-fA-F]{16,}");
+    private static final Pattern VERSION_SEGMENT = Pattern.compile("[vV]\\d+(\\.\\d+)*");
+
+    // Histogram per endpoint key, e.g. "GET /v1/products/{id}"
+    private static final Map<String, Histogram> histograms = new ConcurrentHashMap<>();
+
+    private LatencyRecorder() {
+    }
+
+    /**
+     * Record one request latency
+     *
+     * @param method HTTP method
+     * @param url Request URL (query string and IDs are normalized away)
+     * @param durationNanos Request duration in nanoseconds
+     */
+    public static void record(String method, String url, long durationNanos) {
+        record(endpointKey(method, url), durationNanos);
+    }
+
+    /**
+     * Record one request latency under an explicit endpoint key
+     *
+     * @param endpointKey Endpoint key
+     * @param durationNanos Request duration in nanoseconds
+     */
+    public static void record(String endpointKey, long durationNanos) {
+        Histogram histogram = histograms.computeIfAbsent(endpointKey, k -> new ConcurrentHistogram(SIGNIFICANT_DIGITS));
+        histogram.recordValue(Math.max(0, durationNanos / 1000));
+    }
+
+    /**
+     * Build the endpoint key for a method and URL.
+     * UUID and long hex path segments are replaced by {id} so that calls to different
+     * resources of the same endpoint share one histogram. Numeric segments are replaced only
+     * when they follow a resource name, so "/users/42" becomes "/users/{id}" while
+     * "/v1/2024/reports" keeps its version and year segments.
+     *
+     * @param method HTTP method
+     * @param url Request URL
+     * @return Endpoint key such as "GET /v1/products/{id}"
+     */
+    public static String endpointKey(String method, String url) {
+        String path = url;
+        try {
+            String parsed = URI.create(url).getRawPath();
+            if (parsed != null) {
+                path = parsed;
+            }
+        } catch (IllegalArgumentException e) {
+            int queryStart = url.indexOf('?');
+            if (queryStart >= 0) {
+                path = url.substring(0, queryStart);
+            }
+        }
+
+        String[] segments = path.split("/", -1);
+        StringBuilder sb = new StringBuilder(method.length() + path.length() + 1);
+        sb.append(method).append(' ');
+        for (int i = 0; i < segments.length; i++) {
+            if (i > 0) {
+                sb.append('/');
+            }
+            String segment = segments[i];
+            sb.append(isIdSegment(i > 0 ? segments[i - 1] : "", segment) ? "{id}" : segment);
+        }
+        return sb.toString();
+    }
+
+    /**
+     * Check if a path segment identifies a resource instance
+     *
+     * @param previous Preceding path segment ("" at the start of the path)
+     * @param segment Path segment
+     * @return true if the segment should be replaced by {id}
+     */
+    private static boolean isIdSegment(String previous, String segment) {
+        if (OPAQUE_ID_SEGMENT.matcher(segment).matches()) {
+            return true;
+        }
+        return NUMERIC_SEGMENT.matcher(segment).matches()
+                && !previous.isEmpty()
+                && !NUMERIC_SEGMENT.matcher(previous).matches()
+                && !VERSION_SEGMENT.matcher(previous).matches();
+    }
+
+    /**
+     * Get a latency snapshot for one endpoint
+     *
+     * @param endpointKey Endpoint key as built by endpointKey()
+     * @return Snapshot, or null if nothing was recorded for the endpoint
+     */
+    public static LatencySnapshot getSnapshot(String endpointKey) {
+        Histogram histogram = histograms.get(endpointKey);
+        return histogram != null ? new LatencySnapshot(endpointKey, histogram.copy()) : null;
+    }
+
+    /**
+     * Get a latency snapshot for an endpoint
+     *
+     * @param method HTTP method
+     * @param url Request URL or path
+     * @return Snapshot, or null if nothing was recorded for the endpoint
+     */
+    public static LatencySnapshot getSnapshot(String method, String url) {
+        return getSnapshot(endpointKey(method, url));
+    }
+
+    /**
+     * Get snapshots for all endpoints, sorted by endpoint key
+     *
+     * @return Snapshots keyed by endpoint
+     */
+    public static Map<String, LatencySnapshot> getAllSnapshots() {
+        Map<String, LatencySnapshot> snapshots = new TreeMap<>();
+        for (Map.Entry<String, Histogram> entry : histograms.entrySet()) {
+            snapshots.put(entry.getKey(), new LatencySnapshot(entry.getKey(), entry.getValue().copy()));
+        }
+        return snapshots;
+    }
+
+    /**
+     * Get a snapshot aggregated over all endpoints
+     *
+     * @return Snapshot for the whole run
+     */
+    public static LatencySnapshot getOverallSnapshot() {
+        Histogram total = new Histogram(SIGNIFICANT_DIGITS);
+        for (Histogram histogram : histograms.values()) {
+            total.add(histogram.copy());
+        }
+        return new LatencySnapshot("ALL", total);
+    }
+
+    /**
+     * Export all endpoint latencies to a timestamped JSON file in the configured export directory
+     *
+     * @return Path of the written file
+     * @throws IOException If the file cannot be written
+     */
+    public static Path export() throws IOException {
+        String exportDir = ConfigurationManager.getInstance()
+                .getProperty("metrics.latency.export.dir", DEFAULT_EXPORT_DIR);
+        String timestamp = new SimpleDateFormat("yyyyMMdd_HHmmss").format(new Date());
+        return export(Paths.get(exportDir, "latency_" + timestamp + ".json"));
+    }
+
+    /**
+     * Export all endpoint latencies to a JSON file.
+     * Each entry contains the percentile summary and the full histogram in
+     * HdrHistogram's compressed, base64 encoded form for later comparison.
+     *
+     * @param file Target file
+     * @return Path of the written file
+     * @throws IOException If the file cannot be written
+     */
+    public static Path export(Path file) throws IOException {
+        List<Map<String, Object>> endpoints = new ArrayList<>();
+        for (LatencySnapshot snapshot : getAllSnapshots().values()) {
+            Map<String, Object> entry = new LinkedHashMap<>();
+            entry.put("endpoint", snapshot.getEndpoint());
+            entry.put("count", snapshot.getCount());
+            entry.put("p50Ms", snapshot.getP50Ms());
+            entry.put("p90Ms", snapshot.getP90Ms());
+            entry.put("p99Ms", snapshot.getP99Ms());
+            entry.put("p999Ms", snapshot.getP999Ms());
+            entry.put("maxMs", snapshot.getMaxMs());
+            entry.put("meanMs", snapshot.getMeanMs());
+            entry.put("histogram", encode(snapshot.getHistogram()));
+            endpoints.add(entry);
+        }
+
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("generatedAt", new SimpleDateFormat("yyyy-MM-dd'T'HH:mm:ss.SSSZ").format(new Date()));
+        report.put("unit", "ms");
+        report.put("endpoints", endpoints);
+
+        if (file.getParent() != null) {
+            Files.createDirectories(file.getParent());
+        }
+        Gson gson = new GsonBuilder().setPrettyPrinting().create();
+        try (Writer writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8)) {
+            gson.toJson(report, writer);
+        }
+
+        logger.info("Exported latency histograms for " + endpoints.size() + " endpoints to: " + file);
+        return file;
+    }
+
+    /**
+     * Decode a histogram previously written by export()
+     *
+     * @param encoded Base64 encoded, compressed histogram
+     * @return Decoded histogram (microsecond values)
+     * @throws IOException If the data is not a valid histogram
+     */
+    public static Histogram decode(String encoded) throws IOException {
+        try {
+            ByteBuffer buffer = ByteBuffer.wrap(Base64.getDecoder().decode(encoded));
+            return Histogram.decodeFromCompressedByteBuffer(buffer, 0);
+        } catch (Exception e) {
+            throw new IOException("Invalid encoded histogram: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Encode a histogram in HdrHistogram's compressed format as base64
+     *
+     * @param histogram Histogram to encode
+     * @return Base64 encoded histogram
+     */
+    private static String encode(Histogram histogram) {
+        ByteBuffer buffer = ByteBuffer.allocate(histogram.getNeededByteBufferCapacity());
+        int length = histogram.encodeIntoCompressedByteBuffer(buffer);
+        return Base64.getEncoder().encodeToString(Arrays.copyOf(buffer.array(), length));
+    }
+
+    /**
+     * Get the endpoint keys recorded so far
+     *
+     * @return Endpoint keys
+     */
+    public static List<String> getEndpoints() {
+        List<String> endpoints = new ArrayList<>(histograms.keySet());
+        endpoints.sort(null);
+        return endpoints;
+    }
+
+    /**
+     * Clear all recorded latencies
+     */
+    public static void reset() {
+        histograms.clear();
+    }
+}
@@ -0,0 +1,93 @@
+package com.prasad_v.metrics;
+
+import org.HdrHistogram.Histogram;
+
+/**
+ * Point-in-time latency summary for one endpoint.
+ * Values are reported in milliseconds with microsecond resolution.
+ */
+public class LatencySnapshot {
+
+    private final String endpoint;
+    private final long count;
+    private final double p50Ms;
+    private final double p90Ms;
+    private final double p99Ms;
+    private final double p999Ms;
+    private final double maxMs;
+    private final double meanMs;
+    private final transient Histogram histogram;
+
+    LatencySnapshot(String endpoint, Histogram histogram) {
+        this.endpoint = endpoint;
+        this.histogram = histogram;
+        this.count = histogram.getTotalCount();
+        this.p50Ms = toMillis(histogram.getValueAtPercentile(50));
+        this.p90Ms = toMillis(histogram.getValueAtPercentile(90));
+        this.p99Ms = toMillis(histogram.getValueAtPercentile(99));
+        this.p999Ms = toMillis(histogram.getValueAtPercentile(99.9));
+        this.maxMs = toMillis(histogram.getMaxValue());
+        this.meanMs = histogram.getMean() / 1000.0;
+    }
+
+    private static double toMillis(long micros) {
+        return micros / 1000.0;
+    }
+
+    public String getEndpoint() {
+        return endpoint;
+    }
+
+    public long getCount() {
+        return count;
+    }
+
+    public double getP50Ms() {
+        return p50Ms;
+    }
+
+    public double getP90Ms() {
+        return p90Ms;
+    }
+
+    public double getP99Ms() {
+        return p99Ms;
+    }
+
+    public double getP999Ms() {
+        return p999Ms;
+    }
+
+    public double getMaxMs() {
+        return maxMs;
+    }
+
+    public double getMeanMs() {
+        return meanMs;
+    }
+
+    /**
+     * Get any percentile from the underlying histogram
+     *
+     * @param percentile Percentile between 0 and 100
+     * @return Latency in milliseconds
+     */
+    public double getPercentileMs(double percentile) {
+        return toMillis(histogram.getValueAtPercentile(percentile));
+    }
+
+    /**
+     * Get the histogram copy this snapshot was taken from (microsecond values)
+     *
+     * @return Latency histogram
+     */
+    public Histogram getHistogram() {
+        return histogram;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%s: count=%d p50=%.3fms p90=%.3fms p99=%.3fms p99.9=%.3fms max=%.3fms",
+                endpoint, count, p50Ms, p90Ms, p99Ms, p999Ms, maxMs);
+    }
+}
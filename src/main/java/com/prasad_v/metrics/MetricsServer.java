@@ -0,0 +1,274 @@
+package com.prasad_v.metrics;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryUsage;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.HdrHistogram.Histogram;
+import org.apache.http.pool.PoolStats;
+
+import com.prasad_v.config.ConfigurationManager;
+import com.prasad_v.exceptions.APIException;
+import com.prasad_v.logging.AsyncLogging;
+import com.prasad_v.logging.CustomLogger;
+import com.prasad_v.requestbuilder.ConnectionPoolManager;
+import com.prasad_v.retry.RetryBudget;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+/**
+ * MetricsServer serves live run telemetry over HTTP in the Prometheus text exposition format,
+ * so a local Prometheus/Grafana can follow a soak or load run while it executes.
+ * GET /metrics returns request counts and in-flight requests, per-endpoint latency histograms
+ * from LatencyRecorder, token refreshes, test and request retries, the retry budget, connection
+ * pool and async logging statistics, and heap usage. Values are read when scraped; nothing is
+ * computed between scrapes.
+ * Enabled with metrics.server.enabled; listens on metrics.server.host:metrics.server.port
+ * (127.0.0.1:9464 by default). Histogram buckets are set with metrics.server.latency.buckets.ms.
+ */
+public class MetricsServer {
+
+    private static final CustomLogger logger = new CustomLogger(MetricsServer.class);
+    private static final String CONTENT_TYPE = "text/plain; version=0.0.4; charset=utf-8";
+    private static final String DEFAULT_BUCKETS_MS = "5,10,25,50,100,250,500,1000,2500,5000,10000";
+
+    private static MetricsServer instance;
+
+    private final HttpServer server;
+    private final ExecutorService executor;
+    private final double[] bucketsMs;
+
+    private MetricsServer(String host, int port, double[] bucketsMs) throws IOException {
+        this.bucketsMs = bucketsMs;
+        this.server = HttpServer.create(new InetSocketAddress(host, port), 0);
+        this.executor = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "metrics-server");
+            thread.setDaemon(true);
+            return thread;
+        });
+        server.createContext("/metrics", this::handle);
+        server.setExecutor(executor);
+    }
+
+    /**
+     * Check if the metrics endpoint is enabled (metrics.server.enabled)
+     *
+     * @return true if the server should be started
+     */
+    public static boolean isEnabled() {
+        return ConfigurationManager.getInstance().getBooleanProperty("metrics.server.enabled", false);
+    }
+
+    /**
+     * Start serving metrics. Does nothing if already started.
+     *
+     * @throws APIException If the configuration is invalid or the port cannot be bound
+     */
+    public static synchronized void start() throws APIException {
+        if (instance != null) {
+            return;
+        }
+        ConfigurationManager config = ConfigurationManager.getInstance();
+        String host = config.getProperty("metrics.server.host", "127.0.0.1");
+        int port = config.getIntProperty("metrics.server.port", 9464);
+        double[] bucketsMs = parseBuckets(config.getProperty("metrics.server.latency.buckets.ms", DEFAULT_BUCKETS_MS));
+        try {
+            instance = new MetricsServer(host, port, bucketsMs);
+        } catch (IOException e) {
+            throw new APIException("Failed to start metrics server on " + host + ":" + port + ": " + e.getMessage(), e);
+        }
+
+        // HttpServer's dispatcher thread inherits the daemon flag of the thread that starts it;
+        // start it from a daemon thread so the endpoint never keeps the JVM alive after the suite
+        Thread starter = new Thread(instance.server::start, "metrics-server-start");
+        starter.setDaemon(true);
+        starter.start();
+        try {
+            starter.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        logger.info("Serving metrics at http://" + host + ":" + instance.server.getAddress().getPort() + "/metrics");
+    }
+
+    /**
+     * Stop serving metrics
+     */
+    public static synchronized void stop() {
+        if (instance != null) {
+            instance.server.stop(0);
+            instance.executor.shutdownNow();
+            instance = null;
+        }
+    }
+
+    /**
+     * Get the port the server is listening on
+     *
+     * @return Bound port, or -1 if the server is not running
+     */
+    public static synchronized int getPort() {
+        return instance != null ? instance.server.getAddress().getPort() : -1;
+    }
+
+    private static double[] parseBuckets(String value) throws APIException {
+        String[] parts = value.split(",");
+        double[] buckets = new double[parts.length];
+        try {
+            for (int i = 0; i < parts.length; i++) {
+                buckets[i] = Double.parseDouble(parts[i].trim());
+                if (i > 0 && buckets[i] <= buckets[i - 1]) {
+                    throw new APIException("metrics.server.latency.buckets.ms must be increasing: " + value);
+                }
+            }
+        } catch (NumberFormatException e) {
+            throw new APIException("Invalid value for metrics.server.latency.buckets.ms: " + value, e);
+        }
+        return buckets;
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        try {
+            if (!"GET".equals(exchange.getRequestMethod()) || !"/metrics".equals(exchange.getRequestURI().getPath())) {
+                exchange.sendResponseHeaders(404, -1);
+                return;
+            }
+            byte[] body = render().getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().set("Content-Type", CONTENT_TYPE);
+            exchange.sendResponseHeaders(200, body.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(body);
+            }
+        } catch (RuntimeException e) {
+            logger.warn("Failed to render metrics: " + e.getMessage());
+            exchange.sendResponseHeaders(500, -1);
+        } finally {
+            exchange.close();
+        }
+    }
+
+    /**
+     * Render all metrics in the Prometheus text format
+     *
+     * @return Exposition text
+     */
+    String render() {
+        StringBuilder sb = new StringBuilder(8192);
+        renderRequests(sb);
+        renderLatency(sb);
+
+        header(sb, "api_token_refreshes_total", "counter", "Access tokens obtained from a token endpoint, per token key");
+        for (Map.Entry<String, LongAdder> token : new TreeMap<>(FrameworkMetrics.getTokenRefreshes()).entrySet()) {
+            sample(sb, "api_token_refreshes_total", "token=\"" + escapeLabel(token.getKey()) + "\"", token.getValue().sum());
+        }
+        header(sb, "api_token_shared_cache_loads_total", "counter", "Tokens picked up from the shared token cache");
+        sample(sb, "api_token_shared_cache_loads_total", "", FrameworkMetrics.getSharedTokenLoads());
+        header(sb, "test_retries_total", "counter", "Failed tests re-run by RetryAnalyzer");
+        sample(sb, "test_retries_total", "", FrameworkMetrics.getTestRetries());
+        header(sb, "api_request_retries_total", "counter", "Requests re-sent after a retryable status");
+        sample(sb, "api_request_retries_total", "", FrameworkMetrics.getRequestRetries());
+        header(sb, "api_request_retry_budget_exhausted_total", "counter", "Retries skipped because the retry budget was used up");
+        sample(sb, "api_request_retry_budget_exhausted_total", "", FrameworkMetrics.getRetryBudgetExhausted());
+        header(sb, "api_request_retry_budget_available", "gauge", "Retries currently available in the retry budget");
+        sample(sb, "api_request_retry_budget_available", "", RetryBudget.getInstance().getAvailableRetries());
+
+        // Scraping must not create the pool (and its evictor thread) before any request has run
+        if (ConnectionPoolManager.isInitialized()) {
+            PoolStats pool = ConnectionPoolManager.getInstance().getPoolStats();
+            header(sb, "http_pool_connections", "gauge", "HTTP connection pool connections by state");
+            sample(sb, "http_pool_connections", "state=\"leased\"", pool.getLeased());
+            sample(sb, "http_pool_connections", "state=\"available\"", pool.getAvailable());
+            sample(sb, "http_pool_connections", "state=\"pending\"", pool.getPending());
+            sample(sb, "http_pool_connections", "state=\"max\"", pool.getMax());
+        }
+
+        if (AsyncLogging.getQueueCapacity() > 0) {
+            Map<String, Long> logging = AsyncLogging.getMetrics();
+            header(sb, "logging_async_queue_depth", "gauge", "Log events waiting to be written");
+            sample(sb, "logging_async_queue_depth", "", logging.get("queueDepth"));
+            header(sb, "logging_async_queue_capacity", "gauge", "Async logging ring buffer size");
+            sample(sb, "logging_async_queue_capacity", "", logging.get("queueCapacity"));
+            header(sb, "logging_async_discarded_events_total", "counter", "Log events dropped while the queue was full");
+            sample(sb, "logging_async_discarded_events_total", "", logging.get("discardedEvents"));
+            header(sb, "logging_async_blocked_events_total", "counter", "Log events that waited for queue space");
+            sample(sb, "logging_async_blocked_events_total", "", logging.get("blockedEvents"));
+        }
+
+        MemoryUsage heap = ManagementFactory.getMemoryMXBean().getHeapMemoryUsage();
+        header(sb, "jvm_memory_heap_used_bytes", "gauge", "Used heap memory");
+        sample(sb, "jvm_memory_heap_used_bytes", "", heap.getUsed());
+        header(sb, "jvm_memory_heap_max_bytes", "gauge", "Maximum heap memory");
+        sample(sb, "jvm_memory_heap_max_bytes", "", heap.getMax());
+        return sb.toString();
+    }
+
+    private void renderRequests(StringBuilder sb) {
+        header(sb, "api_requests_in_flight", "gauge", "API requests waiting for a response");
+        sample(sb, "api_requests_in_flight", "", FrameworkMetrics.getInFlightRequests());
+
+        header(sb, "api_requests_total", "counter", "API requests completed with a response");
+        for (Map.Entry<String, Map<Integer, LongAdder>> endpoint : new TreeMap<>(FrameworkMetrics.getRequestCounts()).entrySet()) {
+            String labels = endpointLabels(endpoint.getKey());
+            for (Map.Entry<Integer, LongAdder> status : new TreeMap<>(endpoint.getValue()).entrySet()) {
+                sample(sb, "api_requests_total", labels + ",status=\"" + status.getKey() + "\"", status.getValue().sum());
+            }
+        }
+
+        header(sb, "api_request_errors_total", "counter", "API requests that failed without a response");
+        for (Map.Entry<String, LongAdder> endpoint : new TreeMap<>(FrameworkMetrics.getRequestErrors()).entrySet()) {
+            sample(sb, "api_request_errors_total", endpointLabels(endpoint.getKey()), endpoint.getValue().sum());
+        }
+    }
+
+    private void renderLatency(StringBuilder sb) {
+        header(sb, "api_request_duration_seconds", "histogram", "API request latency per endpoint");
+        for (LatencySnapshot snapshot : LatencyRecorder.getAllSnapshots().values()) {
+            String labels = endpointLabels(snapshot.getEndpoint());
+            Histogram histogram = snapshot.getHistogram();
+            for (double bucketMs : bucketsMs) {
+                // Histogram values are in microseconds
+                long count = histogram.getCountBetweenValues(0, (long) (bucketMs * 1000));
+                sample(sb, "api_request_duration_seconds_bucket", labels + ",le=\"" + bucketMs / 1000 + "\"", count);
+            }
+            sample(sb, "api_request_duration_seconds_bucket", labels + ",le=\"+Inf\"", snapshot.getCount());
+            sb.append("api_request_duration_seconds_sum{").append(labels).append("} ")
+                    .append(snapshot.getMeanMs() * snapshot.getCount() / 1000).append('\n');
+            sample(sb, "api_request_duration_seconds_count", labels, snapshot.getCount());
+        }
+    }
+
+    /**
+     * Split an endpoint key ("GET /booking/{id}") into method and endpoint labels
+     */
+    private static String endpointLabels(String endpointKey) {
+        int space = endpointKey.indexOf(' ');
+        String method = space > 0 ? endpointKey.substring(0, space) : "";
+        String path = space > 0 ? endpointKey.substring(space + 1) : endpointKey;
+        return "method=\"" + escapeLabel(method) + "\",endpoint=\"" + escapeLabel(path) + "\"";
+    }
+
+    private static String escapeLabel(String value) {
+        return value.replace("\\", "\\\\").replace("\"", "\\\"").replace("\n", "\\n");
+    }
+
+    private static void header(StringBuilder sb, String name, String type, String help) {
+        sb.append("# HELP ").append(name).append(' ').append(help).append('\n');
+        sb.append("# TYPE ").append(name).append(' ').append(type).append('\n');
+    }
+
+    private static void sample(StringBuilder sb, String name, String labels, long value) {
+        sb.append(name);
+        if (!labels.isEmpty()) {
+            sb.append('{').append(labels).append('}');
+        }
+        sb.append(' ').append(value).append('\n');
+    }
+}
@@ -0,0 +1,164 @@
+package com.prasad_v.reporting;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.zip.GZIPOutputStream;
+
+import com.prasad_v.cache.BoundedCache;
+import com.prasad_v.config.ConfigurationManager;
+import com.prasad_v.exceptions.APIException;
+
+/**
+ * BodyBlobStore keeps large request and response bodies out of the report.
+ * Each body is stored once, gzip-compressed, under blobs/ in the report directory and named by
+ * the SHA-256 of its content (blobs/ab/abcdef....json.gz), so the same payload logged thousands
+ * of times in a data-driven run takes one file. The report only holds a link and a short preview.
+ * Bodies shorter than report.blob.min.bytes stay inline. Hashing and compression run on the
+ * calling test thread; concurrent writes of the same body are coalesced, and files are written
+ * to a temporary name first so a reader never sees a partial blob.
+ */
+public final class BodyBlobStore {
+
+    private static final String BLOB_DIR = "blobs";
+
+    private final Path reportDirectory;
+    private final boolean enabled;
+    private final int minBytes;
+    private final int previewChars;
+    private final BoundedCache<String, Boolean> writtenBlobs;
+    private final LongAdder storedBlobs = new LongAdder();
+    private final LongAdder reusedBlobs = new LongAdder();
+    private final LongAdder storedBytes = new LongAdder();
+    private final LongAdder compressedBytes = new LongAdder();
+
+    /**
+     * Create a blob store for a report directory, configured from report.blob.*
+     *
+     * @param reportDirectory Directory the report is written to; blob links are relative to it
+     */
+    BodyBlobStore(Path reportDirectory) {
+        ConfigurationManager config = ConfigurationManager.getInstance();
+        this.reportDirectory = reportDirectory;
+        this.enabled = config.getBooleanProperty("report.blob.enabled", true);
+        this.minBytes = config.getIntProperty("report.blob.min.bytes", 2048);
+        this.previewChars = config.getIntProperty("report.blob.preview.chars", 200);
+        this.writtenBlobs = new BoundedCache<>("report-blobs", config.getIntProperty("report.blob.cache.size", 10000));
+    }
+
+    /**
+     * Check if a body should be stored as a blob rather than inline
+     *
+     * @param body Body text
+     * @return true if blob storage is enabled and the body reaches report.blob.min.bytes
+     */
+    public boolean accepts(String body) {
+        // Compare characters first to avoid encoding bodies that are clearly small
+        return enabled && body != null && body.length() >= minBytes
+                && body.getBytes(StandardCharsets.UTF_8).length >= minBytes;
+    }
+
+    /**
+     * Store a body, or reuse the blob already stored for the same content
+     *
+     * @param body Body text
+     * @param extension Content extension, e.g. "json" or "txt"
+     * @return Path of the blob relative to the report directory, with '/' separators
+     * @throws APIException If the blob cannot be written
+     */
+    public String store(String body, String extension) throws APIException {
+        byte[] content = body.getBytes(StandardCharsets.UTF_8);
+        String hash = sha256(content);
+        String relativePath = BLOB_DIR + "/" + hash.substring(0, 2) + "/" + hash + "." + extension + ".gz";
+
+        boolean[] written = new boolean[1];
+        writtenBlobs.get(relativePath, path -> {
+            written[0] = write(reportDirectory.resolve(path), content);
+            return Boolean.TRUE;
+        });
+        if (written[0]) {
+            storedBlobs.increment();
+        } else {
+            reusedBlobs.increment();
+        }
+        return relativePath;
+    }
+
+    /**
+     * Get the start of a body to show inline next to the blob link (report.blob.preview.chars)
+     *
+     * @param body Body text
+     * @return Preview text, ending in "..." if the body was cut
+     */
+    public String preview(String body) {
+        return body.length() <= previewChars ? body : body.substring(0, previewChars) + "...";
+    }
+
+    /**
+     * Write a blob unless a file for the same content already exists
+     *
+     * @return true if a new file was written
+     */
+    private boolean write(Path blob, byte[] content) throws IOException {
+        if (Files.exists(blob)) {
+            return false;
+        }
+        Files.createDirectories(blob.getParent());
+        Path temp = Files.createTempFile(blob.getParent(), blob.getFileName().toString(), ".tmp");
+        try {
+            try (OutputStream out = new GZIPOutputStream(Files.newOutputStream(temp))) {
+                out.write(content);
+            }
+            long size = Files.size(temp);
+            try {
+                Files.move(temp, blob, StandardCopyOption.ATOMIC_MOVE);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(temp, blob, StandardCopyOption.REPLACE_EXISTING);
+            }
+            storedBytes.add(content.length);
+            compressedBytes.add(size);
+            return true;
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    private static String sha256(byte[] content) {
+        try {
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(content));
+        } catch (NoSuchAlgorithmException e) {
+            // Every JVM is required to support SHA-256
+            throw new IllegalStateException(e);
+        }
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public long getStoredBlobs() {
+        return storedBlobs.sum();
+    }
+
+    public long getReusedBlobs() {
+        return reusedBlobs.sum();
+    }
+
+    /**
+     * Get blob statistics
+     *
+     * @return Statistics line
+     */
+    public String getStats() {
+        return "report blobs: stored=" + storedBlobs.sum() + ", reused=" + reusedBlobs.sum()
+                + ", bytes=" + storedBytes.sum() + ", compressed=" + compressedBytes.sum();
+    }
+}
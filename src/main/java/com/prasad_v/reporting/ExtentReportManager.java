@@ -174,6 +174,15 @@ public class ExtentReportManager {
         }
     }
 
+    /**
+     * Get the directory reports are written to
+     *
+     * @return The report directory
+     */
+    public static String getReportDirectory() {
+        return DEFAULT_REPORT_PATH;
+    }
+
     /**
      * Get the path to the generated report file
      *
@@ -0,0 +1,144 @@
+package com.prasad_v.reporting;
+
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.HashMap;
+import java.util.Map;
+
+import com.aventstack.extentreports.ExtentReports;
+import com.aventstack.extentreports.ExtentTest;
+import com.aventstack.extentreports.MediaEntityBuilder;
+import com.aventstack.extentreports.Status;
+import com.aventstack.extentreports.markuputils.CodeLanguage;
+import com.aventstack.extentreports.markuputils.Markup;
+import com.aventstack.extentreports.markuputils.MarkupHelper;
+
+/**
+ * Report sink that builds the Extent Spark HTML report.
+ * The Extent model keeps every entry in memory until the report is flushed. The
+ * ExtentReports instance is created when the first test starts, so a run that does not
+ * use this backend never creates an empty Extent report.
+ */
+final class ExtentReportSink implements ReportSink {
+
+    private final Map<Long, ExtentTest> tests = new HashMap<>();
+    private ExtentReports extent;
+
+    /**
+     * Get the Extent test for an id. Must be called on the dispatcher thread.
+     *
+     * @param testId Test id
+     * @return The Extent test, or null if it has not been started
+     */
+    ExtentTest getTest(long testId) {
+        return tests.get(testId);
+    }
+
+    @Override
+    public Path getReportDirectory() {
+        return Paths.get(ExtentReportManager.getReportDirectory());
+    }
+
+    @Override
+    public void startTest(long testId, long parentId, String name, String description) {
+        ExtentTest test;
+        if (parentId == 0) {
+            if (extent == null) {
+                extent = ExtentReportManager.getInstance();
+            }
+            test = extent.createTest(name, description);
+        } else {
+            ExtentTest parent = tests.get(parentId);
+            if (parent == null) {
+                throw new IllegalStateException("Unknown parent test " + parentId + " for node: " + name);
+            }
+            test = parent.createNode(name, description);
+        }
+        tests.put(testId, test);
+    }
+
+    @Override
+    public void endTest(long testId) {
+        // Extent derives end times from the last log entry
+    }
+
+    @Override
+    public void log(long testId, Status status, String message) {
+        ExtentTest test = tests.get(testId);
+        if (test != null) {
+            test.log(status, message);
+        }
+    }
+
+    @Override
+    public void log(long testId, Status status, Markup markup) {
+        ExtentTest test = tests.get(testId);
+        if (test != null) {
+            test.log(status, markup);
+        }
+    }
+
+    @Override
+    public void log(long testId, Status status, Throwable throwable) {
+        ExtentTest test = tests.get(testId);
+        if (test != null) {
+            test.log(status, throwable);
+        }
+    }
+
+    @Override
+    public void logCode(long testId, Status status, String code, CodeLanguage language) {
+        ExtentTest test = tests.get(testId);
+        if (test == null) {
+            return;
+        }
+        try {
+            test.log(status, MarkupHelper.createCodeBlock(code, language));
+        } catch (RuntimeException e) {
+            // Code Extent cannot format is still worth showing
+            test.log(status, code);
+        }
+    }
+
+    @Override
+    public void attachMedia(long testId, Status status, String title, String path) {
+        ExtentTest test = tests.get(testId);
+        if (test != null) {
+            test.log(status, title, MediaEntityBuilder.createScreenCaptureFromPath(path).build());
+        }
+    }
+
+    @Override
+    public void assign(long testId, Attribute attribute, String value) {
+        ExtentTest test = tests.get(testId);
+        if (test == null) {
+            return;
+        }
+        switch (attribute) {
+            case CATEGORY:
+                test.assignCategory(value);
+                break;
+            case AUTHOR:
+                test.assignAuthor(value);
+                break;
+            case DEVICE:
+                test.assignDevice(value);
+                break;
+        }
+    }
+
+    @Override
+    public void endBatch() {
+        // The Extent report is only written on flush
+    }
+
+    @Override
+    public void flush() {
+        ExtentReportManager.flush();
+    }
+
+    @Override
+    public void close() {
+        ExtentReportManager.flush();
+    }
+}
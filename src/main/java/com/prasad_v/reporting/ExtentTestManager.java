@@ -1,13 +1,12 @@
 package com.prasad_v.reporting;
 
-import com.aventstack.extentreports.ExtentReports;
 import com.aventstack.extentreports.ExtentTest;
-import com.aventstack.extentreports.MediaEntityBuilder;
 import com.aventstack.extentreports.Status;
 import com.aventstack.extentreports.markuputils.CodeLanguage;
 import com.aventstack.extentreports.markuputils.ExtentColor;
 import com.aventstack.extentreports.markuputils.Markup;
 import com.aventstack.extentreports.markuputils.MarkupHelper;
+import com.prasad_v.exceptions.APIException;
 import com.prasad_v.logging.CustomLogger;
 import com.prasad_v.logging.LogManager;
 
@@ -15,20 +14,43 @@ import java.io.File;
 import java.io.FileOutputStream;
 import java.text.SimpleDateFormat;
 import java.util.Date;
-import java.util.HashMap;
-import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
 
 /**
  * Manages ExtentTest instances for each test thread to support parallel execution.
  * Provides methods to log test steps, attach screenshots, add API request/response details, etc.
+ *
+ * The current test is kept in a ThreadLocal, so looking it up takes no lock. Log calls build
+ * their entry on the test thread and hand it to the ReportEventDispatcher, which applies
+ * entries to the report sink in batches on its own thread; test threads never wait on each other.
+ * Starting tests and nodes only queues an event too; getTest() is the one call that waits.
+ * Tests are identified by ids, so entries can go to either report backend (report.backend).
+ * Calls made on a thread without a started test are ignored.
  */
 public class ExtentTestManager {
     private static final CustomLogger logger = LogManager.getLogger(ExtentTestManager.class);
-    private static final Map<Long, ExtentTest> testMap = new HashMap<>();
-    private static final ThreadLocal<String> testNameThread = new ThreadLocal<>();
-    private static final ExtentReports extent = ExtentReportManager.getInstance();
+    private static final ThreadLocal<TestContext> currentTest = new ThreadLocal<>();
+    private static final AtomicLong testIds = new AtomicLong();
+    private static final ReportEventDispatcher dispatcher = ReportEventDispatcher.getInstance();
+    private static final ReportSink sink = dispatcher.getSink();
+    private static final BodyBlobStore blobStore = new BodyBlobStore(sink.getReportDirectory());
     private static final String SCREENSHOT_FOLDER = "test-output/screenshots/";
 
+    /**
+     * The test running on a thread: its top-level test and the test or node being logged to
+     */
+    private static final class TestContext {
+        private final long rootId;
+        private final String name;
+        private long testId;
+
+        private TestContext(long rootId, String name) {
+            this.rootId = rootId;
+            this.name = name;
+            this.testId = rootId;
+        }
+    }
+
     static {
         createScreenshotFolder();
     }
@@ -49,12 +71,28 @@ public class ExtentTestManager {
     }
 
     /**
-     * Get the ExtentTest instance for the current thread
+     * Get the ExtentTest instance for the current thread.
+     * This is the only blocking call in this class: it waits until the dispatcher has applied
+     * every entry queued before it, by any thread. Use the log methods where possible.
      *
-     * @return The ExtentTest instance
+     * @return The ExtentTest instance, or null if no test is started or report.backend is not extent
      */
-    public static synchronized ExtentTest getTest() {
-        return testMap.get(Thread.currentThread().getId());
+    public static ExtentTest getTest() {
+        TestContext context = currentTest.get();
+        if (context == null || !(sink instanceof ExtentReportSink)) {
+            return null;
+        }
+        long testId = context.testId;
+        return dispatcher.call(() -> ((ExtentReportSink) sink).getTest(testId));
+    }
+
+    /**
+     * Get the store that large request and response bodies are written to
+     *
+     * @return The report blob store
+     */
+    public static BodyBlobStore getBlobStore() {
+        return blobStore;
     }
 
     /**
@@ -63,7 +101,8 @@ public class ExtentTestManager {
      * @return The test name
      */
     public static String getTestName() {
-        return testNameThread.get();
+        TestContext context = currentTest.get();
+        return context != null ? context.name : null;
     }
 
     /**
@@ -71,14 +110,13 @@ public class ExtentTestManager {
      *
      * @param testName The name of the test
      * @param description The test description
-     * @return The created ExtentTest instance
      */
-    public static synchronized ExtentTest startTest(String testName, String description) {
-        ExtentTest test = extent.createTest(testName, description);
-        testMap.put(Thread.currentThread().getId(), test);
-        testNameThread.set(testName);
+    public static void startTest(String testName, String description) {
+        // Created on the dispatcher thread, after any entries still queued for earlier tests
+        long testId = testIds.incrementAndGet();
+        dispatcher.post(() -> sink.startTest(testId, 0, testName, description));
+        currentTest.set(new TestContext(testId, testName));
         logger.info("Started test: " + testName);
-        return test;
     }
 
     /**
@@ -86,22 +124,79 @@ public class ExtentTestManager {
      *
      * @param nodeName The name of the node
      * @param description The node description
-     * @return The created ExtentTest node
      */
-    public static synchronized ExtentTest createNode(String nodeName, String description) {
-        ExtentTest node = getTest().createNode(nodeName, description);
-        testMap.put(Thread.currentThread().getId(), node);
-        logger.info("Created node: " + nodeName + " under test: " + getTestName());
-        return node;
+    public static void createNode(String nodeName, String description) {
+        TestContext context = currentTest.get();
+        if (context == null) {
+            logger.warn("Cannot create node " + nodeName + ": no test started on this thread");
+            return;
+        }
+        long parentId = context.testId;
+        long nodeId = testIds.incrementAndGet();
+        dispatcher.post(() -> sink.startTest(nodeId, parentId, nodeName, description));
+        context.testId = nodeId;
+        logger.info("Created node: " + nodeName + " under test: " + context.name);
+    }
+
+    /**
+     * Detach the test from the current thread and schedule a report flush.
+     * Flushes from many tests ending together are coalesced on the dispatcher thread.
+     */
+    public static void endTest() {
+        TestContext context = currentTest.get();
+        if (context != null) {
+            dispatcher.post(() -> sink.endTest(context.rootId));
+            currentTest.remove();
+        }
+        dispatcher.requestFlush();
+    }
+
+    /**
+     * Apply all queued report entries and write the report. Call at the end of the suite.
+     */
+    public static void flush() {
+        dispatcher.flush();
+    }
+
+    /**
+     * Queue a text entry for the current test
+     */
+    private static void dispatch(Status status, String message) {
+        TestContext context = currentTest.get();
+        if (context != null) {
+            dispatcher.post(ReportEvent.message(sink, context.testId, status, message));
+        }
     }
 
     /**
-     * Remove the test from the thread map
+     * Queue a markup entry for the current test
      */
-    public static synchronized void endTest() {
-        extent.flush();
-        testMap.remove(Thread.currentThread().getId());
-        testNameThread.remove();
+    private static void dispatch(Status status, Markup markup) {
+        TestContext context = currentTest.get();
+        if (context != null) {
+            dispatcher.post(ReportEvent.markup(sink, context.testId, status, markup));
+        }
+    }
+
+    /**
+     * Queue a code block entry for the current test
+     */
+    private static void dispatch(Status status, String code, CodeLanguage language) {
+        TestContext context = currentTest.get();
+        if (context != null) {
+            dispatcher.post(ReportEvent.code(sink, context.testId, status, code, language));
+        }
+    }
+
+    /**
+     * Queue an attribute for the current test
+     */
+    private static void dispatch(ReportSink.Attribute attribute, String value) {
+        TestContext context = currentTest.get();
+        if (context != null) {
+            long testId = context.testId;
+            dispatcher.post(() -> sink.assign(testId, attribute, value));
+        }
     }
 
     /**
@@ -110,7 +205,7 @@ public class ExtentTestManager {
      * @param message The step message
      */
     public static void logPass(String message) {
-        getTest().log(Status.PASS, message);
+        dispatch(Status.PASS, message);
         logger.info("TEST PASS: " + message);
     }
 
@@ -120,7 +215,7 @@ public class ExtentTestManager {
      * @param message The step message
      */
     public static void logFail(String message) {
-        getTest().log(Status.FAIL, message);
+        dispatch(Status.FAIL, message);
         logger.error("TEST FAIL: " + message);
     }
 
@@ -131,8 +226,11 @@ public class ExtentTestManager {
      * @param t The exception
      */
     public static void logFail(String message, Throwable t) {
-        getTest().log(Status.FAIL, message + "\n" + t.getMessage());
-        getTest().log(Status.FAIL, t);
+        dispatch(Status.FAIL, message + "\n" + t.getMessage());
+        TestContext context = currentTest.get();
+        if (context != null) {
+            dispatcher.post(ReportEvent.throwable(sink, context.testId, Status.FAIL, t));
+        }
         logger.error("TEST FAIL: " + message, t);
     }
 
@@ -142,7 +240,7 @@ public class ExtentTestManager {
      * @param message The step message
      */
     public static void logSkip(String message) {
-        getTest().log(Status.SKIP, message);
+        dispatch(Status.SKIP, message);
         logger.info("TEST SKIP: " + message);
     }
 
@@ -152,7 +250,7 @@ public class ExtentTestManager {
      * @param message The step message
      */
     public static void logInfo(String message) {
-        getTest().log(Status.INFO, message);
+        dispatch(Status.INFO, message);
         logger.info("TEST INFO: " + message);
     }
 
@@ -162,7 +260,7 @@ public class ExtentTestManager {
      * @param message The step message
      */
     public static void logWarning(String message) {
-        getTest().log(Status.WARNING, message);
+        dispatch(Status.WARNING, message);
         logger.warn("TEST WARNING: " + message);
     }
 
@@ -174,8 +272,10 @@ public class ExtentTestManager {
      */
     public static void attachScreenshot(String screenshotPath, String title) {
         try {
-            getTest().log(Status.INFO, title,
-                    MediaEntityBuilder.createScreenCaptureFromPath(screenshotPath).build());
+            TestContext context = currentTest.get();
+            if (context != null) {
+                dispatcher.post(ReportEvent.media(sink, context.testId, Status.INFO, title, screenshotPath));
+            }
             logger.info("Attached screenshot: " + screenshotPath);
         } catch (Exception e) {
             logWarning("Failed to attach screenshot: " + e.getMessage());
@@ -229,24 +329,7 @@ public class ExtentTestManager {
                     .append("<pre>").append(headers).append("</pre>");
         }
 
-        if (body != null && !body.isEmpty()) {
-            // Try to format JSON if it appears to be JSON
-            if (body.trim().startsWith("{") || body.trim().startsWith("[")) {
-                sb.append("<p><b>Body:</b></p>")
-                        .append("<div>");
-                getTest().log(Status.INFO, sb.toString());
-                logJson(body);
-                getTest().log(Status.INFO, "</div></details>");
-            } else {
-                sb.append("<p><b>Body:</b></p>")
-                        .append("<pre>").append(body).append("</pre>")
-                        .append("</details>");
-                getTest().log(Status.INFO, sb.toString());
-            }
-        } else {
-            sb.append("</details>");
-            getTest().log(Status.INFO, sb.toString());
-        }
+        dispatchBody(sb, body);
 
         logger.info("Logged API request details for: " + method + " " + endpoint);
     }
@@ -271,24 +354,7 @@ public class ExtentTestManager {
                     .append("<pre>").append(headers).append("</pre>");
         }
 
-        if (body != null && !body.isEmpty()) {
-            // Try to format JSON if it appears to be JSON
-            if (body.trim().startsWith("{") || body.trim().startsWith("[")) {
-                sb.append("<p><b>Body:</b></p>")
-                        .append("<div>");
-                getTest().log(Status.INFO, sb.toString());
-                logJson(body);
-                getTest().log(Status.INFO, "</div></details>");
-            } else {
-                sb.append("<p><b>Body:</b></p>")
-                        .append("<pre>").append(body).append("</pre>")
-                        .append("</details>");
-                getTest().log(Status.INFO, sb.toString());
-            }
-        } else {
-            sb.append("</details>");
-            getTest().log(Status.INFO, sb.toString());
-        }
+        dispatchBody(sb, body);
 
         // Log status color based on response code
         Status logStatus = statusCode >= 200 && statusCode < 300 ? Status.PASS :
@@ -298,39 +364,97 @@ public class ExtentTestManager {
                 (logStatus == Status.PASS ? "Success" :
                         logStatus == Status.WARNING ? "Redirection" : "Error") + ")";
 
-        getTest().log(logStatus, statusMessage);
+        dispatch(logStatus, statusMessage);
 
         logger.info("Logged API response details with status code: " + statusCode);
     }
 
     /**
-     * Log JSON data with syntax highlighting
+     * Queue the body part of a request or response entry and close its details element.
+     * Large bodies are written to the blob store and only linked from the entry.
+     *
+     * @param sb The entry built so far
+     * @param body The body, may be null
+     */
+    private static void dispatchBody(StringBuilder sb, String body) {
+        if (body == null || body.isEmpty()) {
+            sb.append("</details>");
+            dispatch(Status.INFO, sb.toString());
+            return;
+        }
+
+        // Try to format JSON if it appears to be JSON
+        boolean json = body.trim().startsWith("{") || body.trim().startsWith("[");
+        sb.append("<p><b>Body:</b></p>");
+        String blobReference = blobStore.accepts(body) ? storeBlob(body, json ? "json" : "txt") : null;
+        if (blobReference != null) {
+            sb.append(blobReference).append("</details>");
+            dispatch(Status.INFO, sb.toString());
+        } else if (json) {
+            sb.append("<div>");
+            dispatch(Status.INFO, sb.toString());
+            logJson(body);
+            dispatch(Status.INFO, "</div></details>");
+        } else {
+            sb.append("<pre>").append(body).append("</pre>")
+                    .append("</details>");
+            dispatch(Status.INFO, sb.toString());
+        }
+    }
+
+    /**
+     * Store a body in the blob store
+     *
+     * @param body The body
+     * @param extension The blob file extension
+     * @return A preview of the body with a link to the blob, or null if the body could not be stored
+     */
+    private static String storeBlob(String body, String extension) {
+        if (currentTest.get() == null) {
+            // Nothing would reference the blob
+            return null;
+        }
+        try {
+            String blobPath = blobStore.store(body, extension);
+            return "<pre>" + escapeHtml(blobStore.preview(body)) + "</pre>"
+                    + "<p><a href=\"" + blobPath + "\" target=\"_blank\">Full body</a> ("
+                    + body.length() + " characters, gzip)</p>";
+        } catch (APIException e) {
+            logger.warn("Failed to store body in report blob store, logging it inline: " + e.getMessage());
+            return null;
+        }
+    }
+
+    private static String escapeHtml(String text) {
+        return text.replace("&", "&amp;").replace("<", "&lt;").replace(">", "&gt;");
+    }
+
+    /**
+     * Log JSON data with syntax highlighting. Large documents are written to the blob store.
      *
      * @param json The JSON string
      */
     public static void logJson(String json) {
-        try {
-            Markup markup = MarkupHelper.createCodeBlock(json, CodeLanguage.JSON);
-            getTest().log(Status.INFO, markup);
-        } catch (Exception e) {
-            getTest().log(Status.INFO, json);
-            logger.warn("Failed to format JSON, logging as plain text", e);
+        String blobReference = blobStore.accepts(json) ? storeBlob(json, "json") : null;
+        if (blobReference != null) {
+            dispatch(Status.INFO, blobReference);
+            return;
         }
+        dispatch(Status.INFO, json, CodeLanguage.JSON);
     }
 
     /**
-     * Log XML data with syntax highlighting
+     * Log XML data with syntax highlighting. Large documents are written to the blob store.
      *
      * @param xml The XML string
      */
     public static void logXml(String xml) {
-        try {
-            Markup markup = MarkupHelper.createCodeBlock(xml, CodeLanguage.XML);
-            getTest().log(Status.INFO, markup);
-        } catch (Exception e) {
-            getTest().log(Status.INFO, xml);
-            logger.warn("Failed to format XML, logging as plain text", e);
+        String blobReference = blobStore.accepts(xml) ? storeBlob(xml, "xml") : null;
+        if (blobReference != null) {
+            dispatch(Status.INFO, blobReference);
+            return;
         }
+        dispatch(Status.INFO, xml, CodeLanguage.XML);
     }
 
     /**
@@ -342,7 +466,7 @@ public class ExtentTestManager {
      */
     public static void logWithColor(Status status, String message, ExtentColor color) {
         Markup markup = MarkupHelper.createLabel(message, color);
-        getTest().log(status, markup);
+        dispatch(status, markup);
     }
 
     /**
@@ -351,7 +475,7 @@ public class ExtentTestManager {
      * @param category The category name
      */
     public static void assignCategory(String category) {
-        getTest().assignCategory(category);
+        dispatch(ReportSink.Attribute.CATEGORY, category);
         logger.info("Assigned category: " + category + " to test: " + getTestName());
     }
 
@@ -361,7 +485,7 @@ public class ExtentTestManager {
      * @param author The author name
      */
     public static void assignAuthor(String author) {
-        getTest().assignAuthor(author);
+        dispatch(ReportSink.Attribute.AUTHOR, author);
         logger.info("Assigned author: " + author + " to test: " + getTestName());
     }
 
@@ -371,7 +495,7 @@ public class ExtentTestManager {
      * @param device The device name
      */
     public static void assignDevice(String device) {
-        getTest().assignDevice(device);
+        dispatch(ReportSink.Attribute.DEVICE, device);
         logger.info("Assigned device: " + device + " to test: " + getTestName());
     }
 
@@ -382,7 +506,7 @@ public class ExtentTestManager {
      */
     public static void logTable(String[][] data) {
         Markup markup = MarkupHelper.createTable(data);
-        getTest().log(Status.INFO, markup);
+        dispatch(Status.INFO, markup);
         logger.info("Added table to test: " + getTestName());
     }
 }
\ No newline at end of file
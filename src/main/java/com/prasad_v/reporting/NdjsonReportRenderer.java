@@ -0,0 +1,351 @@
+package com.prasad_v.reporting;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.text.SimpleDateFormat;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.aventstack.extentreports.Status;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import com.prasad_v.exceptions.APIException;
+import com.prasad_v.logging.CustomLogger;
+
+/**
+ * NdjsonReportRenderer renders an NDJSON report event log into a self-contained HTML report.
+ * Lines that cannot be parsed (usually the last line of a log from a killed run) are skipped,
+ * and tests without an end event are marked as incomplete, so partial logs still render.
+ * The log is streamed: each top-level test is written to a temporary body file when its end
+ * event arrives and then dropped, so only tests still running are held in memory. The summary
+ * and the body are then joined into the report; tests appear in the order they finished.
+ * Runs in the test JVM when the ndjson report backend is closed, or from the command line:
+ * java -cp ... com.prasad_v.reporting.NdjsonReportRenderer &lt;events.ndjson&gt; [report.html]
+ */
+public final class NdjsonReportRenderer {
+
+    private static final CustomLogger logger = new CustomLogger(NdjsonReportRenderer.class);
+
+    private static final class TestNode {
+        private final long id;
+        private final String name;
+        private final String description;
+        private final long startMillis;
+        private final List<String> entries = new ArrayList<>();
+        private final List<String> attributes = new ArrayList<>();
+        private final List<TestNode> children = new ArrayList<>();
+        private Status status;
+        private long endMillis;
+
+        private TestNode(long id, String name, String description, long startMillis) {
+            this.id = id;
+            this.name = name;
+            this.description = description;
+            this.startMillis = startMillis;
+        }
+
+        private void addStatus(Status entryStatus) {
+            status = status == null ? entryStatus : Status.max(status, entryStatus);
+        }
+    }
+
+    // Running tests and their nodes, dropped once the top-level test is written
+    private final Map<Long, TestNode> tests = new HashMap<>();
+    private final Map<Long, TestNode> rootTests = new LinkedHashMap<>();
+    private final Map<Status, Integer> counts = new EnumMap<>(Status.class);
+    private final SimpleDateFormat timeFormat = new SimpleDateFormat("HH:mm:ss.SSS");
+    private JsonObject runInfo = new JsonObject();
+    private int testCount;
+    private int incomplete;
+    private int skippedLines;
+
+    private NdjsonReportRenderer() {
+    }
+
+    /**
+     * Render an event log to HTML
+     *
+     * @param eventLog NDJSON event log
+     * @param htmlFile HTML file to write
+     * @return The HTML file
+     * @throws APIException If the log cannot be read or the report cannot be written
+     */
+    public static Path render(Path eventLog, Path htmlFile) throws APIException {
+        NdjsonReportRenderer renderer = new NdjsonReportRenderer();
+        try {
+            Path parent = htmlFile.toAbsolutePath().getParent();
+            Files.createDirectories(parent);
+            Path body = Files.createTempFile(parent, htmlFile.getFileName().toString(), ".part");
+            try {
+                try (Writer out = Files.newBufferedWriter(body, StandardCharsets.UTF_8)) {
+                    renderer.read(eventLog, out);
+                }
+                try (Writer out = Files.newBufferedWriter(htmlFile, StandardCharsets.UTF_8);
+                     Reader in = Files.newBufferedReader(body, StandardCharsets.UTF_8)) {
+                    renderer.writeHeader(out);
+                    in.transferTo(out);
+                    out.write("</body></html>\n");
+                }
+            } finally {
+                Files.deleteIfExists(body);
+            }
+        } catch (IOException e) {
+            throw new APIException("Failed to render " + eventLog + " to " + htmlFile + ": " + e.getMessage(), e);
+        }
+        if (renderer.skippedLines > 0) {
+            logger.warn("Skipped " + renderer.skippedLines + " malformed lines in " + eventLog);
+        }
+        logger.info("Rendered HTML report: " + htmlFile);
+        return htmlFile;
+    }
+
+    /**
+     * Get the default HTML path for an event log: the same name with an .html extension
+     *
+     * @param eventLog NDJSON event log
+     * @return HTML report path
+     */
+    public static Path defaultOutput(Path eventLog) {
+        String fileName = eventLog.getFileName().toString();
+        int dot = fileName.lastIndexOf('.');
+        return eventLog.resolveSibling((dot > 0 ? fileName.substring(0, dot) : fileName) + ".html");
+    }
+
+    public static void main(String[] args) {
+        if (args.length < 1 || args.length > 2) {
+            System.err.println("Usage: NdjsonReportRenderer <events.ndjson> [report.html]");
+            System.exit(2);
+        }
+        Path eventLog = Paths.get(args[0]);
+        render(eventLog, args.length == 2 ? Paths.get(args[1]) : defaultOutput(eventLog));
+    }
+
+    private void read(Path eventLog, Writer body) throws IOException {
+        try (BufferedReader reader = Files.newBufferedReader(eventLog, StandardCharsets.UTF_8)) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (line.isEmpty()) {
+                    continue;
+                }
+                JsonObject event;
+                try {
+                    event = JsonParser.parseString(line).getAsJsonObject();
+                    apply(event);
+                } catch (RuntimeException e) {
+                    // Truncated or foreign line; render everything else
+                    skippedLines++;
+                    continue;
+                }
+                if ("end".equals(string(event, "type"))) {
+                    TestNode test = rootTests.remove(event.get("test").getAsLong());
+                    if (test != null) {
+                        writeRoot(body, test);
+                    }
+                }
+            }
+        }
+        // Tests the log never ended, in start order
+        for (TestNode test : rootTests.values()) {
+            writeRoot(body, test);
+        }
+        rootTests.clear();
+    }
+
+    private void apply(JsonObject event) {
+        String type = event.get("type").getAsString();
+        long timestamp = event.get("ts").getAsLong();
+        if ("run".equals(type)) {
+            runInfo = event;
+            return;
+        }
+
+        long testId = event.get("test").getAsLong();
+        if ("start".equals(type)) {
+            TestNode test = new TestNode(testId, string(event, "name"), string(event, "description"), timestamp);
+            tests.put(testId, test);
+            TestNode parent = event.has("parent") ? tests.get(event.get("parent").getAsLong()) : null;
+            if (parent != null) {
+                parent.children.add(test);
+            } else {
+                rootTests.put(testId, test);
+            }
+            return;
+        }
+
+        TestNode test = tests.get(testId);
+        if (test == null) {
+            skippedLines++;
+            return;
+        }
+        switch (type) {
+            case "end":
+                test.endMillis = timestamp;
+                break;
+            case "attribute":
+                test.attributes.add(string(event, "attribute").toLowerCase() + ": " + string(event, "value"));
+                break;
+            case "log":
+                addEntry(test, event, timestamp, string(event, "message"));
+                break;
+            case "markup":
+                addEntry(test, event, timestamp, string(event, "html"));
+                break;
+            case "code":
+                addEntry(test, event, timestamp, "<pre class=\"code " + escape(string(event, "language").toLowerCase())
+                        + "\">" + escape(string(event, "code")) + "</pre>");
+                break;
+            case "exception":
+                addEntry(test, event, timestamp, "<pre>" + escape(string(event, "stackTrace")) + "</pre>");
+                break;
+            case "media":
+                String path = escape(string(event, "path"));
+                addEntry(test, event, timestamp, escape(string(event, "title"))
+                        + "<br><a href=\"" + path + "\"><img src=\"" + path + "\" style=\"max-width:320px\"></a>");
+                break;
+            default:
+                skippedLines++;
+        }
+    }
+
+    private void addEntry(TestNode test, JsonObject event, long timestamp, String html) {
+        Status status = Status.valueOf(string(event, "status"));
+        test.addStatus(status);
+        test.entries.add("<tr><td class=\"time\">" + timeFormat.format(new Date(timestamp)) + "</td>"
+                + "<td><span class=\"badge " + status.name().toLowerCase() + "\">" + status.name() + "</span></td>"
+                + "<td>" + html + "</td></tr>");
+    }
+
+    private static String string(JsonObject event, String name) {
+        JsonElement value = event.get(name);
+        return value == null || value.isJsonNull() ? "" : value.getAsString();
+    }
+
+    /**
+     * Write a finished (or never finished) top-level test and forget it
+     */
+    private void writeRoot(Writer out, TestNode test) throws IOException {
+        counts.merge(resolveStatus(test), 1, Integer::sum);
+        testCount++;
+        if (test.endMillis == 0) {
+            incomplete++;
+        }
+        writeTest(out, test, test.endMillis);
+        forget(test);
+    }
+
+    private void forget(TestNode test) {
+        tests.remove(test.id);
+        for (TestNode child : test.children) {
+            forget(child);
+        }
+    }
+
+    private void writeHeader(Writer out) throws IOException {
+        String title = escape(string(runInfo, "title"));
+        out.write("<!DOCTYPE html>\n<html><head><meta charset=\"utf-8\"><title>" + title + "</title>\n");
+        out.write("<style>body{font-family:sans-serif;margin:20px;color:#222}table{border-collapse:collapse;width:100%}"
+                + "td{border-bottom:1px solid #eee;padding:4px 8px;vertical-align:top}td.time{white-space:nowrap;color:#888}"
+                + "pre{white-space:pre-wrap;margin:0}details{margin:6px 0 6px 16px}summary{cursor:pointer;padding:4px}"
+                + ".badge{display:inline-block;padding:1px 6px;border-radius:3px;color:#fff;font-size:12px}"
+                + ".pass{background:#2e7d32}.fail{background:#c62828}.skip{background:#757575}"
+                + ".warning{background:#ef6c00}.info{background:#1565c0}.incomplete{background:#6a1b9a}"
+                + ".meta{color:#666;font-size:13px}</style></head><body>\n");
+        out.write("<h1>" + title + "</h1>\n<p class=\"meta\">Environment: " + escape(string(runInfo, "environment"))
+                + " | Base URL: " + escape(string(runInfo, "baseUrl"))
+                + " | Java: " + escape(string(runInfo, "java")) + " | OS: " + escape(string(runInfo, "os")) + "</p>\n");
+
+        out.write("<p>Tests: " + testCount);
+        for (Map.Entry<Status, Integer> count : counts.entrySet()) {
+            out.write(" | <span class=\"badge " + count.getKey().name().toLowerCase() + "\">" + count.getKey().name()
+                    + "</span> " + count.getValue());
+        }
+        if (incomplete > 0) {
+            out.write(" | <span class=\"badge incomplete\">INCOMPLETE</span> " + incomplete);
+        }
+        if (skippedLines > 0) {
+            out.write(" | " + skippedLines + " malformed log lines skipped");
+        }
+        out.write("</p>\n");
+    }
+
+    private void writeTest(Writer out, TestNode test, long rootEndMillis) throws IOException {
+        Status status = resolveStatus(test);
+        // Nodes end with their top-level test
+        long endMillis = test.endMillis != 0 ? test.endMillis : rootEndMillis;
+
+        out.write("<details><summary><span class=\"badge " + status.name().toLowerCase() + "\">" + status.name()
+                + "</span> <b>" + escape(test.name) + "</b>");
+        if (endMillis != 0) {
+            out.write(" <span class=\"meta\">" + (endMillis - test.startMillis) + " ms</span>");
+        } else {
+            out.write(" <span class=\"badge incomplete\">INCOMPLETE</span>");
+        }
+        out.write("</summary>\n");
+        if (!test.description.isEmpty()) {
+            out.write("<p class=\"meta\">" + escape(test.description) + "</p>\n");
+        }
+        if (!test.attributes.isEmpty()) {
+            out.write("<p class=\"meta\">" + escape(String.join(", ", test.attributes)) + "</p>\n");
+        }
+        if (!test.entries.isEmpty()) {
+            out.write("<table>\n");
+            for (String entry : test.entries) {
+                out.write(entry);
+                out.write('\n');
+            }
+            out.write("</table>\n");
+        }
+        for (TestNode child : test.children) {
+            writeTest(out, child, endMillis);
+        }
+        out.write("</details>\n");
+    }
+
+    /**
+     * A test's status is the most severe status of its own entries and its nodes;
+     * as in Extent, a test with only INFO entries passes
+     */
+    private static Status resolveStatus(TestNode test) {
+        Status status = test.status != null && test.status != Status.INFO ? test.status : Status.PASS;
+        for (TestNode child : test.children) {
+            status = Status.max(status, resolveStatus(child));
+        }
+        return status;
+    }
+
+    private static String escape(String text) {
+        StringBuilder sb = new StringBuilder(text.length());
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            switch (c) {
+                case '<':
+                    sb.append("&lt;");
+                    break;
+                case '>':
+                    sb.append("&gt;");
+                    break;
+                case '&':
+                    sb.append("&amp;");
+                    break;
+                case '"':
+                    sb.append("&quot;");
+                    break;
+                default:
+                    sb.append(c);
+            }
+        }
+        return sb.toString();
+    }
+}
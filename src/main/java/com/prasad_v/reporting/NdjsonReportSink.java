@@ -0,0 +1,267 @@
+package com.prasad_v.reporting;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.io.StringWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.text.SimpleDateFormat;
+import java.util.Date;
+
+import com.aventstack.extentreports.Status;
+import com.aventstack.extentreports.markuputils.CodeLanguage;
+import com.aventstack.extentreports.markuputils.Markup;
+import com.google.gson.stream.JsonWriter;
+import com.prasad_v.config.ConfigurationManager;
+import com.prasad_v.exceptions.APIException;
+import com.prasad_v.logging.CustomLogger;
+
+/**
+ * Report sink that appends every report event to an NDJSON event log (one JSON object per line).
+ * Nothing is kept in memory: events are written as they are applied and the file is flushed
+ * after every dispatcher batch, so heap use stays flat over long runs and a run that is killed
+ * still leaves a log with everything up to its last batch. NdjsonReportRenderer turns the log
+ * into an HTML report; this happens on close when report.ndjson.render is true, and can be done
+ * by hand for logs from runs that did not finish.
+ * The log is written to report.ndjson.dir as report-events_&lt;timestamp&gt;.ndjson.
+ */
+final class NdjsonReportSink implements ReportSink {
+
+    private static final CustomLogger logger = new CustomLogger(NdjsonReportSink.class);
+    private static final String DEFAULT_REPORT_DIR = "test-output/report-events";
+
+    private final Path eventLog;
+    private final Writer writer;
+    private final boolean renderOnClose;
+    private boolean closed;
+
+    /**
+     * Create a new event log in the configured directory
+     *
+     * @throws APIException If the event log cannot be created
+     */
+    NdjsonReportSink() throws APIException {
+        this(Paths.get(ConfigurationManager.getInstance().getProperty("report.ndjson.dir", DEFAULT_REPORT_DIR)),
+                ConfigurationManager.getInstance().getBooleanProperty("report.ndjson.render", true));
+    }
+
+    /**
+     * Create a new event log in a given directory
+     *
+     * @param directory Directory to write the event log to
+     * @param renderOnClose Whether to render the HTML report on close
+     * @throws APIException If the event log cannot be created
+     */
+    NdjsonReportSink(Path directory, boolean renderOnClose) throws APIException {
+        ConfigurationManager config = ConfigurationManager.getInstance();
+        String timestamp = new SimpleDateFormat("yyyyMMdd_HHmmss").format(new Date());
+        this.eventLog = directory.resolve("report-events_" + timestamp + ".ndjson");
+        this.renderOnClose = renderOnClose;
+        try {
+            Files.createDirectories(directory);
+            this.writer = Files.newBufferedWriter(eventLog, StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            throw new APIException("Failed to create report event log " + eventLog + ": " + e.getMessage(), e);
+        }
+        writeRunInfo(config);
+        logger.info("Writing report events to: " + eventLog);
+    }
+
+    /**
+     * Get the path of the event log
+     *
+     * @return Event log path
+     */
+    Path getEventLog() {
+        return eventLog;
+    }
+
+    @Override
+    public Path getReportDirectory() {
+        return eventLog.getParent();
+    }
+
+    private void writeRunInfo(ConfigurationManager config) {
+        try {
+            JsonWriter json = begin("run", 0);
+            json.name("environment").value(config.getProperty("environment", "N/A"));
+            json.name("baseUrl").value(config.getProperty("api.base.url", "N/A"));
+            json.name("title").value(config.getProperty("extent.report.title", "API Automation Test Results"));
+            json.name("java").value(System.getProperty("java.version"));
+            json.name("os").value(System.getProperty("os.name"));
+            end(json);
+        } catch (IOException e) {
+            throw new APIException("Failed to write report event log " + eventLog + ": " + e.getMessage(), e);
+        }
+    }
+
+    @Override
+    public void startTest(long testId, long parentId, String name, String description) {
+        try {
+            JsonWriter json = begin("start", testId);
+            if (parentId != 0) {
+                json.name("parent").value(parentId);
+            }
+            json.name("name").value(name);
+            json.name("description").value(description);
+            end(json);
+        } catch (IOException e) {
+            throw writeFailed(e);
+        }
+    }
+
+    @Override
+    public void endTest(long testId) {
+        try {
+            end(begin("end", testId));
+        } catch (IOException e) {
+            throw writeFailed(e);
+        }
+    }
+
+    @Override
+    public void log(long testId, Status status, String message) {
+        try {
+            JsonWriter json = begin("log", testId);
+            json.name("status").value(status.name());
+            json.name("message").value(message);
+            end(json);
+        } catch (IOException e) {
+            throw writeFailed(e);
+        }
+    }
+
+    @Override
+    public void log(long testId, Status status, Markup markup) {
+        try {
+            JsonWriter json = begin("markup", testId);
+            json.name("status").value(status.name());
+            json.name("html").value(markup.getMarkup());
+            end(json);
+        } catch (IOException e) {
+            throw writeFailed(e);
+        }
+    }
+
+    @Override
+    public void log(long testId, Status status, Throwable throwable) {
+        StringWriter stackTrace = new StringWriter();
+        throwable.printStackTrace(new PrintWriter(stackTrace));
+        try {
+            JsonWriter json = begin("exception", testId);
+            json.name("status").value(status.name());
+            json.name("exception").value(throwable.getClass().getName());
+            json.name("message").value(throwable.getMessage());
+            json.name("stackTrace").value(stackTrace.toString());
+            end(json);
+        } catch (IOException e) {
+            throw writeFailed(e);
+        }
+    }
+
+    @Override
+    public void logCode(long testId, Status status, String code, CodeLanguage language) {
+        try {
+            JsonWriter json = begin("code", testId);
+            json.name("status").value(status.name());
+            json.name("language").value(language.name());
+            json.name("code").value(code);
+            end(json);
+        } catch (IOException e) {
+            throw writeFailed(e);
+        }
+    }
+
+    @Override
+    public void attachMedia(long testId, Status status, String title, String path) {
+        try {
+            JsonWriter json = begin("media", testId);
+            json.name("status").value(status.name());
+            json.name("title").value(title);
+            json.name("path").value(path);
+            end(json);
+        } catch (IOException e) {
+            throw writeFailed(e);
+        }
+    }
+
+    @Override
+    public void assign(long testId, Attribute attribute, String value) {
+        try {
+            JsonWriter json = begin("attribute", testId);
+            json.name("attribute").value(attribute.name());
+            json.name("value").value(value);
+            end(json);
+        } catch (IOException e) {
+            throw writeFailed(e);
+        }
+    }
+
+    @Override
+    public void endBatch() {
+        flush();
+    }
+
+    @Override
+    public void flush() {
+        if (closed) {
+            return;
+        }
+        try {
+            writer.flush();
+        } catch (IOException e) {
+            logger.warn("Failed to flush report event log " + eventLog + ": " + e.getMessage());
+        }
+    }
+
+    @Override
+    public void close() {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        try {
+            writer.close();
+        } catch (IOException e) {
+            logger.warn("Failed to close report event log " + eventLog + ": " + e.getMessage());
+        }
+        logger.info("Report events saved to: " + eventLog);
+
+        if (renderOnClose) {
+            try {
+                NdjsonReportRenderer.render(eventLog, NdjsonReportRenderer.defaultOutput(eventLog));
+            } catch (APIException e) {
+                logger.error("Failed to render HTML report from " + eventLog + ": " + e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Start an event line. JsonWriter writes straight through to the buffered file writer.
+     */
+    private JsonWriter begin(String type, long testId) throws IOException {
+        if (closed) {
+            throw new IOException("event log is closed");
+        }
+        JsonWriter json = new JsonWriter(writer);
+        json.beginObject();
+        json.name("type").value(type);
+        json.name("ts").value(System.currentTimeMillis());
+        if (testId != 0) {
+            json.name("test").value(testId);
+        }
+        return json;
+    }
+
+    private void end(JsonWriter json) throws IOException {
+        json.endObject();
+        writer.write('\n');
+    }
+
+    private APIException writeFailed(IOException e) {
+        return new APIException("Failed to write report event log " + eventLog + ": " + e.getMessage(), e);
+    }
+}
@@ -0,0 +1,73 @@
+package com.prasad_v.reporting;
+
+import com.aventstack.extentreports.Status;
+import com.aventstack.extentreports.markuputils.CodeLanguage;
+import com.aventstack.extentreports.markuputils.Markup;
+
+/**
+ * A single log entry for a test, captured on the test thread and written to the report sink
+ * later by the ReportEventDispatcher.
+ * The target test is resolved when the event is created, so events stay attached to the
+ * right test even though they are applied on another thread.
+ */
+final class ReportEvent implements Runnable {
+
+    private final ReportSink sink;
+    private final long testId;
+    private final Status status;
+    private final String message;
+    private final Markup markup;
+    private final Throwable throwable;
+    private final String mediaPath;
+    private final CodeLanguage language;
+
+    private ReportEvent(ReportSink sink, long testId, Status status, String message, Markup markup,
+                        Throwable throwable, String mediaPath, CodeLanguage language) {
+        this.sink = sink;
+        this.testId = testId;
+        this.status = status;
+        this.message = message;
+        this.markup = markup;
+        this.throwable = throwable;
+        this.mediaPath = mediaPath;
+        this.language = language;
+    }
+
+    static ReportEvent message(ReportSink sink, long testId, Status status, String message) {
+        return new ReportEvent(sink, testId, status, message, null, null, null, null);
+    }
+
+    static ReportEvent markup(ReportSink sink, long testId, Status status, Markup markup) {
+        return new ReportEvent(sink, testId, status, null, markup, null, null, null);
+    }
+
+    static ReportEvent throwable(ReportSink sink, long testId, Status status, Throwable throwable) {
+        return new ReportEvent(sink, testId, status, null, null, throwable, null, null);
+    }
+
+    static ReportEvent media(ReportSink sink, long testId, Status status, String title, String mediaPath) {
+        return new ReportEvent(sink, testId, status, title, null, null, mediaPath, null);
+    }
+
+    static ReportEvent code(ReportSink sink, long testId, Status status, String code, CodeLanguage language) {
+        return new ReportEvent(sink, testId, status, code, null, null, null, language);
+    }
+
+    /**
+     * Write the entry to the sink
+     */
+    @Override
+    public void run() {
+        if (markup != null) {
+            sink.log(testId, status, markup);
+        } else if (throwable != null) {
+            sink.log(testId, status, throwable);
+        } else if (language != null) {
+            sink.logCode(testId, status, message, language);
+        } else if (mediaPath != null) {
+            sink.attachMedia(testId, status, message, mediaPath);
+        } else {
+            sink.log(testId, status, message);
+        }
+    }
+}
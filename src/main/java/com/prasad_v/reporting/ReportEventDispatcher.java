@@ -0,0 +1,241 @@
+package com.prasad_v.reporting;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+import com.prasad_v.config.ConfigurationManager;
+import com.prasad_v.exceptions.APIException;
+import com.prasad_v.logging.CustomLogger;
+
+/**
+ * ReportEventDispatcher applies report updates on a single background thread.
+ * Test threads only enqueue events; the dispatcher drains them in batches and applies them
+ * to the report sink (selected with report.backend) in submission order. Because every change
+ * to the report goes through this one thread, report logging needs no locks and never makes
+ * test threads wait on each other. Report flushes requested at the end of tests are coalesced
+ * and written at most once per report.flush.interval.ms.
+ * The queue is bounded (report.queue.capacity); when it is full, test threads wait for space
+ * rather than dropping report entries.
+ */
+public final class ReportEventDispatcher {
+
+    private static final CustomLogger logger = new CustomLogger(ReportEventDispatcher.class);
+    private static final long IDLE_POLL_MS = 200;
+
+    private static final ReportEventDispatcher INSTANCE = new ReportEventDispatcher();
+
+    private final ReportSink sink;
+    private final BlockingQueue<Runnable> queue;
+    private final int batchSize;
+    private final long flushIntervalMs;
+    private final Thread worker;
+    private final LongAdder dispatchedEvents = new LongAdder();
+
+    private volatile boolean flushRequested;
+    private long lastFlushMillis;
+
+    private ReportEventDispatcher() {
+        ConfigurationManager config = ConfigurationManager.getInstance();
+        this.queue = new ArrayBlockingQueue<>(Math.max(1, config.getIntProperty("report.queue.capacity", 10000)));
+        this.batchSize = Math.max(1, config.getIntProperty("report.batch.size", 256));
+        this.flushIntervalMs = config.getIntProperty("report.flush.interval.ms", 5000);
+        this.sink = createSink(config.getProperty("report.backend", "extent"));
+
+        worker = new Thread(this::dispatchLoop, "extent-report-dispatcher");
+        worker.setDaemon(true);
+        worker.start();
+
+        // Write whatever is still queued if the suite ends without an explicit flush
+        Runtime.getRuntime().addShutdownHook(new Thread(this::drainAndFlush, "extent-report-shutdown"));
+    }
+
+    private static ReportSink createSink(String backend) {
+        switch (backend.trim().toLowerCase()) {
+            case "extent":
+                return new ExtentReportSink();
+            case "ndjson":
+                try {
+                    return new NdjsonReportSink();
+                } catch (APIException e) {
+                    logger.error(e.getMessage() + "; falling back to the extent report backend");
+                    return new ExtentReportSink();
+                }
+            default:
+                logger.warn("Unknown report.backend '" + backend + "' (expected extent or ndjson); using extent");
+                return new ExtentReportSink();
+        }
+    }
+
+    /**
+     * Get the dispatcher
+     *
+     * @return ReportEventDispatcher instance
+     */
+    public static ReportEventDispatcher getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * Get the report sink that events are applied to. Sink methods may only be called on the
+     * dispatcher thread, i.e. from events passed to post() or call().
+     *
+     * @return Report sink
+     */
+    public ReportSink getSink() {
+        return sink;
+    }
+
+    /**
+     * Queue a report update. Waits for space if the queue is full.
+     *
+     * @param event Update to apply on the dispatcher thread
+     */
+    public void post(Runnable event) {
+        if (Thread.currentThread() == worker) {
+            applySafely(event);
+            return;
+        }
+        try {
+            queue.put(event);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            logger.warn("Interrupted while queuing report event; event dropped");
+        }
+    }
+
+    /**
+     * Run an action on the dispatcher thread after all previously queued events, and wait for its result.
+     * The caller waits for every event queued before it by any thread, so this is only for the
+     * rare reads of report state, such as ExtentTestManager.getTest().
+     *
+     * @param action Action to run
+     * @param <T> Result type
+     * @return The action's result
+     */
+    public <T> T call(Callable<T> action) {
+        if (Thread.currentThread() == worker) {
+            try {
+                return action.call();
+            } catch (Exception e) {
+                throw new IllegalStateException("Report action failed: " + e.getMessage(), e);
+            }
+        }
+        FutureTask<T> task = new FutureTask<>(action);
+        post(task);
+        try {
+            return task.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for report action", e);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            throw new IllegalStateException("Report action failed: " + cause.getMessage(), cause);
+        }
+    }
+
+    /**
+     * Ask for the report to be written once the queue is idle. Repeated requests are coalesced.
+     */
+    public void requestFlush() {
+        flushRequested = true;
+    }
+
+    /**
+     * Apply all queued events and write the report now
+     */
+    public void flush() {
+        call(() -> {
+            flushReport();
+            return null;
+        });
+    }
+
+    /**
+     * Get the number of events waiting to be applied
+     *
+     * @return Queue depth
+     */
+    public int getQueueDepth() {
+        return queue.size();
+    }
+
+    /**
+     * Get the number of events applied since startup
+     *
+     * @return Dispatched event count
+     */
+    public long getDispatchedEvents() {
+        return dispatchedEvents.sum();
+    }
+
+    private void dispatchLoop() {
+        List<Runnable> batch = new ArrayList<>(batchSize);
+        while (true) {
+            try {
+                Runnable first = queue.poll(IDLE_POLL_MS, TimeUnit.MILLISECONDS);
+                if (first != null) {
+                    batch.add(first);
+                    queue.drainTo(batch, batchSize - 1);
+                    for (Runnable event : batch) {
+                        applySafely(event);
+                    }
+                    sink.endBatch();
+                    dispatchedEvents.add(batch.size());
+                    batch.clear();
+                }
+                if (flushRequested && queue.isEmpty()
+                        && System.currentTimeMillis() - lastFlushMillis >= flushIntervalMs) {
+                    flushReport();
+                }
+            } catch (InterruptedException e) {
+                return;
+            } catch (RuntimeException e) {
+                logger.error("Report dispatcher error: " + e.getMessage(), e);
+            }
+        }
+    }
+
+    private void applySafely(Runnable event) {
+        try {
+            event.run();
+        } catch (RuntimeException e) {
+            logger.warn("Failed to apply report event: " + e.getMessage());
+        }
+    }
+
+    private void flushReport() {
+        flushRequested = false;
+        lastFlushMillis = System.currentTimeMillis();
+        sink.flush();
+    }
+
+    /**
+     * Apply remaining events on the calling thread and write the final report. Used at JVM shutdown.
+     */
+    private void drainAndFlush() {
+        // Stop the dispatcher first so events are never applied from two threads
+        worker.interrupt();
+        try {
+            worker.join(TimeUnit.SECONDS.toMillis(5));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+
+        List<Runnable> remaining = new ArrayList<>();
+        queue.drainTo(remaining);
+        for (Runnable event : remaining) {
+            applySafely(event);
+        }
+        sink.close();
+    }
+}
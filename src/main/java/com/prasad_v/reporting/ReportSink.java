@@ -0,0 +1,88 @@
+package com.prasad_v.reporting;
+
+import java.nio.file.Path;
+
+import com.aventstack.extentreports.Status;
+import com.aventstack.extentreports.markuputils.CodeLanguage;
+import com.aventstack.extentreports.markuputils.Markup;
+
+/**
+ * ReportSink is the report backend that report events are written to.
+ * Tests are identified by ids assigned by ExtentTestManager. All methods are called from the
+ * ReportEventDispatcher thread only, so implementations need no synchronization.
+ * The backend is selected with report.backend: "extent" keeps the whole run in an in-memory
+ * Extent model that is written as HTML on flush; "ndjson" appends every event to an event log
+ * on disk as it arrives and renders the HTML from that log when the run ends.
+ */
+public interface ReportSink {
+
+    /**
+     * Test attributes that can be assigned to a test
+     */
+    enum Attribute {
+        CATEGORY,
+        AUTHOR,
+        DEVICE
+    }
+
+    /**
+     * Get the directory the report is written to. Links in report entries, such as stored
+     * body blobs, are relative to it. May be called from any thread.
+     *
+     * @return Report directory
+     */
+    Path getReportDirectory();
+
+    /**
+     * Start a test, or a node when parentId is not 0
+     *
+     * @param testId Id of the new test
+     * @param parentId Id of the parent test, or 0 for a top-level test
+     * @param name Test name
+     * @param description Test description
+     */
+    void startTest(long testId, long parentId, String name, String description);
+
+    /**
+     * End a top-level test and its nodes
+     *
+     * @param testId Id of the test
+     */
+    void endTest(long testId);
+
+    void log(long testId, Status status, String message);
+
+    void log(long testId, Status status, Markup markup);
+
+    void log(long testId, Status status, Throwable throwable);
+
+    /**
+     * Log a code block, such as a JSON or XML body. The raw code is passed rather than
+     * Extent markup, so backends that do not load Extent's scripts can still show it.
+     *
+     * @param testId Id of the test
+     * @param status Entry status
+     * @param code Code to show
+     * @param language Language of the code
+     */
+    void logCode(long testId, Status status, String code, CodeLanguage language);
+
+    void attachMedia(long testId, Status status, String title, String path);
+
+    void assign(long testId, Attribute attribute, String value);
+
+    /**
+     * Called after each batch of events has been applied
+     */
+    void endBatch();
+
+    /**
+     * Write everything received so far to the report
+     */
+    void flush();
+
+    /**
+     * Write the final report. No events are delivered after this call.
+     */
+    void close();
+}
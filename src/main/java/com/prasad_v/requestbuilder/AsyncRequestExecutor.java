@@ -0,0 +1,147 @@
+package com.prasad_v.requestbuilder;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import com.prasad_v.config.ConfigurationManager;
+import com.prasad_v.exceptions.APIException;
+import com.prasad_v.logging.CustomLogger;
+
+import io.restassured.response.Response;
+
+/**
+ * AsyncRequestExecutor runs RequestBuilder requests concurrently on virtual threads.
+ * The number of requests in flight at any time is bounded by a semaphore so that a
+ * large batch cannot open an unbounded number of connections against the API.
+ */
+public class AsyncRequestExecutor {
+
+    private static final CustomLogger logger = new CustomLogger(AsyncRequestExecutor.class);
+    private static final int DEFAULT_MAX_IN_FLIGHT = 256;
+
+    private static AsyncRequestExecutor instance;
+
+    private final ExecutorService executor;
+    private final Semaphore inFlightPermits;
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final int maxInFlight;
+
+    /**
+     * Constructor creates an executor with the given in-flight limit
+     *
+     * @param maxInFlight Maximum number of requests allowed to be in flight at once
+     */
+    public AsyncRequestExecutor(int maxInFlight) {
+        if (maxInFlight <= 0) {
+            throw new IllegalArgumentException("Max in-flight requests must be positive: " + maxInFlight);
+        }
+        this.maxInFlight = maxInFlight;
+        this.inFlightPermits = new Semaphore(maxInFlight, true);
+        this.executor = Executors.newVirtualThreadPerTaskExecutor();
+    }
+
+    /**
+     * Get the shared executor, sized from the async.max.inflight property
+     *
+     * @return AsyncRequestExecutor instance
+     */
+    public static synchronized AsyncRequestExecutor getInstance() {
+        if (instance == null) {
+            int maxInFlight = ConfigurationManager.getInstance()
+                    .getIntProperty("async.max.inflight", DEFAULT_MAX_IN_FLIGHT);
+            instance = new AsyncRequestExecutor(maxInFlight);
+            logger.info("Initialized async request executor with max in-flight requests: " + maxInFlight);
+        }
+        return instance;
+    }
+
+    /**
+     * Submit a request for asynchronous execution
+     *
+     * @param requestBuilder Fully configured request to execute
+     * @return Future completed with the response, or exceptionally with an APIException
+     */
+    public CompletableFuture<Response> submit(RequestBuilder requestBuilder) {
+        CompletableFuture<Response> future = new CompletableFuture<>();
+        executor.execute(() -> {
+            try {
+                inFlightPermits.acquire();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                future.completeExceptionally(new APIException("Interrupted while waiting for an in-flight slot", e));
+                return;
+            }
+
+            inFlight.incrementAndGet();
+            try {
+                future.complete(requestBuilder.execute());
+            } catch (Throwable t) {
+                future.completeExceptionally(t);
+            } finally {
+                inFlight.decrementAndGet();
+                inFlightPermits.release();
+            }
+        });
+        return future;
+    }
+
+    /**
+     * Submit a batch of requests and wait for all of them as a single future
+     *
+     * @param requestBuilders Requests to execute
+     * @return Future completed with responses in the same order as the requests
+     */
+    public CompletableFuture<List<Response>> submitAll(List<RequestBuilder> requestBuilders) {
+        List<CompletableFuture<Response>> futures = new ArrayList<>(requestBuilders.size());
+        for (RequestBuilder requestBuilder : requestBuilders) {
+            futures.add(submit(requestBuilder));
+        }
+
+        return CompletableFuture.allOf(futures.toArray(new CompletableFuture<?>[0]))
+                .thenApply(ignored -> {
+                    List<Response> responses = new ArrayList<>(futures.size());
+                    for (CompletableFuture<Response> future : futures) {
+                        responses.add(future.join());
+                    }
+                    return responses;
+                })
+                .exceptionally(e -> {
+                    Throwable cause = e instanceof CompletionException && e.getCause() != null ? e.getCause() : e;
+                    if (cause instanceof APIException) {
+                        throw (APIException) cause;
+                    }
+                    throw new APIException("Failed to execute API request batch: " + cause.getMessage(), cause);
+                });
+    }
+
+    /**
+     * Get the number of requests currently being executed
+     *
+     * @return Number of in-flight requests
+     */
+    public int getInFlightCount() {
+        return inFlight.get();
+    }
+
+    /**
+     * Get the configured in-flight limit
+     *
+     * @return Maximum number of concurrent requests
+     */
+    public int getMaxInFlight() {
+        return maxInFlight;
+    }
+
+    /**
+     * Stop accepting new requests. Requests already submitted are allowed to finish.
+     */
+    public void shutdown() {
+        executor.shutdown();
+    }
+}
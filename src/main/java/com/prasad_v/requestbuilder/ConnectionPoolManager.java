@@ -0,0 +1,226 @@
+package com.prasad_v.requestbuilder;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.http.client.params.ClientPNames;
+import org.apache.http.conn.ConnectionKeepAliveStrategy;
+import org.apache.http.impl.client.DefaultConnectionKeepAliveStrategy;
+import org.apache.http.impl.client.DefaultHttpClient;
+import org.apache.http.impl.conn.PoolingClientConnectionManager;
+import org.apache.http.impl.conn.SchemeRegistryFactory;
+import org.apache.http.params.CoreConnectionPNames;
+import org.apache.http.pool.PoolStats;
+
+import com.prasad_v.config.ConfigChangeListener;
+import com.prasad_v.config.ConfigurationManager;
+import com.prasad_v.config.EnvironmentManager;
+import com.prasad_v.logging.CustomLogger;
+
+import io.restassured.RestAssured;
+import io.restassured.config.HttpClientConfig;
+import io.restassured.config.RestAssuredConfig;
+import io.restassured.filter.Filter;
+import io.restassured.response.Response;
+
+/**
+ * ConnectionPoolManager owns the process-wide pooled HTTP client used by RequestBuilder and BaseTest.
+ * Reusing one client keeps connections (and their TLS sessions) alive between requests
+ * instead of opening a new connection and handshake for every test.
+ * Pool limits (http.pool.max.total, http.pool.max.per.route) follow configuration reloads;
+ * the other pool settings apply when the pool is created.
+ * A connection stays leased until its response body has been read, so requests sent through
+ * the pool should add getResponseBufferingFilter(); waiting for a free connection is bounded by
+ * http.pool.acquire.timeout.ms so an exhausted pool fails a request instead of hanging it.
+ */
+@SuppressWarnings("deprecation")
+public class ConnectionPoolManager {
+
+    private static final CustomLogger logger = new CustomLogger(ConnectionPoolManager.class);
+
+    // Reads the whole body into the response, which releases the connection back to the pool
+    private static final Filter RESPONSE_BUFFERING_FILTER = (requestSpec, responseSpec, context) -> {
+        Response response = context.next(requestSpec, responseSpec);
+        response.asByteArray();
+        return response;
+    };
+
+    private static ConnectionPoolManager instance;
+
+    private final PoolingClientConnectionManager connectionManager;
+    private final DefaultHttpClient httpClient;
+    private final ScheduledExecutorService evictor;
+    private final RestAssuredConfig restAssuredConfig;
+    private final ConfigChangeListener poolLimitsListener = this::applyPoolLimits;
+
+    private ConnectionPoolManager() {
+        ConfigurationManager config = ConfigurationManager.getInstance();
+        EnvironmentManager envManager = EnvironmentManager.getInstance();
+
+        int maxTotal = config.getIntProperty("http.pool.max.total", 200);
+        int maxPerRoute = config.getIntProperty("http.pool.max.per.route", 50);
+        long keepAliveMs = config.getIntProperty("http.pool.keepalive.ms", 30000);
+        long idleTimeoutMs = config.getIntProperty("http.pool.idle.timeout.ms", 60000);
+        long evictionIntervalMs = config.getIntProperty("http.pool.eviction.interval.ms", 5000);
+        long acquireTimeoutMs = config.getIntProperty("http.pool.acquire.timeout.ms", 30000);
+
+        connectionManager = new PoolingClientConnectionManager(SchemeRegistryFactory.createSystemDefault());
+        connectionManager.setMaxTotal(maxTotal);
+        connectionManager.setDefaultMaxPerRoute(maxPerRoute);
+
+        httpClient = new DefaultHttpClient(connectionManager);
+        httpClient.setKeepAliveStrategy(createKeepAliveStrategy(keepAliveMs));
+
+        evictor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "http-pool-evictor");
+            thread.setDaemon(true);
+            return thread;
+        });
+        evictor.scheduleWithFixedDelay(() -> {
+            connectionManager.closeExpiredConnections();
+            connectionManager.closeIdleConnections(idleTimeoutMs, TimeUnit.MILLISECONDS);
+        }, evictionIntervalMs, evictionIntervalMs, TimeUnit.MILLISECONDS);
+
+        HttpClientConfig httpClientConfig = HttpClientConfig.httpClientConfig()
+                .reuseHttpClientInstance()
+                .httpClientFactory(() -> httpClient)
+                .setParam(CoreConnectionPNames.CONNECTION_TIMEOUT, envManager.getConnectionTimeout())
+                .setParam(CoreConnectionPNames.SO_TIMEOUT, envManager.getSocketTimeout())
+                .setParam(ClientPNames.CONN_MANAGER_TIMEOUT, acquireTimeoutMs);
+        restAssuredConfig = RestAssured.config().httpClient(httpClientConfig);
+
+        config.addChangeListener(poolLimitsListener);
+
+        logger.info("Initialized HTTP connection pool: maxTotal=" + maxTotal + ", maxPerRoute=" + maxPerRoute
+                + ", keepAlive=" + keepAliveMs + "ms, idleTimeout=" + idleTimeoutMs + "ms"
+                + ", acquireTimeout=" + acquireTimeoutMs + "ms");
+    }
+
+    /**
+     * Resize the pool when its limits change in the configuration
+     *
+     * @param changedKeys Changed configuration keys
+     */
+    private void applyPoolLimits(Set<String> changedKeys) {
+        if (!changedKeys.contains("http.pool.max.total") && !changedKeys.contains("http.pool.max.per.route")) {
+            return;
+        }
+        ConfigurationManager config = ConfigurationManager.getInstance();
+        int maxTotal = config.getIntProperty("http.pool.max.total", 200);
+        int maxPerRoute = config.getIntProperty("http.pool.max.per.route", 50);
+        connectionManager.setMaxTotal(maxTotal);
+        connectionManager.setDefaultMaxPerRoute(maxPerRoute);
+        logger.info("Resized HTTP connection pool: maxTotal=" + maxTotal + ", maxPerRoute=" + maxPerRoute);
+    }
+
+    /**
+     * Get the singleton instance of ConnectionPoolManager
+     *
+     * @return ConnectionPoolManager instance
+     */
+    public static synchronized ConnectionPoolManager getInstance() {
+        if (instance == null) {
+            instance = new ConnectionPoolManager();
+        }
+        return instance;
+    }
+
+    /**
+     * Check if the pool has been created, without creating it
+     *
+     * @return true if getInstance() has been called and the pool is not shut down
+     */
+    public static synchronized boolean isInitialized() {
+        return instance != null;
+    }
+
+    /**
+     * Check if connection pooling is enabled (http.pool.enabled)
+     *
+     * @return true if requests should use the shared pooled client
+     */
+    public static boolean isEnabled() {
+        return ConfigurationManager.getInstance().getBooleanProperty("http.pool.enabled", true);
+    }
+
+    /**
+     * Build a keep-alive strategy that honours the server's Keep-Alive header but never
+     * keeps a connection longer than the configured maximum
+     *
+     * @param maxKeepAliveMs Maximum keep-alive duration in milliseconds
+     * @return Keep-alive strategy
+     */
+    private static ConnectionKeepAliveStrategy createKeepAliveStrategy(long maxKeepAliveMs) {
+        return (response, context) -> {
+            long serverKeepAlive = DefaultConnectionKeepAliveStrategy.INSTANCE.getKeepAliveDuration(response, context);
+            return serverKeepAlive > 0 ? Math.min(serverKeepAlive, maxKeepAliveMs) : maxKeepAliveMs;
+        };
+    }
+
+    /**
+     * Get a RestAssuredConfig that routes requests through the pooled client
+     *
+     * @return RestAssuredConfig using the shared client
+     */
+    public RestAssuredConfig getRestAssuredConfig() {
+        return restAssuredConfig;
+    }
+
+    /**
+     * Get a filter that reads each response body as soon as the response arrives.
+     * RestAssured otherwise reads the body lazily, and a response whose body is never read
+     * (e.g. a test that only checks the status code) keeps its pooled connection leased.
+     * The body stays available to the caller from memory.
+     *
+     * @return Shared response buffering filter
+     */
+    public static Filter getResponseBufferingFilter() {
+        return RESPONSE_BUFFERING_FILTER;
+    }
+
+    /**
+     * Get current pool statistics across all routes
+     *
+     * @return Pool statistics (leased, pending, available, max)
+     */
+    public PoolStats getPoolStats() {
+        return connectionManager.getTotalStats();
+    }
+
+    /**
+     * Get current pool statistics as a map, suitable for logging or metrics export
+     *
+     * @return Map of statistic name to value
+     */
+    public Map<String, Integer> getPoolMetrics() {
+        PoolStats stats = connectionManager.getTotalStats();
+        Map<String, Integer> metrics = new LinkedHashMap<>();
+        metrics.put("leased", stats.getLeased());
+        metrics.put("pending", stats.getPending());
+        metrics.put("available", stats.getAvailable());
+        metrics.put("max", stats.getMax());
+        return metrics;
+    }
+
+    /**
+     * Close all pooled connections and stop the idle connection evictor.
+     * RequestBuilder drops its cached configuration, so later requests use a new pool.
+     */
+    public static void shutdown() {
+        synchronized (ConnectionPoolManager.class) {
+            if (instance != null) {
+                logger.info("Shutting down HTTP connection pool. Final stats: " + instance.getPoolMetrics());
+                ConfigurationManager.getInstance().removeChangeListener(instance.poolLimitsListener);
+                instance.evictor.shutdownNow();
+                instance.connectionManager.shutdown();
+                instance = null;
+            }
+        }
+        // Outside the pool lock: RequestBuilder takes its own lock before asking for the pool
+        RequestBuilder.resetDefaultConfig();
+    }
+}
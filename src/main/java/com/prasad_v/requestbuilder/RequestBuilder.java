@@ -2,7 +2,10 @@ package com.prasad_v.requestbuilder;
 
 import java.io.File;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 
 import org.json.JSONObject;
 
@@ -12,6 +15,9 @@ import com.prasad_v.enums.RequestType;
 import com.prasad_v.exceptions.APIException;
 import com.prasad_v.interceptors.RequestResponseInterceptor;
 import com.prasad_v.logging.CustomLogger;
+import com.prasad_v.metrics.FrameworkMetrics;
+import com.prasad_v.retry.RetryBudget;
+import com.prasad_v.retry.RetryPolicy;
 
 import io.restassured.RestAssured;
 import io.restassured.config.EncoderConfig;
@@ -25,22 +31,26 @@ import io.restassured.specification.RequestSpecification;
 /**
  * RequestBuilder provides a fluent interface to build and execute API requests.
  * It integrates with HeaderManager and AuthenticationManager for request preparation.
+ * A fresh RequestSpecification is created for every execution, so a configured
+ * builder can be executed repeatedly and concurrently via executeAsync().
  */
 public class RequestBuilder {
 
     private static final CustomLogger logger = new CustomLogger(RequestBuilder.class);
+    private static volatile RestAssuredConfig defaultConfig;
 
-    private RequestSpecification requestSpec;
     private String baseUrl;
     private String path;
     private Map<String, String> queryParams;
     private Map<String, String> formParams;
     private Map<String, Object> pathParams;
+    private Map<String, File> multiPartFiles;
     private Object requestBody;
     private HeaderManager headerManager;
     private AuthenticationManager authManager;
     private boolean logRequest = true;
     private boolean logResponse = true;
+    private boolean retry = true;
     private RequestType requestType;
 
     /**
@@ -55,6 +65,7 @@ public class RequestBuilder {
         queryParams = new HashMap<>();
         formParams = new HashMap<>();
         pathParams = new HashMap<>();
+        multiPartFiles = new LinkedHashMap<>();
 
         // Get base URL from environment
         ConfigurationManager configManager = ConfigurationManager.getInstance();
@@ -64,30 +75,66 @@ public class RequestBuilder {
 
         // Default request type
         requestType = RequestType.GET;
+    }
 
-        // Initialize RestAssured spec with config
-        initializeRequestSpec();
+    /**
+     * Get the shared RestAssured configuration. It is built once per process and,
+     * when http.pool.enabled is set, routes requests through the pooled HTTP client.
+     *
+     * @return Shared RestAssuredConfig
+     */
+    private static RestAssuredConfig getDefaultConfig() {
+        RestAssuredConfig config = defaultConfig;
+        if (config == null) {
+            synchronized (RequestBuilder.class) {
+                config = defaultConfig;
+                if (config == null) {
+                    EncoderConfig encoderConfig = new EncoderConfig()
+                            .appendDefaultContentCharsetToContentTypeIfUndefined(false)
+                            .defaultContentCharset("UTF-8");
+
+                    LogConfig logConfig = new LogConfig()
+                            .enableLoggingOfRequestAndResponseIfValidationFails(LogDetail.ALL);
+
+                    RestAssuredConfig baseConfig = ConnectionPoolManager.isEnabled()
+                            ? ConnectionPoolManager.getInstance().getRestAssuredConfig()
+                            : RestAssured.config();
+
+                    config = baseConfig
+                            .encoderConfig(encoderConfig)
+                            .logConfig(logConfig);
+                    defaultConfig = config;
+                }
+            }
+        }
+        return config;
     }
 
     /**
-     * Initialize the RestAssured RequestSpecification with default configuration
+     * Drop the shared RestAssured configuration so the next request builds it again.
+     * Called when the connection pool it refers to is shut down.
      */
-    private void initializeRequestSpec() {
-        EncoderConfig encoderConfig = new EncoderConfig()
-                .appendDefaultContentCharsetToContentTypeIfUndefined(false)
-                .defaultContentCharset("UTF-8");
+    static synchronized void resetDefaultConfig() {
+        defaultConfig = null;
+    }
 
-        LogConfig logConfig = new LogConfig()
-                .enableLoggingOfRequestAndResponseIfValidationFails(LogDetail.ALL);
+    /**
+     * Create a RestAssured RequestSpecification with default configuration.
+     * Called once per execution so concurrent executions never share a spec.
+     *
+     * @return New request specification
+     */
+    private RequestSpecification initializeRequestSpec() {
+        RestAssuredConfig config = getDefaultConfig();
 
-        RestAssuredConfig config = RestAssured.config()
-                .encoderConfig(encoderConfig)
-                .logConfig(logConfig);
+        RequestSpecification requestSpec = RestAssured.given().config(config);
 
-        requestSpec = RestAssured.given().config(config);
+        // Read every response body so its pooled connection is released, even when only the status is checked
+        requestSpec.filter(ConnectionPoolManager.getResponseBufferingFilter());
 
-        // Add request/response interceptor for logging and monitoring
-        requestSpec.filter(new RequestResponseInterceptor());
+        // Add request/response interceptor for logging and monitoring; it samples and size-caps logging
+        requestSpec.filter(new RequestResponseInterceptor(logRequest, logResponse));
+        return requestSpec;
     }
 
     /**
@@ -267,7 +314,7 @@ public class RequestBuilder {
      * @return Current RequestBuilder instance for method chaining
      */
     public RequestBuilder addFile(String controlName, File file) {
-        requestSpec.multiPart(controlName, file);
+        multiPartFiles.put(controlName, file);
         logger.debug("Added file: " + file.getName() + " as " + controlName);
         return this;
     }
@@ -366,7 +413,8 @@ public class RequestBuilder {
     }
 
     /**
-     * Enable/disable request logging
+     * Enable/disable request logging.
+     * When enabled, failed calls are always logged and successful calls 1 in logging.sample.rate.
      *
      * @param logRequest Whether to log request details
      * @return Current RequestBuilder instance for method chaining
@@ -377,7 +425,8 @@ public class RequestBuilder {
     }
 
     /**
-     * Enable/disable response logging
+     * Enable/disable response logging.
+     * Response bodies are cut at logging.body.max.chars.
      *
      * @param logResponse Whether to log response details
      * @return Current RequestBuilder instance for method chaining
@@ -388,88 +437,184 @@ public class RequestBuilder {
     }
 
     /**
-     * Build and execute the API request
+     * Enable/disable retrying retryable statuses in execute().
+     * Disable it where every response must be observed as sent, e.g. load runs.
+     *
+     * @param retry Whether to retry under RetryPolicy
+     * @return Current RequestBuilder instance for method chaining
+     */
+    public RequestBuilder retry(boolean retry) {
+        this.retry = retry;
+        return this;
+    }
+
+    /**
+     * Check whether execute() retries retryable statuses
+     *
+     * @return true if retries are enabled
+     */
+    public boolean isRetry() {
+        return retry;
+    }
+
+    /**
+     * Build and execute the API request.
+     * Idempotent requests that get a retryable status (429, 502, 503 by default) are sent again
+     * after an exponential, jittered backoff or the server's Retry-After, within the JVM-wide
+     * retry budget; see RetryPolicy and RetryBudget. The last response is returned either way.
      *
      * @return RestAssured Response object
      * @throws APIException If there's an error during request execution
      */
     public Response execute() throws APIException {
         try {
-            // Add headers
-            requestSpec.headers(headerManager.getHeaders());
-
-            // Add query parameters
-            for (Map.Entry<String, String> entry : queryParams.entrySet()) {
-                requestSpec.queryParam(entry.getKey(), entry.getValue());
+            String url = buildUrl();
+            // A fresh spec per attempt, so nothing from the failed attempt carries over
+            if (!retry) {
+                return send(buildRequestSpec(), url);
             }
+            RetryPolicy retryPolicy = RetryPolicy.getInstance();
+            RetryBudget retryBudget = RetryBudget.getInstance();
+            retryBudget.recordRequest();
 
-            // Add form parameters
-            for (Map.Entry<String, String> entry : formParams.entrySet()) {
-                requestSpec.formParam(entry.getKey(), entry.getValue());
+            Response response = send(buildRequestSpec(), url);
+            if (!retryPolicy.allowsRetry(requestType)) {
+                return response;
             }
+            for (int attempt = 0; attempt < retryPolicy.getMaxRetries(); attempt++) {
+                int statusCode = response.getStatusCode();
+                if (!retryPolicy.isRetryableStatus(statusCode)) {
+                    return response;
+                }
+                long delayMs = retryPolicy.getDelayMillis(attempt, response.getHeader("Retry-After"));
+                if (delayMs < 0) {
+                    logger.warn("Not retrying {} {} (status {}): Retry-After {} exceeds request.retry.max.delay",
+                            requestType, url, statusCode, response.getHeader("Retry-After"));
+                    return response;
+                }
+                if (!retryBudget.tryAcquire()) {
+                    FrameworkMetrics.requestRetryBudgetExhausted();
+                    logger.warn("Not retrying {} {} (status {}): retry budget exhausted", requestType, url, statusCode);
+                    return response;
+                }
 
-            // Add path parameters
-            for (Map.Entry<String, Object> entry : pathParams.entrySet()) {
-                requestSpec.pathParam(entry.getKey(), entry.getValue());
+                FrameworkMetrics.requestRetried();
+                logger.info("Retrying {} {} in {} ms after status {} (retry {} of {})",
+                        requestType, url, delayMs, statusCode, attempt + 1, retryPolicy.getMaxRetries());
+                Thread.sleep(delayMs);
+                response = send(buildRequestSpec(), url);
             }
+            return response;
 
-            // Add request body if present
-            if (requestBody != null) {
-                requestSpec.body(requestBody);
-            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new APIException("Interrupted while waiting to retry API request", e);
+        } catch (Exception e) {
+            logger.error("Error executing API request: " + e.getMessage(), e);
+            throw new APIException("Failed to execute API request: " + e.getMessage(), e);
+        }
+    }
 
-            // Add logging if enabled
-            if (logRequest) {
-                requestSpec.log().all();
-            }
+    /**
+     * Create a request specification with the configured headers, parameters, files and body
+     *
+     * @return New request specification
+     */
+    private RequestSpecification buildRequestSpec() {
+        RequestSpecification requestSpec = initializeRequestSpec();
 
-            // Build full URL
-            String url = baseUrl;
-            if (path != null && !path.isEmpty()) {
-                if (!url.endsWith("/") && !path.startsWith("/")) {
-                    url += "/";
-                }
-                url += path;
-            }
+        // Add headers
+        requestSpec.headers(headerManager.getHeaders());
 
-            // Execute request based on type
-            Response response;
-            switch (requestType) {
-                case GET:
-                    response = requestSpec.get(url);
-                    break;
-                case POST:
-                    response = requestSpec.post(url);
-                    break;
-                case PUT:
-                    response = requestSpec.put(url);
-                    break;
-                case DELETE:
-                    response = requestSpec.delete(url);
-                    break;
-                case PATCH:
-                    response = requestSpec.patch(url);
-                    break;
-                case HEAD:
-                    response = requestSpec.head(url);
-                    break;
-                case OPTIONS:
-                    response = requestSpec.options(url);
-                    break;
-                default:
-                    throw new APIException("Unsupported request type: " + requestType);
-            }
+        // Add query parameters
+        for (Map.Entry<String, String> entry : queryParams.entrySet()) {
+            requestSpec.queryParam(entry.getKey(), entry.getValue());
+        }
 
-            // Log response if enabled
-            if (logResponse) {
-                response.then().log().all();
-            }
+        // Add form parameters
+        for (Map.Entry<String, String> entry : formParams.entrySet()) {
+            requestSpec.formParam(entry.getKey(), entry.getValue());
+        }
 
-            return response;
+        // Add path parameters
+        for (Map.Entry<String, Object> entry : pathParams.entrySet()) {
+            requestSpec.pathParam(entry.getKey(), entry.getValue());
+        }
 
-        } catch (Exception e) {
-            logger.error("Error executing API request: " + e.getMessage(), e);
-            throw new APIException("Failed to execute API request: " + e.getMessage(), e);
+        // Add multipart files
+        for (Map.Entry<String, File> entry : multiPartFiles.entrySet()) {
+            requestSpec.multiPart(entry.getKey(), entry.getValue());
         }
+
+        // Add request body if present
+        if (requestBody != null) {
+            requestSpec.body(requestBody);
+        }
+        return requestSpec;
+    }
+
+    /**
+     * Build the full request URL from the base URL and path
+     *
+     * @return Request URL
+     */
+    private String buildUrl() {
+        String url = baseUrl;
+        if (path != null && !path.isEmpty()) {
+            if (!url.endsWith("/") && !path.startsWith("/")) {
+                url += "/";
+            }
+            url += path;
+        }
+        return url;
+    }
+
+    /**
+     * Send the request with the configured HTTP method
+     *
+     * @param requestSpec Request specification
+     * @param url Request URL
+     * @return Response
+     * @throws APIException If the request type is not supported
+     */
+    private Response send(RequestSpecification requestSpec, String url) throws APIException {
+        switch (requestType) {
+            case GET:
+                return requestSpec.get(url);
+            case POST:
+                return requestSpec.post(url);
+            case PUT:
+                return requestSpec.put(url);
+            case DELETE:
+                return requestSpec.delete(url);
+            case PATCH:
+                return requestSpec.patch(url);
+            case HEAD:
+                return requestSpec.head(url);
+            case OPTIONS:
+                return requestSpec.options(url);
+            default:
+                throw new APIException("Unsupported request type: " + requestType);
+        }
+    }
+
+    /**
+     * Execute the API request asynchronously on a virtual thread.
+     * The builder must not be modified until the returned future completes.
+     *
+     * @return Future completed with the RestAssured Response
+     */
+    public CompletableFuture<Response> executeAsync() {
+        return AsyncRequestExecutor.getInstance().submit(this);
+    }
+
+    /**
+     * Execute several requests concurrently on virtual threads
+     *
+     * @param requestBuilders Requests to execute
+     * @return Future completed with responses in the same order as the requests
+     */
+    public static CompletableFuture<List<Response>> executeAll(List<RequestBuilder> requestBuilders) {
+        return AsyncRequestExecutor.getInstance().submitAll(requestBuilders);
     }
-}
\ No newline at end of file
+}
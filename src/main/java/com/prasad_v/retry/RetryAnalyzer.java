@@ -1,53 +1,59 @@
 package com.prasad_v.retry;
 
-import java.lang.reflect.Constructor;
-import java.lang.reflect.Method;
-
-import org.testng.IAnnotationTransformer;
-import org.testng.annotations.ITestAnnotation;
+import org.testng.IRetryAnalyzer;
+import org.testng.ITestResult;
 
 import com.prasad_v.config.ConfigurationManager;
 import com.prasad_v.logging.CustomLogger;
+import com.prasad_v.metrics.FrameworkMetrics;
 
 /**
- * RetryListener implements IAnnotationTransformer to automatically apply
- * the RetryAnalyzer to all test methods at runtime.
+ * RetryAnalyzer re-runs a failed test up to retry.count times.
+ * TestNG creates one analyzer per test method invocation, so the attempt count is per test.
+ * Before each re-run it waits for RetryPolicy's exponential, jittered backoff, so tests that
+ * failed together against a struggling service do not all retry at the same moment.
+ * Every retry is counted in FrameworkMetrics.
  */
-public class RetryListener implements IAnnotationTransformer {
+public class RetryAnalyzer implements IRetryAnalyzer {
+
+    private static final CustomLogger logger = new CustomLogger(RetryAnalyzer.class);
 
-    private static final CustomLogger logger = new CustomLogger(RetryListener.class);
+    private int retryCount = 0;
+    private int maxRetryCount = ConfigurationManager.getInstance().getIntProperty("retry.count", 2);
 
     /**
-     * This method is called by TestNG to give the transformer an opportunity to modify
-     * a TestNG annotation read from your test classes.
+     * Decide whether a failed test should be run again
      *
-     * @param annotation The annotation that will be used for the test
-     * @param testClass The test class
-     * @param testConstructor The test constructor
-     * @param testMethod The test method
+     * @param result The failed test result
+     * @return true if the test should be retried
      */
     @Override
-    public void transform(ITestAnnotation annotation, Class testClass, Constructor testConstructor, Method testMethod) {
-        // Set RetryAnalyzer for all test methods
-        if (annotation.getRetryAnalyzer() == null) {
-            boolean retryEnabled = Boolean.parseBoolean(
-                    ConfigurationManager.getInstance().getConfigProperty("retry.enabled", "true"));
-
-            if (retryEnabled) {
-                logger.info("Setting retry analyzer for: " + testMethod.getName());
-                RetryAnalyzer analyzer = new RetryAnalyzer();
-
-                // Get retry count from configuration or use default
-                String retryCountStr = ConfigurationManager.getInstance().getConfigProperty("retry.count", "2");
-                try {
-                    int retryCount = Integer.parseInt(retryCountStr);
-                    analyzer.setMaxRetryCount(retryCount);
-                } catch (NumberFormatException e) {
-                    logger.warn("Invalid retry count in configuration. Using default value of 2");
-                }
-
-                annotation.setRetryAnalyzer(RetryAnalyzer.class);
+    public boolean retry(ITestResult result) {
+        if (retryCount < maxRetryCount) {
+            long delayMs = RetryPolicy.getInstance().getBackoffMillis(retryCount);
+            retryCount++;
+            FrameworkMetrics.testRetried();
+            logger.info("Retrying test {} in {} ms (retry {} of {})", result.getName(), delayMs, retryCount, maxRetryCount);
+            try {
+                Thread.sleep(delayMs);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return false;
             }
+            return true;
         }
+        return false;
+    }
+
+    public int getRetryCount() {
+        return retryCount;
+    }
+
+    public int getMaxRetryCount() {
+        return maxRetryCount;
+    }
+
+    public void setMaxRetryCount(int maxRetryCount) {
+        this.maxRetryCount = maxRetryCount;
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,136 @@
+package com.prasad_v.retry;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import com.prasad_v.config.ConfigurationManager;
+
+/**
+ * RetryBudget caps request retries across the whole JVM at a share of the request traffic,
+ * so a degraded service is not hit by a retry storm from many parallel tests.
+ * It is a token bucket: every request adds request.retry.budget.percent / 100 of a token and
+ * every retry takes one whole token. The bucket also refills at
+ * request.retry.budget.min.per.second, so low-traffic runs can still retry, and holds at most
+ * ten seconds' worth of that rate (but never less than ten tokens) to bound bursts.
+ * Balances are kept in thousandths of a token in an AtomicLong, so recording a request is a
+ * single lock-free update.
+ * Like RetryPolicy, getInstance() is rebuilt when request.retry.budget.* keys change; the new
+ * budget keeps the old balance, capped at its own maximum.
+ */
+public final class RetryBudget {
+
+    private static final long TOKEN = 1000;
+    private static final String KEY_PREFIX = "request.retry.budget.";
+
+    private static volatile RetryBudget instance;
+
+    private final long depositPerRequest;
+    private final long refillPerSecond;
+    private final long maxBalance;
+    private final AtomicLong balance;
+    private final AtomicLong lastRefillNanos = new AtomicLong(System.nanoTime());
+
+    /**
+     * Create a retry budget
+     *
+     * @param percent Retries allowed per 100 requests
+     * @param minRetriesPerSecond Retries allowed per second regardless of traffic
+     */
+    RetryBudget(int percent, int minRetriesPerSecond) {
+        this.depositPerRequest = Math.max(0, percent) * TOKEN / 100;
+        this.refillPerSecond = Math.max(0, minRetriesPerSecond) * TOKEN;
+        this.maxBalance = Math.max(10 * TOKEN, 10 * refillPerSecond);
+        this.balance = new AtomicLong(refillPerSecond);
+    }
+
+    /**
+     * Get the JVM-wide retry budget
+     *
+     * @return Retry budget
+     */
+    public static RetryBudget getInstance() {
+        RetryBudget budget = instance;
+        if (budget == null) {
+            synchronized (RetryBudget.class) {
+                budget = instance;
+                if (budget == null) {
+                    budget = fromConfig();
+                    instance = budget;
+                    ConfigurationManager.getInstance().addChangeListener(changedKeys -> {
+                        if (changedKeys.stream().anyMatch(key -> key.startsWith(KEY_PREFIX))) {
+                            RetryBudget previous = instance;
+                            RetryBudget updated = fromConfig();
+                            // Credit the refill the old budget earned since it was last used
+                            previous.refill();
+                            updated.balance.set(Math.min(updated.maxBalance, previous.balance.get()));
+                            instance = updated;
+                        }
+                    });
+                }
+            }
+        }
+        return budget;
+    }
+
+    private static RetryBudget fromConfig() {
+        ConfigurationManager config = ConfigurationManager.getInstance();
+        return new RetryBudget(
+                config.getIntProperty("request.retry.budget.percent", 20),
+                config.getIntProperty("request.retry.budget.min.per.second", 5));
+    }
+
+    /**
+     * Record an original (non-retry) request
+     */
+    public void recordRequest() {
+        if (depositPerRequest > 0) {
+            deposit(depositPerRequest);
+        }
+    }
+
+    /**
+     * Take a token for one retry
+     *
+     * @return true if the retry fits in the budget
+     */
+    public boolean tryAcquire() {
+        refill();
+        long current;
+        do {
+            current = balance.get();
+            if (current < TOKEN) {
+                return false;
+            }
+        } while (!balance.compareAndSet(current, current - TOKEN));
+        return true;
+    }
+
+    /**
+     * Get the number of retries currently available
+     *
+     * @return Whole tokens in the bucket
+     */
+    public long getAvailableRetries() {
+        refill();
+        return balance.get() / TOKEN;
+    }
+
+    private void refill() {
+        if (refillPerSecond == 0) {
+            return;
+        }
+        long now = System.nanoTime();
+        long last = lastRefillNanos.get();
+        // Gaps are capped at a minute so the product cannot overflow; ten seconds already fills the bucket
+        long elapsedNanos = Math.min(now - last, TimeUnit.SECONDS.toNanos(60));
+        long amount = elapsedNanos * refillPerSecond / TimeUnit.SECONDS.toNanos(1);
+        // Only the thread that advances the refill time adds the tokens for that interval
+        if (amount > 0 && lastRefillNanos.compareAndSet(last, now)) {
+            deposit(amount);
+        }
+    }
+
+    private void deposit(long amount) {
+        balance.accumulateAndGet(amount, (current, added) -> Math.min(maxBalance, current + added));
+    }
+}
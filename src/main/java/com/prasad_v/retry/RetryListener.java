@@ -4,7 +4,9 @@ import java.lang.reflect.Constructor;
 import java.lang.reflect.Method;
 
 import org.testng.IAnnotationTransformer;
+import org.testng.IRetryAnalyzer;
 import org.testng.annotations.ITestAnnotation;
+import org.testng.annotations.Test;
 
 import com.prasad_v.config.ConfigurationManager;
 import com.prasad_v.logging.CustomLogger;
@@ -12,11 +14,18 @@ import com.prasad_v.logging.CustomLogger;
 /**
  * RetryListener implements IAnnotationTransformer to automatically apply
  * the RetryAnalyzer to all test methods at runtime.
+ * retry.enabled is read once when TestNG creates the listener; the retry count is read by
+ * each RetryAnalyzer.
  */
 public class RetryListener implements IAnnotationTransformer {
 
     private static final CustomLogger logger = new CustomLogger(RetryListener.class);
 
+    // What getRetryAnalyzerClass() reports when @Test declares no retryAnalyzer
+    private static final Object NO_RETRY_ANALYZER = defaultRetryAnalyzer();
+
+    private final boolean retryEnabled = ConfigurationManager.getInstance().getBooleanProperty("retry.enabled", true);
+
     /**
      * This method is called by TestNG to give the transformer an opportunity to modify
      * a TestNG annotation read from your test classes.
@@ -28,26 +37,19 @@ public class RetryListener implements IAnnotationTransformer {
      */
     @Override
     public void transform(ITestAnnotation annotation, Class testClass, Constructor testConstructor, Method testMethod) {
-        // Set RetryAnalyzer for all test methods
-        if (annotation.getRetryAnalyzer() == null) {
-            boolean retryEnabled = Boolean.parseBoolean(
-                    ConfigurationManager.getInstance().getConfigProperty("retry.enabled", "true"));
-
-            if (retryEnabled) {
-                logger.info("Setting retry analyzer for: " + testMethod.getName());
-                RetryAnalyzer analyzer = new RetryAnalyzer();
-
-                // Get retry count from configuration or use default
-                String retryCountStr = ConfigurationManager.getInstance().getConfigProperty("retry.count", "2");
-                try {
-                    int retryCount = Integer.parseInt(retryCountStr);
-                    analyzer.setMaxRetryCount(retryCount);
-                } catch (NumberFormatException e) {
-                    logger.warn("Invalid retry count in configuration. Using default value of 2");
-                }
-
-                annotation.setRetryAnalyzer(RetryAnalyzer.class);
-            }
+        // Set RetryAnalyzer for all test methods that don't declare their own
+        Class<? extends IRetryAnalyzer> current = annotation.getRetryAnalyzerClass();
+        if (retryEnabled && (current == null || current == NO_RETRY_ANALYZER)) {
+            logger.debug("Setting retry analyzer for: {}", testMethod != null ? testMethod.getName() : testClass);
+            annotation.setRetryAnalyzer(RetryAnalyzer.class);
+        }
+    }
+
+    private static Object defaultRetryAnalyzer() {
+        try {
+            return Test.class.getMethod("retryAnalyzer").getDefaultValue();
+        } catch (NoSuchMethodException e) {
+            return null;
         }
     }
-}
\ No newline at end of file
+}
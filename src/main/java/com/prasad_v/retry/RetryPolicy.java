@@ -0,0 +1,176 @@
+package com.prasad_v.retry;
+
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
+
+import com.prasad_v.config.ConfigurationManager;
+import com.prasad_v.enums.RequestType;
+import com.prasad_v.exceptions.APIException;
+
+/**
+ * RetryPolicy decides whether a request is retried and how long to wait before retrying.
+ * Only idempotent request types are retried, and only for the status codes in
+ * request.retry.statuses (429, 502 and 503 by default), at most request.retry.count times.
+ * Waits use exponential backoff with full jitter: a random delay between 0 and
+ * min(request.retry.max.delay, request.retry.delay * 2^attempt), so parallel tests that fail
+ * together do not retry together. A Retry-After header (seconds or HTTP date) is honoured
+ * instead; if it asks for more than request.retry.max.delay the request is not retried.
+ * The policy is immutable. getInstance() returns the policy for the current configuration and
+ * is rebuilt when request.retry.* keys change, so call sites never parse configuration.
+ */
+public final class RetryPolicy {
+
+    private static final String KEY_PREFIX = "request.retry.";
+
+    private static volatile RetryPolicy instance;
+
+    private final boolean enabled;
+    private final int maxRetries;
+    private final long baseDelayMs;
+    private final long maxDelayMs;
+    private final Set<Integer> retryableStatuses;
+
+    RetryPolicy(boolean enabled, int maxRetries, long baseDelayMs, long maxDelayMs,
+                Set<Integer> retryableStatuses) {
+        this.enabled = enabled;
+        this.maxRetries = Math.max(0, maxRetries);
+        this.baseDelayMs = Math.max(0, baseDelayMs);
+        this.maxDelayMs = Math.max(this.baseDelayMs, maxDelayMs);
+        this.retryableStatuses = retryableStatuses;
+    }
+
+    /**
+     * Get the retry policy for the current configuration
+     *
+     * @return Retry policy
+     * @throws APIException If request.retry.statuses is invalid
+     */
+    public static RetryPolicy getInstance() throws APIException {
+        RetryPolicy policy = instance;
+        if (policy == null) {
+            synchronized (RetryPolicy.class) {
+                policy = instance;
+                if (policy == null) {
+                    policy = fromConfig();
+                    instance = policy;
+                    ConfigurationManager.getInstance().addChangeListener(changedKeys -> {
+                        if (changedKeys.stream().anyMatch(key -> key.startsWith(KEY_PREFIX))) {
+                            instance = fromConfig();
+                        }
+                    });
+                }
+            }
+        }
+        return policy;
+    }
+
+    private static RetryPolicy fromConfig() throws APIException {
+        ConfigurationManager config = ConfigurationManager.getInstance();
+        Set<Integer> statuses = new HashSet<>();
+        String statusList = config.getProperty("request.retry.statuses", "429,502,503");
+        for (String status : statusList.split(",")) {
+            if (status.trim().isEmpty()) {
+                continue;
+            }
+            try {
+                statuses.add(Integer.parseInt(status.trim()));
+            } catch (NumberFormatException e) {
+                throw new APIException("Invalid value for request.retry.statuses: " + statusList, e);
+            }
+        }
+        return new RetryPolicy(
+                config.getBooleanProperty("request.retry.enabled", true),
+                config.getIntProperty("request.retry.count", 2),
+                config.getIntProperty("request.retry.delay", 1000),
+                config.getIntProperty("request.retry.max.delay", 30000),
+                statuses);
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public int getMaxRetries() {
+        return maxRetries;
+    }
+
+    /**
+     * Check if requests of a type may be retried at all
+     *
+     * @param requestType Request type
+     * @return true if retries are enabled and the request type is idempotent
+     */
+    public boolean allowsRetry(RequestType requestType) {
+        return enabled && maxRetries > 0 && requestType.isIdempotent();
+    }
+
+    /**
+     * Check if a response status should be retried
+     *
+     * @param statusCode Response status code
+     * @return true if the status is in request.retry.statuses
+     */
+    public boolean isRetryableStatus(int statusCode) {
+        return retryableStatuses.contains(statusCode);
+    }
+
+    /**
+     * Get the exponential backoff delay with full jitter for an attempt
+     *
+     * @param attempt Zero-based retry attempt
+     * @return Delay in milliseconds, between 0 and the capped exponential delay
+     */
+    public long getBackoffMillis(int attempt) {
+        long ceiling = (long) Math.min(maxDelayMs, baseDelayMs * Math.pow(2, attempt));
+        return ceiling > 0 ? ThreadLocalRandom.current().nextLong(ceiling + 1) : 0;
+    }
+
+    /**
+     * Get the delay before a retry, honouring the server's Retry-After header
+     *
+     * @param attempt Zero-based retry attempt
+     * @param retryAfter Retry-After header value, or null
+     * @return Delay in milliseconds, or -1 if Retry-After asks for more than request.retry.max.delay
+     */
+    public long getDelayMillis(int attempt, String retryAfter) {
+        long retryAfterMs = parseRetryAfter(retryAfter);
+        if (retryAfterMs < 0) {
+            return getBackoffMillis(attempt);
+        }
+        return retryAfterMs <= maxDelayMs ? retryAfterMs : -1;
+    }
+
+    /**
+     * Parse a Retry-After header: delay-seconds or an HTTP date
+     *
+     * @param retryAfter Header value, or null
+     * @return Delay in milliseconds, or -1 if absent or invalid
+     */
+    static long parseRetryAfter(String retryAfter) {
+        if (retryAfter == null || retryAfter.trim().isEmpty()) {
+            return -1;
+        }
+        String value = retryAfter.trim();
+        try {
+            return Math.max(0, Long.parseLong(value) * 1000);
+        } catch (NumberFormatException e) {
+            // Not delay-seconds; try an HTTP date
+        }
+        try {
+            ZonedDateTime date = ZonedDateTime.parse(value, DateTimeFormatter.RFC_1123_DATE_TIME);
+            return Math.max(0, date.toInstant().toEpochMilli() - System.currentTimeMillis());
+        } catch (DateTimeParseException e) {
+            return -1;
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "RetryPolicy[enabled=" + enabled + ", maxRetries=" + maxRetries + ", baseDelay=" + baseDelayMs
+                + "ms, maxDelay=" + maxDelayMs + "ms, statuses=" + retryableStatuses + "]";
+    }
+}
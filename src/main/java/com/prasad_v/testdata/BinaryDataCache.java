@@ -0,0 +1,471 @@
+package com.prasad_v.testdata;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.AbstractList;
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HexFormat;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.Set;
+
+import org.json.JSONObject;
+
+import com.prasad_v.config.ConfigurationManager;
+import com.prasad_v.logging.CustomLogger;
+
+/**
+ * BinaryDataCache stores parsed test data in a compact, columnar binary file next to the
+ * source file ("users.json" becomes "users.json.tdcache"; Excel sheets add the sheet name and a
+ * hash of it, so sheets whose names differ only in punctuation never share a file).
+ * Later runs memory-map that file instead of parsing XLSX or JSON again: rows are lightweight
+ * views that decode a cell from the mapped buffer only when it is read.
+ * The cache file records the SHA-256 of the source and the exact sheet name, so any content
+ * change invalidates it and a file is never read back for a different sheet.
+ * Only flat rows are cached (strings, numbers, booleans and nulls); datasets with nested
+ * objects or arrays are always parsed from source.
+ * Enabled with testdata.binary.cache.enabled.
+ */
+public class BinaryDataCache {
+
+    private static final CustomLogger logger = new CustomLogger(BinaryDataCache.class);
+
+    private static final int MAGIC = 0x54444331; // "TDC1"
+    private static final int VERSION = 2;
+    private static final String EXTENSION = ".tdcache";
+
+    // Every cell is a fixed-width slot: a type tag followed by 8 bytes of payload
+    private static final int SLOT_SIZE = 9;
+
+    private static final byte TAG_ABSENT = 0;
+    private static final byte TAG_NULL = 1;
+    private static final byte TAG_JSON_NULL = 2;
+    private static final byte TAG_STRING = 3;
+    private static final byte TAG_DOUBLE = 4;
+    private static final byte TAG_BOOLEAN = 5;
+    private static final byte TAG_INTEGER = 6;
+    private static final byte TAG_LONG = 7;
+    private static final byte TAG_BIG_DECIMAL = 8;
+    private static final byte TAG_BIG_INTEGER = 9;
+
+    private BinaryDataCache() {
+    }
+
+    /**
+     * Check if the binary cache is enabled (testdata.binary.cache.enabled)
+     *
+     * @return true if parsed data should be cached in binary files
+     */
+    public static boolean isEnabled() {
+        return ConfigurationManager.getInstance().getBooleanProperty("testdata.binary.cache.enabled", false);
+    }
+
+    /**
+     * Get the cache file for a source file
+     *
+     * @param source Source data file
+     * @param sheetName Sheet name for Excel files, null for other formats
+     * @return Path of the binary cache file
+     */
+    public static Path cacheFileFor(Path source, String sheetName) {
+        String name = source.getFileName().toString();
+        if (sheetName != null) {
+            // The readable part is lossy ("Sheet 1" and "Sheet_1" both become "Sheet_1"); the hash is not
+            String sheetHash = HexFormat.of().formatHex(sha256(sheetName.getBytes(StandardCharsets.UTF_8)), 0, 4);
+            name += "." + sheetName.replaceAll("[^A-Za-z0-9_-]", "_") + "-" + sheetHash;
+        }
+        return source.resolveSibling(name + EXTENSION);
+    }
+
+    /**
+     * Read rows from the binary cache if it exists and matches the source content
+     *
+     * @param source Source data file
+     * @param sheetName Sheet name for Excel files, null for other formats
+     * @return Rows backed by the mapped cache file, or null if there is no valid cache
+     */
+    public static List<Map<String, Object>> read(Path source, String sheetName) {
+        Path cacheFile = cacheFileFor(source, sheetName);
+        if (!Files.isRegularFile(cacheFile)) {
+            return null;
+        }
+
+        try {
+            MappedByteBuffer buffer;
+            try (FileChannel channel = FileChannel.open(cacheFile, StandardOpenOption.READ)) {
+                buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            }
+
+            if (buffer.getInt() != MAGIC || buffer.getInt() != VERSION) {
+                logger.debug("Ignoring binary test data cache with unknown format: " + cacheFile);
+                return null;
+            }
+            byte[] storedHash = new byte[32];
+            buffer.get(storedHash);
+            if (!Arrays.equals(storedHash, sha256(source))) {
+                logger.debug("Binary test data cache is stale: " + cacheFile);
+                return null;
+            }
+            int sheetLength = buffer.getInt();
+            String storedSheet = null;
+            if (sheetLength >= 0) {
+                byte[] sheetBytes = new byte[sheetLength];
+                buffer.get(sheetBytes);
+                storedSheet = new String(sheetBytes, StandardCharsets.UTF_8);
+            }
+            if (!Objects.equals(storedSheet, sheetName)) {
+                logger.debug("Binary test data cache " + cacheFile + " belongs to sheet '" + storedSheet + "'");
+                return null;
+            }
+
+            MappedRows rows = new MappedRows(buffer);
+            logger.info("Loaded " + rows.size() + " rows of test data from binary cache: " + cacheFile);
+            return rows;
+        } catch (IOException | RuntimeException e) {
+            logger.warn("Ignoring unreadable binary test data cache " + cacheFile + ": " + e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * Write rows to the binary cache. Datasets with nested values are skipped.
+     * Failures are logged and never fail the test run.
+     *
+     * @param source Source data file the rows were parsed from
+     * @param sheetName Sheet name for Excel files, null for other formats
+     * @param rows Parsed rows
+     */
+    public static void write(Path source, String sheetName, List<Map<String, Object>> rows) {
+        Path cacheFile = cacheFileFor(source, sheetName);
+        try {
+            // Column order: first appearance across all rows
+            Map<String, Integer> columns = new LinkedHashMap<>();
+            for (Map<String, Object> row : rows) {
+                for (Map.Entry<String, Object> cell : row.entrySet()) {
+                    if (!isSupported(cell.getValue())) {
+                        logger.debug("Not caching " + source + ": field '" + cell.getKey() + "' has a nested value");
+                        return;
+                    }
+                    columns.putIfAbsent(cell.getKey(), columns.size());
+                }
+            }
+
+            long slotBytes = (long) rows.size() * columns.size() * SLOT_SIZE;
+            if (slotBytes > Integer.MAX_VALUE / 2) {
+                logger.debug("Not caching " + source + ": dataset too large for a single mapped buffer");
+                return;
+            }
+
+            ByteBuffer slots = ByteBuffer.allocate((int) slotBytes);
+            StringPool pool = new StringPool();
+            int columnIndex = 0;
+            for (String column : columns.keySet()) {
+                int base = columnIndex++ * rows.size() * SLOT_SIZE;
+                for (int i = 0; i < rows.size(); i++) {
+                    Map<String, Object> row = rows.get(i);
+                    slots.position(base + i * SLOT_SIZE);
+                    if (!row.containsKey(column)) {
+                        slots.put(TAG_ABSENT).putLong(0);
+                    } else {
+                        writeCell(slots, pool, row.get(column));
+                    }
+                }
+            }
+
+            Path tempFile = Files.createTempFile(cacheFile.getParent(), cacheFile.getFileName().toString(), ".tmp");
+            try {
+                try (OutputStream fileOut = Files.newOutputStream(tempFile);
+                     DataOutputStream out = new DataOutputStream(new BufferedOutputStream(fileOut))) {
+                    out.writeInt(MAGIC);
+                    out.writeInt(VERSION);
+                    out.write(sha256(source));
+                    if (sheetName == null) {
+                        out.writeInt(-1);
+                    } else {
+                        byte[] sheet = sheetName.getBytes(StandardCharsets.UTF_8);
+                        out.writeInt(sheet.length);
+                        out.write(sheet);
+                    }
+                    out.writeInt(rows.size());
+                    out.writeInt(columns.size());
+                    for (String column : columns.keySet()) {
+                        byte[] name = column.getBytes(StandardCharsets.UTF_8);
+                        out.writeInt(name.length);
+                        out.write(name);
+                    }
+                    out.write(slots.array());
+                    out.write(pool.toByteArray());
+                }
+                // Replace atomically so runs that have the old file mapped keep a consistent view
+                try {
+                    Files.move(tempFile, cacheFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+                } catch (AtomicMoveNotSupportedException e) {
+                    Files.move(tempFile, cacheFile, StandardCopyOption.REPLACE_EXISTING);
+                }
+            } finally {
+                Files.deleteIfExists(tempFile);
+            }
+            logger.debug("Wrote binary test data cache: " + cacheFile);
+        } catch (IOException e) {
+            logger.warn("Failed to write binary test data cache " + cacheFile + ": " + e.getMessage());
+        }
+    }
+
+    private static boolean isSupported(Object value) {
+        return value == null || value == JSONObject.NULL || value instanceof String || value instanceof Double
+                || value instanceof Boolean || value instanceof Integer || value instanceof Long
+                || value instanceof BigDecimal || value instanceof BigInteger;
+    }
+
+    private static void writeCell(ByteBuffer slots, StringPool pool, Object value) {
+        if (value == null) {
+            slots.put(TAG_NULL).putLong(0);
+        } else if (value == JSONObject.NULL) {
+            slots.put(TAG_JSON_NULL).putLong(0);
+        } else if (value instanceof String) {
+            slots.put(TAG_STRING).putLong(pool.offsetOf((String) value));
+        } else if (value instanceof Double) {
+            slots.put(TAG_DOUBLE).putLong(Double.doubleToRawLongBits((Double) value));
+        } else if (value instanceof Boolean) {
+            slots.put(TAG_BOOLEAN).putLong((Boolean) value ? 1 : 0);
+        } else if (value instanceof Integer) {
+            slots.put(TAG_INTEGER).putLong((Integer) value);
+        } else if (value instanceof Long) {
+            slots.put(TAG_LONG).putLong((Long) value);
+        } else if (value instanceof BigDecimal) {
+            slots.put(TAG_BIG_DECIMAL).putLong(pool.offsetOf(value.toString()));
+        } else {
+            slots.put(TAG_BIG_INTEGER).putLong(pool.offsetOf(value.toString()));
+        }
+    }
+
+    private static byte[] sha256(byte[] content) {
+        try {
+            return MessageDigest.getInstance("SHA-256").digest(content);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    private static byte[] sha256(Path file) throws IOException {
+        try (InputStream in = Files.newInputStream(file)) {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            byte[] chunk = new byte[64 * 1024];
+            int read;
+            while ((read = in.read(chunk)) != -1) {
+                digest.update(chunk, 0, read);
+            }
+            return digest.digest();
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    /**
+     * Deduplicating string pool; each entry is a length-prefixed UTF-8 string
+     */
+    private static final class StringPool {
+        private final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        private final DataOutputStream out = new DataOutputStream(bytes);
+        private final Map<String, Integer> offsets = new HashMap<>();
+
+        private int offsetOf(String value) {
+            Integer offset = offsets.get(value);
+            if (offset == null) {
+                offset = bytes.size();
+                byte[] utf8 = value.getBytes(StandardCharsets.UTF_8);
+                try {
+                    out.writeInt(utf8.length);
+                    out.write(utf8);
+                } catch (IOException e) {
+                    throw new IllegalStateException(e);
+                }
+                offsets.put(value, offset);
+            }
+            return offset;
+        }
+
+        private byte[] toByteArray() {
+            return bytes.toByteArray();
+        }
+    }
+
+    /**
+     * Rows backed by a mapped cache file. Cells are decoded on access.
+     */
+    private static final class MappedRows extends AbstractList<Map<String, Object>> {
+        private final ByteBuffer buffer;
+        private final int rowCount;
+        private final String[] columnNames;
+        private final Map<String, Integer> columnIndex = new HashMap<>();
+        private final int slotsStart;
+        private final int poolStart;
+
+        private MappedRows(ByteBuffer buffer) {
+            this.buffer = buffer;
+            this.rowCount = buffer.getInt();
+            int columnCount = buffer.getInt();
+            this.columnNames = new String[columnCount];
+            for (int i = 0; i < columnCount; i++) {
+                byte[] name = new byte[buffer.getInt()];
+                buffer.get(name);
+                columnNames[i] = new String(name, StandardCharsets.UTF_8);
+                columnIndex.put(columnNames[i], i);
+            }
+            this.slotsStart = buffer.position();
+            this.poolStart = slotsStart + rowCount * columnCount * SLOT_SIZE;
+        }
+
+        @Override
+        public Map<String, Object> get(int row) {
+            if (row < 0 || row >= rowCount) {
+                throw new IndexOutOfBoundsException("Row " + row + " of " + rowCount);
+            }
+            return new MappedRow(this, row);
+        }
+
+        @Override
+        public int size() {
+            return rowCount;
+        }
+
+        private int slot(int row, int column) {
+            return slotsStart + (column * rowCount + row) * SLOT_SIZE;
+        }
+
+        private boolean isPresent(int row, int column) {
+            return buffer.get(slot(row, column)) != TAG_ABSENT;
+        }
+
+        private Object decode(int row, int column) {
+            int slot = slot(row, column);
+            byte tag = buffer.get(slot);
+            long payload = buffer.getLong(slot + 1);
+            switch (tag) {
+                case TAG_JSON_NULL:
+                    return JSONObject.NULL;
+                case TAG_STRING:
+                    return readString(payload);
+                case TAG_DOUBLE:
+                    return Double.longBitsToDouble(payload);
+                case TAG_BOOLEAN:
+                    return payload != 0;
+                case TAG_INTEGER:
+                    return (int) payload;
+                case TAG_LONG:
+                    return payload;
+                case TAG_BIG_DECIMAL:
+                    return new BigDecimal(readString(payload));
+                case TAG_BIG_INTEGER:
+                    return new BigInteger(readString(payload));
+                default:
+                    return null;
+            }
+        }
+
+        private String readString(long offset) {
+            int position = poolStart + (int) offset;
+            int length = buffer.getInt(position);
+            byte[] utf8 = new byte[length];
+            // Absolute bulk get keeps the shared buffer position untouched
+            buffer.get(position + 4, utf8);
+            return new String(utf8, StandardCharsets.UTF_8);
+        }
+    }
+
+    /**
+     * Read-only map view of one cached row
+     */
+    private static final class MappedRow extends AbstractMap<String, Object> {
+        private final MappedRows rows;
+        private final int row;
+
+        private MappedRow(MappedRows rows, int row) {
+            this.rows = rows;
+            this.row = row;
+        }
+
+        @Override
+        public Object get(Object key) {
+            Integer column = rows.columnIndex.get(key);
+            return column != null ? rows.decode(row, column) : null;
+        }
+
+        @Override
+        public boolean containsKey(Object key) {
+            Integer column = rows.columnIndex.get(key);
+            return column != null && rows.isPresent(row, column);
+        }
+
+        @Override
+        public Set<Entry<String, Object>> entrySet() {
+            return new AbstractSet<Entry<String, Object>>() {
+                @Override
+                public Iterator<Entry<String, Object>> iterator() {
+                    return new Iterator<Entry<String, Object>>() {
+                        private int column = advance(0);
+
+                        private int advance(int from) {
+                            int next = from;
+                            while (next < rows.columnNames.length && !rows.isPresent(row, next)) {
+                                next++;
+                            }
+                            return next;
+                        }
+
+                        @Override
+                        public boolean hasNext() {
+                            return column < rows.columnNames.length;
+                        }
+
+                        @Override
+                        public Entry<String, Object> next() {
+                            if (!hasNext()) {
+                                throw new NoSuchElementException();
+                            }
+                            Entry<String, Object> entry = new SimpleImmutableEntry<>(
+                                    rows.columnNames[column], rows.decode(row, column));
+                            column = advance(column + 1);
+                            return entry;
+                        }
+                    };
+                }
+
+                @Override
+                public int size() {
+                    int count = 0;
+                    for (int column = 0; column < rows.columnNames.length; column++) {
+                        if (rows.isPresent(row, column)) {
+                            count++;
+                        }
+                    }
+                    return count;
+                }
+            };
+        }
+    }
+}
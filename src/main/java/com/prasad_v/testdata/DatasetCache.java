@@ -0,0 +1,118 @@
+package com.prasad_v.testdata;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.List;
+import java.util.Map;
+
+import com.prasad_v.cache.BoundedCache;
+import com.prasad_v.config.ConfigurationManager;
+import com.prasad_v.exceptions.APIException;
+import com.prasad_v.logging.CustomLogger;
+
+/**
+ * DatasetCache keeps parsed test data files in memory for the whole run.
+ * Each file (and Excel sheet) is parsed once into an IndexedDataset; the entry is
+ * reloaded automatically when the file's modification time or size changes.
+ * The number of cached datasets is bounded by testdata.cache.max.size.
+ * When the BinaryDataCache is enabled, parsed rows also survive between runs.
+ */
+public class DatasetCache {
+
+    private static final CustomLogger logger = new CustomLogger(DatasetCache.class);
+
+    /**
+     * Parses a file into rows on a cache miss
+     */
+    @FunctionalInterface
+    public interface DatasetLoader {
+        List<Map<String, Object>> load() throws APIException;
+    }
+
+    private static final class CachedDataset {
+        private final long lastModified;
+        private final long size;
+        private final IndexedDataset dataset;
+
+        private CachedDataset(long lastModified, long size, IndexedDataset dataset) {
+            this.lastModified = lastModified;
+            this.size = size;
+            this.dataset = dataset;
+        }
+    }
+
+    private static final BoundedCache<String, CachedDataset> cache = new BoundedCache<>("testdata",
+            ConfigurationManager.getInstance().getIntProperty("testdata.cache.max.size", 64));
+
+    private DatasetCache() {
+    }
+
+    /**
+     * Get the parsed dataset for a file, parsing it only if it is not cached or has changed
+     *
+     * @param filePath Path to the data file
+     * @param sheetName Sheet name for Excel files, null for other formats
+     * @param loader Parser used on a miss
+     * @return Parsed, indexed dataset
+     * @throws APIException If the file cannot be read or parsed
+     */
+    public static IndexedDataset get(String filePath, String sheetName, DatasetLoader loader) throws APIException {
+        Path path = Paths.get(filePath).toAbsolutePath().normalize();
+        String key = sheetName != null ? path + "#" + sheetName : path.toString();
+
+        BasicFileAttributes attributes = readAttributes(path);
+        long lastModified = attributes.lastModifiedTime().toMillis();
+
+        CachedDataset cached = cache.get(key, k -> load(k, path, sheetName, lastModified, attributes.size(), loader));
+        if (cached.lastModified != lastModified || cached.size != attributes.size()) {
+            logger.info("Test data file changed, reloading: " + key);
+            cache.invalidate(key);
+            cached = cache.get(key, k -> load(k, path, sheetName, lastModified, attributes.size(), loader));
+        }
+        return cached.dataset;
+    }
+
+    private static CachedDataset load(String key, Path path, String sheetName, long lastModified, long size,
+                                      DatasetLoader loader) {
+        List<Map<String, Object>> rows = null;
+        boolean binaryCacheEnabled = BinaryDataCache.isEnabled();
+        if (binaryCacheEnabled) {
+            rows = BinaryDataCache.read(path, sheetName);
+        }
+        if (rows == null) {
+            rows = loader.load();
+            if (binaryCacheEnabled) {
+                BinaryDataCache.write(path, sheetName, rows);
+            }
+        }
+        logger.debug("Cached " + rows.size() + " rows of test data from: " + key);
+        return new CachedDataset(lastModified, size, new IndexedDataset(key, rows));
+    }
+
+    private static BasicFileAttributes readAttributes(Path path) throws APIException {
+        try {
+            return Files.readAttributes(path, BasicFileAttributes.class);
+        } catch (IOException e) {
+            throw new APIException("Failed to read test data file: " + path + " (" + e.getMessage() + ")", e);
+        }
+    }
+
+    /**
+     * Get cache statistics
+     *
+     * @return Cache statistics line
+     */
+    public static String getStats() {
+        return cache.toString();
+    }
+
+    /**
+     * Remove all cached datasets
+     */
+    public static void clear() {
+        cache.clear();
+    }
+}
@@ -22,13 +22,18 @@ import com.prasad_v.logging.CustomLogger;
 /**
  * ExcelDataProvider provides utilities to read test data from Excel files.
  * It supports reading data as key-value pairs or as DataProvider for TestNG.
+ * Large .xlsx sheets can be streamed row by row with streamTestDataFromExcel()
+ * or the lazy excelStreamingDataProvider, keeping memory use independent of sheet size.
+ * Both DataProviders are shard-aware: with shard.count greater than 1 each node only
+ * receives the rows owned by its shard.index (see ShardSpec).
  */
 public class ExcelDataProvider {
 
     private static final CustomLogger logger = new CustomLogger(ExcelDataProvider.class);
 
     /**
-     * Get test data from Excel file as a list of maps
+     * Get test data from Excel file as a list of maps.
+     * The sheet is read once per run (see DatasetCache); each call returns fresh copies of the rows.
      *
      * @param filePath Path to Excel file
      * @param sheetName Sheet name to read from
@@ -36,6 +41,31 @@ public class ExcelDataProvider {
      * @throws APIException If there's an error reading the Excel file
      */
     public List<Map<String, Object>> getTestDataFromExcel(String filePath, String sheetName) throws APIException {
+        return getIndexedTestData(filePath, sheetName).copyRows();
+    }
+
+    /**
+     * Get the cached, indexed test data for an Excel sheet.
+     * Use with filterTestData() or IndexedDataset.find() for O(1) repeated lookups.
+     *
+     * @param filePath Path to Excel file
+     * @param sheetName Sheet name to read from
+     * @return Immutable indexed dataset
+     * @throws APIException If there's an error reading the Excel file
+     */
+    public IndexedDataset getIndexedTestData(String filePath, String sheetName) throws APIException {
+        return DatasetCache.get(filePath, sheetName, () -> readTestDataFromExcel(filePath, sheetName));
+    }
+
+    /**
+     * Read test data from an Excel sheet into memory
+     *
+     * @param filePath Path to Excel file
+     * @param sheetName Sheet name to read from
+     * @return List of Map with test data where each map represents a row
+     * @throws APIException If there's an error reading the Excel file
+     */
+    private List<Map<String, Object>> readTestDataFromExcel(String filePath, String sheetName) throws APIException {
         List<Map<String, Object>> testDataList = new ArrayList<>();
 
         try (FileInputStream fis = new FileInputStream(filePath);
@@ -125,7 +155,8 @@ public class ExcelDataProvider {
     }
 
     /**
-     * TestNG DataProvider that reads test data from Excel
+     * TestNG DataProvider that reads test data from Excel.
+     * Only the rows owned by the configured shard are returned.
      *
      * @param filePath Path to Excel file
      * @param sheetName Sheet name to read from
@@ -134,7 +165,13 @@ public class ExcelDataProvider {
      */
     @DataProvider(name = "excelDataProvider")
     public Object[][] getDataFromExcel(String filePath, String sheetName) throws APIException {
-        List<Map<String, Object>> testDataList = getTestDataFromExcel(filePath, sheetName);
+        ShardSpec shard = ShardSpec.fromConfig();
+        IndexedDataset dataset = getIndexedTestData(filePath, sheetName);
+        List<Map<String, Object>> testDataList = dataset.copyRows(shard);
+        if (shard.isSharded()) {
+            logger.info("Running " + testDataList.size() + " of " + dataset.size() + " rows from " + filePath
+                    + ", sheet: " + sheetName + " (" + shard + ")");
+        }
 
         Object[][] data = new Object[testDataList.size()][1];
         for (int i = 0; i < testDataList.size(); i++) {
@@ -145,7 +182,67 @@ public class ExcelDataProvider {
     }
 
     /**
-     * Filter test data by a condition
+     * Stream test data from an Excel file one row at a time.
+     * .xlsx files are read through StreamingExcelReader with constant memory; legacy .xls
+     * files have no streaming format and are read fully before iterating.
+     *
+     * @param filePath Path to Excel file
+     * @param sheetName Sheet name to read from
+     * @return Iterator over rows, each row a map of header to value
+     * @throws APIException If there's an error opening the Excel file
+     */
+    public Iterator<Map<String, Object>> streamTestDataFromExcel(String filePath, String sheetName) throws APIException {
+        return streamTestDataFromExcel(filePath, sheetName, ShardSpec.NONE);
+    }
+
+    /**
+     * Stream the rows of an Excel sheet owned by a shard.
+     * Rows of other shards are skipped without converting their cell values.
+     *
+     * @param filePath Path to Excel file
+     * @param sheetName Sheet name to read from
+     * @param shard Shard whose rows should be returned
+     * @return Iterator over owned rows, each row a map of header to value
+     * @throws APIException If there's an error opening the Excel file
+     */
+    public Iterator<Map<String, Object>> streamTestDataFromExcel(String filePath, String sheetName, ShardSpec shard)
+            throws APIException {
+        if (filePath.toLowerCase().endsWith(".xls")) {
+            logger.debug("Streaming not supported for .xls, reading in memory: " + filePath);
+            return getIndexedTestData(filePath, sheetName).copyRows(shard).iterator();
+        }
+        return new StreamingExcelReader(filePath, sheetName, shard);
+    }
+
+    /**
+     * TestNG DataProvider that streams test data from Excel.
+     * Rows are read lazily as TestNG requests them, so large sheets are never held in memory.
+     * Only the rows owned by the configured shard are returned.
+     *
+     * @param filePath Path to Excel file
+     * @param sheetName Sheet name to read from
+     * @return Lazy iterator of parameter arrays for TestNG
+     * @throws APIException If there's an error opening the Excel file
+     */
+    @DataProvider(name = "excelStreamingDataProvider")
+    public Iterator<Object[]> getStreamingDataFromExcel(String filePath, String sheetName) throws APIException {
+        Iterator<Map<String, Object>> rows = streamTestDataFromExcel(filePath, sheetName, ShardSpec.fromConfig());
+        return new Iterator<Object[]>() {
+            @Override
+            public boolean hasNext() {
+                return rows.hasNext();
+            }
+
+            @Override
+            public Object[] next() {
+                return new Object[]{rows.next()};
+            }
+        };
+    }
+
+    /**
+     * Filter test data by a condition.
+     * Uses the dataset's hash index when given an IndexedDataset, otherwise scans the list.
      *
      * @param testDataList Original test data list
      * @param filterKey Key to filter on
@@ -154,6 +251,10 @@ public class ExcelDataProvider {
      */
     public List<Map<String, Object>> filterTestData(List<Map<String, Object>> testDataList,
                                                     String filterKey, Object filterValue) {
+        if (testDataList instanceof IndexedDataset) {
+            return new ArrayList<>(((IndexedDataset) testDataList).find(filterKey, filterValue));
+        }
+
         List<Map<String, Object>> filteredList = new ArrayList<>();
 
         for (Map<String, Object> data : testDataList) {
@@ -177,13 +278,7 @@ public class ExcelDataProvider {
      */
     public Map<String, Object> getTestDataByFilter(String filePath, String sheetName,
                                                    String filterKey, Object filterValue) throws APIException {
-        List<Map<String, Object>> testDataList = getTestDataFromExcel(filePath, sheetName);
-        List<Map<String, Object>> filteredList = filterTestData(testDataList, filterKey, filterValue);
-
-        if (!filteredList.isEmpty()) {
-            return filteredList.get(0);
-        }
-
-        return new HashMap<>();
+        Map<String, Object> match = getIndexedTestData(filePath, sheetName).findFirst(filterKey, filterValue);
+        return match != null ? new HashMap<>(match) : new HashMap<>();
     }
 }
\ No newline at end of file
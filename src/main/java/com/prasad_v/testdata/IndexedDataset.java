@@ -0,0 +1,269 @@
+package com.prasad_v.testdata;
+
+import java.util.AbstractList;
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.RandomAccess;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * IndexedDataset is an immutable, parsed test data set with hash indexes per field.
+ * Indexes are built the first time a field is looked up and reused afterwards, so
+ * repeated filters and ID lookups cost O(1) instead of a scan over all rows.
+ * Rows are read-only views down to nested maps and lists (e.g. JSON objects and arrays);
+ * copyRows() returns deep, mutable copies for callers that change test data.
+ */
+public class IndexedDataset extends AbstractList<Map<String, Object>> {
+
+    private final String source;
+    private final List<Map<String, Object>> rows;
+
+    // Field name -> value -> matching rows, built on demand
+    private final Map<String, Map<Object, List<Map<String, Object>>>> valueIndexes = new ConcurrentHashMap<>();
+    // Field name -> value as string -> matching rows, for lookups by string identifiers
+    private final Map<String, Map<String, List<Map<String, Object>>>> stringIndexes = new ConcurrentHashMap<>();
+
+    /**
+     * Constructor
+     *
+     * @param source File (and sheet) the rows were read from
+     * @param rows Parsed rows
+     */
+    public IndexedDataset(String source, List<Map<String, Object>> rows) {
+        this.source = source;
+        List<Map<String, Object>> frozen = new ArrayList<>(rows.size());
+        for (Map<String, Object> row : rows) {
+            frozen.add(new FrozenMap<>(row));
+        }
+        this.rows = Collections.unmodifiableList(frozen);
+    }
+
+    /**
+     * Wrap a value so that it and any nested maps and lists are read-only.
+     * Values are wrapped, not copied, so lazily decoded rows (see BinaryDataCache) stay lazy.
+     *
+     * @param value Value to wrap
+     * @return Read-only view of maps and lists, other values unchanged
+     */
+    private static Object freeze(Object value) {
+        if (value instanceof Map) {
+            return new FrozenMap<>((Map<?, ?>) value);
+        }
+        if (value instanceof List) {
+            return new FrozenList((List<?>) value);
+        }
+        return value;
+    }
+
+    /**
+     * Copy a row into a mutable map, copying nested maps and lists as well
+     *
+     * @param row Row to copy
+     * @return Mutable deep copy in the same iteration order
+     */
+    private static Map<String, Object> copyMap(Map<?, ?> row) {
+        Map<String, Object> copy = new LinkedHashMap<>(row.size() * 4 / 3 + 1);
+        for (Map.Entry<?, ?> entry : row.entrySet()) {
+            copy.put(String.valueOf(entry.getKey()), copy(entry.getValue()));
+        }
+        return copy;
+    }
+
+    private static Object copy(Object value) {
+        if (value instanceof Map) {
+            return copyMap((Map<?, ?>) value);
+        }
+        if (value instanceof List) {
+            List<?> list = (List<?>) value;
+            List<Object> copy = new ArrayList<>(list.size());
+            for (Object element : list) {
+                copy.add(copy(element));
+            }
+            return copy;
+        }
+        return value;
+    }
+
+    public String getSource() {
+        return source;
+    }
+
+    @Override
+    public Map<String, Object> get(int index) {
+        return rows.get(index);
+    }
+
+    @Override
+    public int size() {
+        return rows.size();
+    }
+
+    /**
+     * Find all rows where a field equals a value
+     *
+     * @param field Field name
+     * @param value Value to match (compared with equals)
+     * @return Matching rows in file order, empty if none
+     */
+    public List<Map<String, Object>> find(String field, Object value) {
+        Map<Object, List<Map<String, Object>>> index = valueIndexes.computeIfAbsent(field, f -> buildIndex(f, false));
+        return index.getOrDefault(value, Collections.emptyList());
+    }
+
+    /**
+     * Find the first row where a field's string form equals a value.
+     * Useful for ID lookups where IDs may be stored as numbers or strings.
+     *
+     * @param field Field name
+     * @param value String value to match
+     * @return First matching row, or null if none
+     */
+    public Map<String, Object> findFirstByString(String field, String value) {
+        Map<String, List<Map<String, Object>>> index = stringIndexes.computeIfAbsent(field, f -> buildIndex(f, true));
+        List<Map<String, Object>> matches = index.get(value);
+        return matches != null ? matches.get(0) : null;
+    }
+
+    /**
+     * Find the first row where a field equals a value
+     *
+     * @param field Field name
+     * @param value Value to match
+     * @return First matching row, or null if none
+     */
+    public Map<String, Object> findFirst(String field, Object value) {
+        List<Map<String, Object>> matches = find(field, value);
+        return matches.isEmpty() ? null : matches.get(0);
+    }
+
+    @SuppressWarnings("unchecked")
+    private <K> Map<K, List<Map<String, Object>>> buildIndex(String field, boolean byString) {
+        Map<K, List<Map<String, Object>>> index = new HashMap<>();
+        for (Map<String, Object> row : rows) {
+            if (row.containsKey(field)) {
+                Object value = row.get(field);
+                K key = (K) (byString ? String.valueOf(value) : value);
+                index.computeIfAbsent(key, k -> new ArrayList<>()).add(row);
+            }
+        }
+        for (Map.Entry<K, List<Map<String, Object>>> entry : index.entrySet()) {
+            entry.setValue(Collections.unmodifiableList(entry.getValue()));
+        }
+        return index;
+    }
+
+    /**
+     * Get a mutable deep copy of every row, for callers that modify test data
+     *
+     * @return List of row copies
+     */
+    public List<Map<String, Object>> copyRows() {
+        List<Map<String, Object>> copies = new ArrayList<>(rows.size());
+        for (Map<String, Object> row : rows) {
+            copies.add(copyMap(row));
+        }
+        return copies;
+    }
+
+    /**
+     * Get a mutable deep copy of the rows owned by a shard. Rows of other shards are not copied.
+     *
+     * @param shard Shard whose rows should be returned
+     * @return List of row copies in file order
+     */
+    public List<Map<String, Object>> copyRows(ShardSpec shard) {
+        if (!shard.isSharded()) {
+            return copyRows();
+        }
+        List<Map<String, Object>> copies = new ArrayList<>(rows.size() / shard.getCount() + 1);
+        for (int i = 0; i < rows.size(); i++) {
+            Map<String, Object> row = rows.get(i);
+            if (shard.owns(i, row)) {
+                copies.add(copyMap(row));
+            }
+        }
+        return copies;
+    }
+
+    /**
+     * Read-only view of a map whose nested maps and lists are read-only views as well
+     */
+    private static final class FrozenMap<K> extends AbstractMap<K, Object> {
+        private final Map<K, ?> map;
+
+        private FrozenMap(Map<K, ?> map) {
+            this.map = map;
+        }
+
+        @Override
+        public Object get(Object key) {
+            return freeze(map.get(key));
+        }
+
+        @Override
+        public boolean containsKey(Object key) {
+            return map.containsKey(key);
+        }
+
+        @Override
+        public int size() {
+            return map.size();
+        }
+
+        @Override
+        public Set<Entry<K, Object>> entrySet() {
+            return new AbstractSet<Entry<K, Object>>() {
+                @Override
+                public Iterator<Entry<K, Object>> iterator() {
+                    Iterator<? extends Entry<K, ?>> entries = map.entrySet().iterator();
+                    return new Iterator<Entry<K, Object>>() {
+                        @Override
+                        public boolean hasNext() {
+                            return entries.hasNext();
+                        }
+
+                        @Override
+                        public Entry<K, Object> next() {
+                            Entry<K, ?> entry = entries.next();
+                            return new SimpleImmutableEntry<>(entry.getKey(), freeze(entry.getValue()));
+                        }
+                    };
+                }
+
+                @Override
+                public int size() {
+                    return map.size();
+                }
+            };
+        }
+    }
+
+    /**
+     * Read-only view of a list whose nested maps and lists are read-only views as well
+     */
+    private static final class FrozenList extends AbstractList<Object> implements RandomAccess {
+        private final List<?> list;
+
+        private FrozenList(List<?> list) {
+            this.list = list;
+        }
+
+        @Override
+        public Object get(int index) {
+            return freeze(list.get(index));
+        }
+
+        @Override
+        public int size() {
+            return list.size();
+        }
+    }
+}
@@ -22,6 +22,10 @@ import com.prasad_v.logging.CustomLogger;
 /**
  * JsonDataProvider provides utilities to read test data from JSON files.
  * It supports reading data as JSON objects or as DataProvider for TestNG.
+ * Large JSON array and JSON Lines files can be streamed record by record with
+ * streamTestDataFromJson() or the lazy jsonStreamingDataProvider.
+ * Both DataProviders are shard-aware: with shard.count greater than 1 each node only
+ * receives the records owned by its shard.index (see ShardSpec).
  */
 public class JsonDataProvider {
 
@@ -63,13 +67,37 @@ public class JsonDataProvider {
     }
 
     /**
-     * Get test data from JSON file as a list of maps
+     * Get test data from JSON file as a list of maps.
+     * The file is parsed once per run (see DatasetCache); each call returns fresh copies of the rows.
      *
      * @param filePath Path to JSON file containing an array of objects
      * @return List of Map with test data where each map represents a JSON object
      * @throws APIException If there's an error reading the JSON file
      */
     public List<Map<String, Object>> getTestDataFromJson(String filePath) throws APIException {
+        return getIndexedTestData(filePath).copyRows();
+    }
+
+    /**
+     * Get the cached, indexed test data for a JSON file.
+     * Use with filterTestData() or IndexedDataset.find() for O(1) repeated lookups.
+     *
+     * @param filePath Path to JSON file containing an array of objects
+     * @return Immutable indexed dataset
+     * @throws APIException If there's an error reading the JSON file
+     */
+    public IndexedDataset getIndexedTestData(String filePath) throws APIException {
+        return DatasetCache.get(filePath, null, () -> readTestDataFromJson(filePath));
+    }
+
+    /**
+     * Parse test data from a JSON file
+     *
+     * @param filePath Path to JSON file containing an array of objects
+     * @return List of Map with test data where each map represents a JSON object
+     * @throws APIException If there's an error reading the JSON file
+     */
+    private List<Map<String, Object>> readTestDataFromJson(String filePath) throws APIException {
         List<Map<String, Object>> testDataList = new ArrayList<>();
 
         try {
@@ -131,7 +159,8 @@ public class JsonDataProvider {
     }
 
     /**
-     * TestNG DataProvider that reads test data from JSON
+     * TestNG DataProvider that reads test data from JSON.
+     * Only the records owned by the configured shard are returned.
      *
      * @param filePath Path to JSON file containing an array of objects
      * @return Object array for TestNG DataProvider
@@ -139,7 +168,13 @@ public class JsonDataProvider {
      */
     @DataProvider(name = "jsonDataProvider")
     public Object[][] getDataFromJson(String filePath) throws APIException {
-        List<Map<String, Object>> testDataList = getTestDataFromJson(filePath);
+        ShardSpec shard = ShardSpec.fromConfig();
+        IndexedDataset dataset = getIndexedTestData(filePath);
+        List<Map<String, Object>> testDataList = dataset.copyRows(shard);
+        if (shard.isSharded()) {
+            logger.info("Running " + testDataList.size() + " of " + dataset.size() + " items from " + filePath
+                    + " (" + shard + ")");
+        }
 
         Object[][] data = new Object[testDataList.size()][1];
         for (int i = 0; i < testDataList.size(); i++) {
@@ -150,7 +185,58 @@ public class JsonDataProvider {
     }
 
     /**
-     * Filter test data by a condition
+     * Stream test data from a JSON array or JSON Lines file one record at a time
+     *
+     * @param filePath Path to JSON file containing an array of objects or one object per line
+     * @return Iterator over records, each record a map of field to value
+     * @throws APIException If there's an error opening the JSON file
+     */
+    public Iterator<Map<String, Object>> streamTestDataFromJson(String filePath) throws APIException {
+        return new StreamingJsonReader(filePath);
+    }
+
+    /**
+     * Stream the records of a JSON array or JSON Lines file owned by a shard.
+     * Records of other shards are skipped without being parsed into maps.
+     *
+     * @param filePath Path to JSON file containing an array of objects or one object per line
+     * @param shard Shard whose records should be returned
+     * @return Iterator over owned records, each record a map of field to value
+     * @throws APIException If there's an error opening the JSON file
+     */
+    public Iterator<Map<String, Object>> streamTestDataFromJson(String filePath, ShardSpec shard) throws APIException {
+        return new StreamingJsonReader(filePath, shard);
+    }
+
+    /**
+     * TestNG DataProvider that streams test data from JSON.
+     * Records are parsed lazily as TestNG requests them, so tests start before the
+     * whole file has been read and large files are never held in memory.
+     * Only the records owned by the configured shard are returned.
+     *
+     * @param filePath Path to JSON file containing an array of objects or one object per line
+     * @return Lazy iterator of parameter arrays for TestNG
+     * @throws APIException If there's an error opening the JSON file
+     */
+    @DataProvider(name = "jsonStreamingDataProvider")
+    public Iterator<Object[]> getStreamingDataFromJson(String filePath) throws APIException {
+        Iterator<Map<String, Object>> records = streamTestDataFromJson(filePath, ShardSpec.fromConfig());
+        return new Iterator<Object[]>() {
+            @Override
+            public boolean hasNext() {
+                return records.hasNext();
+            }
+
+            @Override
+            public Object[] next() {
+                return new Object[]{records.next()};
+            }
+        };
+    }
+
+    /**
+     * Filter test data by a condition.
+     * Uses the dataset's hash index when given an IndexedDataset, otherwise scans the list.
      *
      * @param testDataList Original test data list
      * @param filterKey Key to filter on
@@ -159,6 +245,10 @@ public class JsonDataProvider {
      */
     public List<Map<String, Object>> filterTestData(List<Map<String, Object>> testDataList,
                                                     String filterKey, Object filterValue) {
+        if (testDataList instanceof IndexedDataset) {
+            return new ArrayList<>(((IndexedDataset) testDataList).find(filterKey, filterValue));
+        }
+
         List<Map<String, Object>> filteredList = new ArrayList<>();
 
         for (Map<String, Object> data : testDataList) {
@@ -181,18 +271,13 @@ public class JsonDataProvider {
      */
     public Map<String, Object> getTestDataByFilter(String filePath,
                                                    String filterKey, Object filterValue) throws APIException {
-        List<Map<String, Object>> testDataList = getTestDataFromJson(filePath);
-        List<Map<String, Object>> filteredList = filterTestData(testDataList, filterKey, filterValue);
-
-        if (!filteredList.isEmpty()) {
-            return filteredList.get(0);
-        }
-
-        return new HashMap<>();
+        Map<String, Object> match = getIndexedTestData(filePath).findFirst(filterKey, filterValue);
+        return match != null ? new HashMap<>(match) : new HashMap<>();
     }
 
     /**
-     * Get a specific JSON object from a file by an identifier field
+     * Get a specific JSON object from a file by an identifier field.
+     * The file is parsed and indexed on the first lookup; later lookups are hash lookups.
      *
      * @param fileName Name of the JSON file in the testdata directory
      * @param idField Field name to identify the object
@@ -204,22 +289,11 @@ public class JsonDataProvider {
         String testDataDir = configManager.getConfigProperty("testdata.dir", "src/test/resources/testdata");
         String filePath = testDataDir + File.separator + fileName;
 
-        try {
-            JSONArray jsonArray = readJsonArrayFile(filePath);
-
-            for (int i = 0; i < jsonArray.length(); i++) {
-                JSONObject jsonObject = jsonArray.getJSONObject(i);
-                if (jsonObject.has(idField) && jsonObject.getString(idField).equals(idValue)) {
-                    return jsonObject;
-                }
-            }
-
+        Map<String, Object> match = getIndexedTestData(filePath).findFirstByString(idField, idValue);
+        if (match == null) {
             logger.warn("No JSON object found with " + idField + "=" + idValue + " in file: " + fileName);
             return null;
-
-        } catch (JSONException e) {
-            logger.error("Error finding JSON object by ID in file: " + filePath, e);
-            throw new APIException("Failed to find JSON object by ID: " + e.getMessage(), e);
         }
+        return new JSONObject(match);
     }
 }
\ No newline at end of file
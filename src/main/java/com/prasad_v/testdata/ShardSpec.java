@@ -0,0 +1,146 @@
+package com.prasad_v.testdata;
+
+import java.util.Map;
+
+import com.prasad_v.config.ConfigurationManager;
+import com.prasad_v.exceptions.APIException;
+
+/**
+ * ShardSpec decides which data rows a test node runs when a data-driven suite is split
+ * across JVMs or CI nodes. Each node is started with the same shard.count and its own
+ * shard.index; every row is owned by exactly one node.
+ * Rows are assigned round-robin by their position in the data set, which lets streaming
+ * providers skip foreign rows without materializing them. When shard.key is set, rows are
+ * assigned by a hash of that field instead, so a row stays on the same node when rows are
+ * inserted or reordered.
+ * System properties (-Dshard.index=..) take precedence over the configuration files.
+ */
+public final class ShardSpec {
+
+    /**
+     * Spec that owns every row
+     */
+    public static final ShardSpec NONE = new ShardSpec(0, 1, null);
+
+    private final int index;
+    private final int count;
+    private final String key;
+
+    private ShardSpec(int index, int count, String key) {
+        if (count < 1 || index < 0 || index >= count) {
+            throw new APIException("Invalid shard configuration: shard.index=" + index + ", shard.count=" + count
+                    + " (expected 0 <= shard.index < shard.count)");
+        }
+        this.index = index;
+        this.count = count;
+        this.key = key != null && !key.isEmpty() ? key : null;
+    }
+
+    /**
+     * Create a spec that assigns rows by position
+     *
+     * @param index Zero-based index of this shard
+     * @param count Total number of shards
+     * @return Shard spec
+     * @throws APIException If index or count are out of range
+     */
+    public static ShardSpec of(int index, int count) {
+        return new ShardSpec(index, count, null);
+    }
+
+    /**
+     * Create a spec that assigns rows by a hash of a field
+     *
+     * @param index Zero-based index of this shard
+     * @param count Total number of shards
+     * @param key Field to hash, or null to assign rows by position
+     * @return Shard spec
+     * @throws APIException If index or count are out of range
+     */
+    public static ShardSpec of(int index, int count, String key) {
+        return new ShardSpec(index, count, key);
+    }
+
+    /**
+     * Create a spec from shard.index, shard.count and shard.key
+     *
+     * @return Shard spec; NONE when sharding is not configured
+     * @throws APIException If the configured values are out of range
+     */
+    public static ShardSpec fromConfig() {
+        int count = readInt("shard.count", 1);
+        int index = readInt("shard.index", 0);
+        String key = System.getProperty("shard.key", ConfigurationManager.getInstance().getProperty("shard.key", ""));
+        return count == 1 && index == 0 ? NONE : new ShardSpec(index, count, key.trim());
+    }
+
+    private static int readInt(String property, int defaultValue) {
+        String value = System.getProperty(property,
+                ConfigurationManager.getInstance().getProperty(property, String.valueOf(defaultValue)));
+        try {
+            return Integer.parseInt(value.trim());
+        } catch (NumberFormatException e) {
+            throw new APIException("Invalid value for " + property + ": " + value, e);
+        }
+    }
+
+    public int getIndex() {
+        return index;
+    }
+
+    public int getCount() {
+        return count;
+    }
+
+    public String getKey() {
+        return key;
+    }
+
+    /**
+     * Check if rows are split across more than one shard
+     *
+     * @return true if this spec filters rows
+     */
+    public boolean isSharded() {
+        return count > 1;
+    }
+
+    /**
+     * Check if ownership depends on row content (shard.key) rather than position alone
+     *
+     * @return true if rows must be read before ownership can be decided
+     */
+    public boolean isKeyed() {
+        return key != null && isSharded();
+    }
+
+    /**
+     * Decide ownership by row position alone. Only valid when isKeyed() is false.
+     *
+     * @param position Zero-based position of the row in the data set
+     * @return true if this shard runs the row
+     */
+    public boolean ownsPosition(long position) {
+        return !isSharded() || Math.floorMod(position, (long) count) == index;
+    }
+
+    /**
+     * Decide ownership of a row
+     *
+     * @param position Zero-based position of the row in the data set
+     * @param row Row data
+     * @return true if this shard runs the row
+     */
+    public boolean owns(long position, Map<String, Object> row) {
+        if (!isKeyed()) {
+            return ownsPosition(position);
+        }
+        // String.hashCode() is specified, so every JVM computes the same assignment
+        return Math.floorMod(String.valueOf(row.get(key)).hashCode(), count) == index;
+    }
+
+    @Override
+    public String toString() {
+        return "shard " + (index + 1) + "/" + count + (key != null ? " by '" + key + "'" : "");
+    }
+}
@@ -0,0 +1,344 @@
+package com.prasad_v.testdata;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.TreeMap;
+
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+
+import org.apache.poi.openxml4j.exceptions.OpenXML4JException;
+import org.apache.poi.openxml4j.opc.OPCPackage;
+import org.apache.poi.openxml4j.opc.PackageAccess;
+import org.apache.poi.ss.util.CellReference;
+import org.apache.poi.xssf.eventusermodel.ReadOnlySharedStringsTable;
+import org.apache.poi.xssf.eventusermodel.XSSFReader;
+import org.xml.sax.SAXException;
+
+import com.prasad_v.exceptions.APIException;
+import com.prasad_v.logging.CustomLogger;
+
+/**
+ * StreamingExcelReader reads rows from an .xlsx sheet one at a time.
+ * The sheet XML is pulled through a StAX reader on top of POI's XSSFReader, so only the
+ * current row (and the workbook's shared string table) is held in memory, regardless of
+ * how many rows the sheet has. Rows are returned as maps keyed by the header row, with the
+ * same value types as ExcelDataProvider: String, Double or Boolean.
+ * With a ShardSpec, rows owned by other shards are scanned only to tell whether they are
+ * empty; their values are not converted (unless the shard is keyed by a field).
+ * The underlying file is closed when the last row has been read or close() is called.
+ */
+public final class StreamingExcelReader implements Iterator<Map<String, Object>>, Closeable {
+
+    private static final CustomLogger logger = new CustomLogger(StreamingExcelReader.class);
+    private static final XMLInputFactory xmlInputFactory = createXmlInputFactory();
+
+    private final String filePath;
+    private final String sheetName;
+    private final ShardSpec shard;
+
+    private OPCPackage pkg;
+    private InputStream sheetStream;
+    private XMLStreamReader xml;
+    private ReadOnlySharedStringsTable sharedStrings;
+
+    private Map<Integer, String> headers;
+    private Map<String, Object> nextRow;
+    private boolean finished;
+    private long position;
+    private long rowsRead;
+
+    /**
+     * Open a sheet for streaming
+     *
+     * @param filePath Path to .xlsx file
+     * @param sheetName Sheet name to read from
+     * @throws APIException If the file or sheet cannot be opened or has no header row
+     */
+    public StreamingExcelReader(String filePath, String sheetName) throws APIException {
+        this(filePath, sheetName, ShardSpec.NONE);
+    }
+
+    /**
+     * Open a sheet for streaming only the rows owned by a shard
+     *
+     * @param filePath Path to .xlsx file
+     * @param sheetName Sheet name to read from
+     * @param shard Shard whose rows should be returned
+     * @throws APIException If the file or sheet cannot be opened or has no header row
+     */
+    public StreamingExcelReader(String filePath, String sheetName, ShardSpec shard) throws APIException {
+        this.filePath = filePath;
+        this.sheetName = sheetName;
+        this.shard = shard;
+        try {
+            open();
+            headers = readHeaders();
+        } catch (APIException e) {
+            close();
+            throw e;
+        } catch (IOException | OpenXML4JException | SAXException | XMLStreamException e) {
+            close();
+            logger.error("Error opening Excel file for streaming: " + filePath, e);
+            throw new APIException("Failed to read Excel file: " + e.getMessage(), e);
+        }
+    }
+
+    private static XMLInputFactory createXmlInputFactory() {
+        XMLInputFactory factory = XMLInputFactory.newFactory();
+        factory.setProperty(XMLInputFactory.SUPPORT_DTD, false);
+        factory.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, false);
+        return factory;
+    }
+
+    private void open() throws IOException, OpenXML4JException, SAXException, XMLStreamException {
+        pkg = OPCPackage.open(filePath, PackageAccess.READ);
+        sharedStrings = new ReadOnlySharedStringsTable(pkg);
+
+        XSSFReader reader = new XSSFReader(pkg);
+        XSSFReader.SheetIterator sheets = (XSSFReader.SheetIterator) reader.getSheetsData();
+        while (sheets.hasNext()) {
+            InputStream stream = sheets.next();
+            if (sheetName.equals(sheets.getSheetName())) {
+                sheetStream = stream;
+                break;
+            }
+            stream.close();
+        }
+
+        if (sheetStream == null) {
+            throw new APIException("Sheet '" + sheetName + "' not found in Excel file: " + filePath);
+        }
+        xml = xmlInputFactory.createXMLStreamReader(sheetStream);
+    }
+
+    /**
+     * Read the first row of the sheet as column headers
+     */
+    private Map<Integer, String> readHeaders() throws XMLStreamException {
+        Map<Integer, Object> firstRow = nextRowStart() ? readCells() : null;
+        if (firstRow == null || firstRow.isEmpty()) {
+            throw new APIException("Header row not found in sheet: " + sheetName);
+        }
+
+        Map<Integer, String> headerMap = new TreeMap<>();
+        for (Map.Entry<Integer, Object> cell : firstRow.entrySet()) {
+            if (cell.getValue() != null) {
+                headerMap.put(cell.getKey(), String.valueOf(cell.getValue()));
+            }
+        }
+        return headerMap;
+    }
+
+    @Override
+    public boolean hasNext() {
+        if (nextRow != null) {
+            return true;
+        }
+        if (finished) {
+            return false;
+        }
+
+        try {
+            while (nextRowStart()) {
+                // Positions count non-empty rows only, matching the rows ExcelDataProvider returns
+                if (!shard.isKeyed() && !shard.ownsPosition(position)) {
+                    if (skipCells()) {
+                        position++;
+                    }
+                    continue;
+                }
+
+                Map<String, Object> rowData = toRowData(readCells());
+                if (rowData.isEmpty()) {
+                    continue;
+                }
+                if (shard.owns(position++, rowData)) {
+                    nextRow = rowData;
+                    rowsRead++;
+                    return true;
+                }
+            }
+        } catch (XMLStreamException e) {
+            close();
+            throw new APIException("Failed to read Excel file " + filePath + ": " + e.getMessage(), e);
+        }
+
+        logger.info("Streamed " + rowsRead + " rows of test data from: " + filePath + ", sheet: " + sheetName
+                + (shard.isSharded() ? " (" + shard + ")" : ""));
+        close();
+        return false;
+    }
+
+    @Override
+    public Map<String, Object> next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        Map<String, Object> row = nextRow;
+        nextRow = null;
+        return row;
+    }
+
+    private Map<String, Object> toRowData(Map<Integer, Object> raw) {
+        Map<String, Object> rowData = new HashMap<>();
+        for (Map.Entry<Integer, Object> cell : raw.entrySet()) {
+            String header = headers.get(cell.getKey());
+            if (header != null && cell.getValue() != null) {
+                rowData.put(header, cell.getValue());
+            }
+        }
+        return rowData;
+    }
+
+    /**
+     * Advance to the start of the next &lt;row&gt; element in the sheet XML
+     *
+     * @return true if positioned on a row, false at the end of the sheet
+     */
+    private boolean nextRowStart() throws XMLStreamException {
+        while (xml.hasNext()) {
+            int event = xml.next();
+            if (event == XMLStreamConstants.START_ELEMENT && "row".equals(xml.getLocalName())) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Skip the rest of the current row without converting values
+     *
+     * @return true if the row has a value under any header column
+     */
+    private boolean skipCells() throws XMLStreamException {
+        boolean hasData = false;
+        int column = -1;
+        String type = null;
+
+        while (xml.hasNext()) {
+            int event = xml.next();
+            if (event == XMLStreamConstants.END_ELEMENT && "row".equals(xml.getLocalName())) {
+                break;
+            }
+            if (event != XMLStreamConstants.START_ELEMENT || hasData) {
+                continue;
+            }
+            String name = xml.getLocalName();
+            if ("c".equals(name)) {
+                String ref = xml.getAttributeValue(null, "r");
+                column = ref != null ? new CellReference(ref).getCol() : column + 1;
+                type = xml.getAttributeValue(null, "t");
+            } else if (headers.containsKey(column) && !"e".equals(type)
+                    && ("inlineStr".equals(type) ? "t".equals(name) : "v".equals(name))) {
+                hasData = true;
+            }
+        }
+        return hasData;
+    }
+
+    private Map<Integer, Object> readCells() throws XMLStreamException {
+        Map<Integer, Object> cells = new HashMap<>();
+        int nextColumn = 0;
+
+        while (xml.hasNext()) {
+            int event = xml.next();
+            if (event == XMLStreamConstants.END_ELEMENT && "row".equals(xml.getLocalName())) {
+                return cells;
+            }
+            if (event == XMLStreamConstants.START_ELEMENT && "c".equals(xml.getLocalName())) {
+                String ref = xml.getAttributeValue(null, "r");
+                String type = xml.getAttributeValue(null, "t");
+                int column = ref != null ? new CellReference(ref).getCol() : nextColumn;
+                nextColumn = column + 1;
+
+                Object value = readCellValue(type);
+                if (value != null) {
+                    cells.put(column, value);
+                }
+            }
+        }
+        return cells;
+    }
+
+    /**
+     * Read the value of the current &lt;c&gt; element, converting it the same way
+     * ExcelDataProvider converts usermodel cells (formulas yield their cached result)
+     */
+    private Object readCellValue(String type) throws XMLStreamException {
+        String rawValue = null;
+        StringBuilder inlineText = null;
+
+        while (xml.hasNext()) {
+            int event = xml.next();
+            if (event == XMLStreamConstants.END_ELEMENT && "c".equals(xml.getLocalName())) {
+                break;
+            }
+            if (event == XMLStreamConstants.START_ELEMENT) {
+                String name = xml.getLocalName();
+                if ("v".equals(name)) {
+                    rawValue = xml.getElementText();
+                } else if ("t".equals(name)) {
+                    if (inlineText == null) {
+                        inlineText = new StringBuilder();
+                    }
+                    inlineText.append(xml.getElementText());
+                }
+            }
+        }
+
+        if ("inlineStr".equals(type)) {
+            return inlineText != null ? inlineText.toString() : null;
+        }
+        if (rawValue == null) {
+            return null;
+        }
+
+        if (type == null || "n".equals(type)) {
+            return Double.parseDouble(rawValue);
+        }
+        switch (type) {
+            case "s":
+                return sharedStrings.getItemAt(Integer.parseInt(rawValue)).getString();
+            case "str":
+                return rawValue;
+            case "b":
+                return "1".equals(rawValue);
+            default:
+                // Error cells ("e") have no usable value
+                return null;
+        }
+    }
+
+    /**
+     * Release the sheet stream and the workbook package
+     */
+    @Override
+    public void close() {
+        finished = true;
+        try {
+            if (xml != null) {
+                xml.close();
+            }
+            if (sheetStream != null) {
+                sheetStream.close();
+            }
+        } catch (XMLStreamException | IOException e) {
+            logger.warn("Error closing Excel sheet stream: " + e.getMessage());
+        } finally {
+            xml = null;
+            sheetStream = null;
+            if (pkg != null) {
+                pkg.revert();
+                pkg = null;
+            }
+        }
+    }
+}
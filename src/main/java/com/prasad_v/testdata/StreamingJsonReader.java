@@ -0,0 +1,310 @@
+package com.prasad_v.testdata;
+
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.Reader;
+import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+
+import org.json.JSONObject;
+
+import com.google.gson.Strictness;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.prasad_v.exceptions.APIException;
+import com.prasad_v.logging.CustomLogger;
+
+/**
+ * StreamingJsonReader reads test data records from a JSON file one at a time.
+ * Supports a top-level JSON array of objects and JSON Lines (one object per line).
+ * Records are parsed with Gson's token-level JsonReader as they are requested, so only the
+ * current record is held in memory. Values use the same types as JsonDataProvider:
+ * nested objects become maps, arrays become lists, numbers keep org.json's number types
+ * and JSON null becomes JSONObject.NULL.
+ * A file with a single, multi-line object is read as one record.
+ * Parsing is strict: comments, single quotes and unquoted strings are rejected. JSON Lines
+ * files are read line by line, with a strict reader for each line's object.
+ * With a ShardSpec, records owned by other shards are skipped at the token level
+ * without being materialized (unless the shard is keyed by a field).
+ * The file is closed when the last record has been read or close() is called.
+ */
+public class StreamingJsonReader implements Iterator<Map<String, Object>>, Closeable {
+
+    private static final CustomLogger logger = new CustomLogger(StreamingJsonReader.class);
+
+    private final String filePath;
+    private final ShardSpec shard;
+    private BufferedReader fileReader;
+    private JsonReader reader;
+    private boolean arrayFormat;
+    private boolean jsonLines;
+    private String pendingLine;
+    private long lineNumber;
+
+    private Map<String, Object> nextRecord;
+    private boolean finished;
+    private long position;
+    private long recordsRead;
+
+    /**
+     * Open a JSON or JSON Lines file for streaming
+     *
+     * @param filePath Path to JSON file
+     * @throws APIException If the file cannot be opened or does not contain objects
+     */
+    public StreamingJsonReader(String filePath) throws APIException {
+        this(filePath, ShardSpec.NONE);
+    }
+
+    /**
+     * Open a JSON or JSON Lines file for streaming only the records owned by a shard.
+     * A file holding a single (possibly multi-line) object is read as one record.
+     *
+     * @param filePath Path to JSON file
+     * @param shard Shard whose records should be returned
+     * @throws APIException If the file cannot be opened or does not contain objects
+     */
+    public StreamingJsonReader(String filePath, ShardSpec shard) throws APIException {
+        this.filePath = filePath;
+        this.shard = shard;
+        try {
+            fileReader = Files.newBufferedReader(Paths.get(filePath), StandardCharsets.UTF_8);
+            int first = peekFirstCharacter();
+            if (first == '[') {
+                reader = strictReader(fileReader);
+                reader.beginArray();
+                arrayFormat = true;
+            } else if (first == '{') {
+                String firstLine = fileReader.readLine();
+                if (isSingleObject(firstLine)) {
+                    jsonLines = true;
+                    pendingLine = firstLine;
+                } else {
+                    // The first object spans several lines, so the file is one JSON document
+                    fileReader.close();
+                    fileReader = Files.newBufferedReader(Paths.get(filePath), StandardCharsets.UTF_8);
+                    reader = strictReader(fileReader);
+                }
+            } else if (first == -1) {
+                jsonLines = true;
+            } else {
+                fileReader.close();
+                throw new APIException("Expected a JSON array or JSON Lines of objects in file: " + filePath);
+            }
+        } catch (IOException e) {
+            logger.error("Error opening JSON file for streaming: " + filePath, e);
+            throw new APIException("Failed to read JSON file: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Create a JSON reader that only accepts RFC 8259 JSON
+     *
+     * @param source Character source
+     * @return Strict JSON reader
+     */
+    private static JsonReader strictReader(Reader source) {
+        JsonReader jsonReader = new JsonReader(source);
+        jsonReader.setStrictness(Strictness.STRICT);
+        return jsonReader;
+    }
+
+    /**
+     * Check if a line holds exactly one complete JSON object
+     *
+     * @param line Line to check
+     * @return true if the line is a JSON Lines record
+     */
+    private static boolean isSingleObject(String line) {
+        try {
+            JsonReader lineReader = strictReader(new StringReader(line));
+            lineReader.skipValue();
+            return lineReader.peek() == JsonToken.END_DOCUMENT;
+        } catch (IOException | IllegalStateException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Skip leading whitespace and a byte order mark, counting the lines skipped
+     *
+     * @return The first significant character, or -1 if the file is empty
+     * @throws IOException If the file cannot be read
+     */
+    private int peekFirstCharacter() throws IOException {
+        while (true) {
+            fileReader.mark(1);
+            int c = fileReader.read();
+            if (c == '\n') {
+                lineNumber++;
+            } else if (c == -1 || !(Character.isWhitespace(c) || c == '\uFEFF')) {
+                fileReader.reset();
+                return c;
+            }
+        }
+    }
+
+    /**
+     * Peek at the next record token. For JSON Lines this moves to the next non-blank line,
+     * and END_DOCUMENT means the file has no more lines.
+     *
+     * @return Next token
+     * @throws IOException If the file cannot be read or is not valid JSON
+     * @throws APIException If a JSON Lines line holds more than one value
+     */
+    private JsonToken peekRecord() throws IOException, APIException {
+        if (!jsonLines) {
+            return reader.peek();
+        }
+        if (reader != null) {
+            // A line must hold exactly one value; strict mode rejects anything after it
+            if (reader.peek() != JsonToken.END_DOCUMENT) {
+                throw new APIException("Unexpected content after the object on line " + lineNumber
+                        + " in file: " + filePath);
+            }
+            reader = null;
+        }
+        String line = pendingLine;
+        pendingLine = null;
+        if (line == null) {
+            line = nextNonBlankLine();
+        } else {
+            lineNumber++;
+        }
+        if (line == null) {
+            return JsonToken.END_DOCUMENT;
+        }
+        reader = strictReader(new StringReader(line));
+        return reader.peek();
+    }
+
+    private String nextNonBlankLine() throws IOException {
+        String line;
+        while ((line = fileReader.readLine()) != null) {
+            lineNumber++;
+            if (!line.trim().isEmpty()) {
+                return line;
+            }
+        }
+        return null;
+    }
+
+    @Override
+    public boolean hasNext() {
+        if (nextRecord != null) {
+            return true;
+        }
+        if (finished) {
+            return false;
+        }
+
+        try {
+            JsonToken token;
+            while ((token = peekRecord()) == JsonToken.BEGIN_OBJECT) {
+                long recordPosition = position++;
+                if (!shard.isKeyed() && !shard.ownsPosition(recordPosition)) {
+                    reader.skipValue();
+                    continue;
+                }
+
+                Map<String, Object> record = readObject();
+                if (shard.owns(recordPosition, record)) {
+                    nextRecord = record;
+                    recordsRead++;
+                    return true;
+                }
+            }
+            if (!(arrayFormat ? token == JsonToken.END_ARRAY : token == JsonToken.END_DOCUMENT)) {
+                throw new APIException("Expected a JSON object but found " + token + " at "
+                        + (jsonLines ? "line " + lineNumber : reader.getPath()) + " in file: " + filePath);
+            }
+        } catch (IOException | IllegalStateException e) {
+            close();
+            String location = jsonLines ? " (line " + lineNumber + ")" : "";
+            throw new APIException("Failed to process JSON data from file " + filePath + location + ": "
+                    + e.getMessage(), e);
+        } catch (APIException e) {
+            close();
+            throw e;
+        }
+
+        logger.info("Streamed " + recordsRead + " items of test data from: " + filePath
+                + (shard.isSharded() ? " (" + shard + ")" : ""));
+        close();
+        return false;
+    }
+
+    @Override
+    public Map<String, Object> next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        Map<String, Object> record = nextRecord;
+        nextRecord = null;
+        return record;
+    }
+
+    private Map<String, Object> readObject() throws IOException {
+        Map<String, Object> map = new HashMap<>();
+        reader.beginObject();
+        while (reader.hasNext()) {
+            String key = reader.nextName();
+            map.put(key, readValue());
+        }
+        reader.endObject();
+        return map;
+    }
+
+    private List<Object> readArray() throws IOException {
+        List<Object> list = new ArrayList<>();
+        reader.beginArray();
+        while (reader.hasNext()) {
+            list.add(readValue());
+        }
+        reader.endArray();
+        return list;
+    }
+
+    private Object readValue() throws IOException {
+        switch (reader.peek()) {
+            case BEGIN_OBJECT:
+                return readObject();
+            case BEGIN_ARRAY:
+                return readArray();
+            case STRING:
+                return reader.nextString();
+            case NUMBER:
+                // Same Integer/Long/BigInteger/BigDecimal selection as org.json
+                return JSONObject.stringToValue(reader.nextString());
+            case BOOLEAN:
+                return reader.nextBoolean();
+            case NULL:
+                reader.nextNull();
+                return JSONObject.NULL;
+            default:
+                throw new IllegalStateException("Unexpected JSON token " + reader.peek() + " at " + reader.getPath());
+        }
+    }
+
+    /**
+     * Release the underlying file
+     */
+    @Override
+    public void close() {
+        finished = true;
+        try {
+            fileReader.close();
+        } catch (IOException e) {
+            logger.warn("Error closing JSON file " + filePath + ": " + e.getMessage());
+        }
+    }
+}
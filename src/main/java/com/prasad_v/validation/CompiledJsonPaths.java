@@ -0,0 +1,191 @@
+package com.prasad_v.validation;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import io.restassured.path.json.JsonPath;
+import io.restassured.response.Response;
+
+/**
+ * CompiledJsonPaths extracts the values of many JSON paths from a response with one parse
+ * and one walk over the document.
+ * Simple paths made of field names and array indexes (e.g. "data.items[0].id") are compiled
+ * into a shared prefix tree and resolved directly against the parsed document, without
+ * going through Groovy GPath evaluation. Any other expression (filters, spreads over lists,
+ * GPath methods) falls back to JsonPath.get() on the same parsed document, so results are
+ * identical to calling response.jsonPath().get(path) for each path.
+ * Instances are immutable and can be compiled once and shared between threads.
+ */
+public class CompiledJsonPaths {
+
+    private static final Pattern SIMPLE_PATH = Pattern.compile(
+            "(\\[\\d+\\])*[A-Za-z_$][\\w$]*(\\[\\d+\\])*(\\.[A-Za-z_$][\\w$]*(\\[\\d+\\])*)*|(\\[\\d+\\])+");
+    private static final Pattern SEGMENT = Pattern.compile("([A-Za-z_$][\\w$]*)|\\[(\\d+)\\]");
+
+    /**
+     * Node of the path prefix tree. Children are keyed by field name or array index.
+     */
+    private static final class Node {
+        private final Map<String, Node> fields = new HashMap<>();
+        private final Map<Integer, Node> indexes = new HashMap<>();
+        private final List<String> paths = new ArrayList<>();
+    }
+
+    private final List<String> allPaths;
+    private final List<String> gpathPaths;
+    private final Node root = new Node();
+
+    private CompiledJsonPaths(Collection<String> paths) {
+        List<String> ordered = new ArrayList<>();
+        List<String> fallback = new ArrayList<>();
+        for (String path : paths) {
+            if (ordered.contains(path)) {
+                continue;
+            }
+            ordered.add(path);
+            if (SIMPLE_PATH.matcher(path).matches()) {
+                insert(path);
+            } else {
+                fallback.add(path);
+            }
+        }
+        this.allPaths = Collections.unmodifiableList(ordered);
+        this.gpathPaths = Collections.unmodifiableList(fallback);
+    }
+
+    /**
+     * Compile a set of JSON paths
+     *
+     * @param paths JsonPath (GPath) expressions
+     * @return Compiled paths
+     */
+    public static CompiledJsonPaths compile(Collection<String> paths) {
+        return new CompiledJsonPaths(paths);
+    }
+
+    /**
+     * Compile a set of JSON paths
+     *
+     * @param paths JsonPath (GPath) expressions
+     * @return Compiled paths
+     */
+    public static CompiledJsonPaths compile(String... paths) {
+        List<String> list = new ArrayList<>(paths.length);
+        Collections.addAll(list, paths);
+        return new CompiledJsonPaths(list);
+    }
+
+    private void insert(String path) {
+        Node node = root;
+        Matcher matcher = SEGMENT.matcher(path);
+        while (matcher.find()) {
+            if (matcher.group(1) != null) {
+                node = node.fields.computeIfAbsent(matcher.group(1), k -> new Node());
+            } else {
+                node = node.indexes.computeIfAbsent(Integer.parseInt(matcher.group(2)), k -> new Node());
+            }
+        }
+        node.paths.add(path);
+    }
+
+    /**
+     * Get the compiled paths in the order they were given
+     *
+     * @return Paths
+     */
+    public List<String> getPaths() {
+        return allPaths;
+    }
+
+    /**
+     * Extract all path values from a response
+     *
+     * @param response RestAssured response
+     * @return Values keyed by path, in compile order; missing paths map to null
+     */
+    public Map<String, Object> extract(Response response) {
+        return extract(response.jsonPath());
+    }
+
+    /**
+     * Extract all path values from an already parsed document
+     *
+     * @param jsonPath Parsed response
+     * @return Values keyed by path, in compile order; missing paths map to null
+     */
+    public Map<String, Object> extract(JsonPath jsonPath) {
+        Map<String, Object> resolved = new HashMap<>();
+        List<String> unresolved = new ArrayList<>(gpathPaths);
+        walk(root, jsonPath.get(), resolved, unresolved);
+
+        for (String path : unresolved) {
+            resolved.put(path, jsonPath.get(path));
+        }
+
+        Map<String, Object> values = new LinkedHashMap<>();
+        for (String path : allPaths) {
+            values.put(path, resolved.get(path));
+        }
+        return values;
+    }
+
+    /**
+     * Resolve all paths below a node against the current document element.
+     * Paths that need GPath semantics at this point (a field name applied to a list or
+     * scalar) are handed to the fallback list instead.
+     */
+    private static void walk(Node node, Object current, Map<String, Object> resolved, List<String> unresolved) {
+        for (String path : node.paths) {
+            resolved.put(path, current);
+        }
+
+        for (Map.Entry<String, Node> child : node.fields.entrySet()) {
+            if (current instanceof Map) {
+                walk(child.getValue(), ((Map<?, ?>) current).get(child.getKey()), resolved, unresolved);
+            } else if (current == null) {
+                resolveAll(child.getValue(), null, resolved);
+            } else {
+                collectPaths(child.getValue(), unresolved);
+            }
+        }
+
+        for (Map.Entry<Integer, Node> child : node.indexes.entrySet()) {
+            if (current instanceof List) {
+                List<?> list = (List<?>) current;
+                int index = child.getKey();
+                Object element = index < list.size() ? list.get(index) : null;
+                walk(child.getValue(), element, resolved, unresolved);
+            } else if (current == null) {
+                resolveAll(child.getValue(), null, resolved);
+            } else {
+                collectPaths(child.getValue(), unresolved);
+            }
+        }
+    }
+
+    private static void resolveAll(Node node, Object value, Map<String, Object> resolved) {
+        for (String path : node.paths) {
+            resolved.put(path, value);
+        }
+        node.fields.values().forEach(child -> resolveAll(child, value, resolved));
+        node.indexes.values().forEach(child -> resolveAll(child, value, resolved));
+    }
+
+    private static void collectPaths(Node node, List<String> paths) {
+        paths.addAll(node.paths);
+        node.fields.values().forEach(child -> collectPaths(child, paths));
+        node.indexes.values().forEach(child -> collectPaths(child, paths));
+    }
+
+    @Override
+    public String toString() {
+        return "CompiledJsonPaths" + allPaths;
+    }
+}
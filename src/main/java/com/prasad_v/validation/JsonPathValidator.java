@@ -233,8 +233,42 @@ public class JsonPathValidator {
      * @param pathValueMap Map with JSON paths as keys and expected values
      */
     public void validateMultiplePaths(Response response, Map<String, Object> pathValueMap) {
+        validateMultiplePaths(response, CompiledJsonPaths.compile(pathValueMap.keySet()), pathValueMap);
+    }
+
+    /**
+     * Validate multiple JSON paths against expected values using pre-compiled paths.
+     * The response is parsed once and all values are extracted in a single pass
+     * before the assertions run; compile the paths once and reuse them across responses.
+     *
+     * @param response RestAssured response
+     * @param paths Compiled paths, must include every key of pathValueMap
+     * @param pathValueMap Map with JSON paths as keys and expected values
+     */
+    public void validateMultiplePaths(Response response, CompiledJsonPaths paths, Map<String, Object> pathValueMap) {
+        Map<String, Object> actualValues = null;
+        try {
+            actualValues = paths.extract(response);
+        } catch (Exception e) {
+            logFailure("Error extracting JSON paths " + paths.getPaths() + ": " + e.getMessage(), e);
+            Assert.fail("Error validating JSON paths: " + e.getMessage());
+        }
+
         for (Map.Entry<String, Object> entry : pathValueMap.entrySet()) {
-            validateEquals(response, entry.getKey(), entry.getValue());
+            String jsonPath = entry.getKey();
+            Object expectedValue = entry.getValue();
+            if (!actualValues.containsKey(jsonPath)) {
+                throw new IllegalArgumentException("JSON path '" + jsonPath + "' is not part of " + paths);
+            }
+
+            try {
+                Assert.assertEquals(actualValues.get(jsonPath), expectedValue,
+                        "JSON path '" + jsonPath + "' value should equal " + expectedValue);
+                logSuccess("JSON path validation passed: '" + jsonPath + "' equals " + expectedValue);
+            } catch (AssertionError e) {
+                logFailure("JSON path validation failed: '" + jsonPath + "' value does not equal expected value", e);
+                throw e;
+            }
         }
     }
 
@@ -254,7 +288,7 @@ public class JsonPathValidator {
      * @param message Failure message
      * @param e Exception
      */
-    private void logFailure(String message, Exception e) {
+    private void logFailure(String message, Throwable e) {
         logger.error(message, e);
         ExtentTestManager.logFail(message);
     }
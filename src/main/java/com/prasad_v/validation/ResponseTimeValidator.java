@@ -1,18 +1,29 @@
 package com.prasad_v.validation;
 
+import com.prasad_v.config.ConfigurationManager;
+import com.prasad_v.enums.RequestType;
 import com.prasad_v.exceptions.APIException;
 import com.prasad_v.logging.CustomLogger;
+import com.prasad_v.metrics.LatencyRecorder;
+import com.prasad_v.metrics.LatencySnapshot;
 import io.restassured.response.Response;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
+import java.util.Arrays;
+import java.util.List;
+
 /**
  * Utility class for validating API response times against defined thresholds.
- * Provides methods to verify if responses meet performance requirements.
+ * Provides methods to verify if responses meet performance requirements, either per
+ * response or as percentile SLOs over a sample set or over everything recorded for
+ * an endpoint during the suite.
  */
 public class ResponseTimeValidator {
 
     private static final Logger logger = LogManager.getLogger(ResponseTimeValidator.class);
+    private static final long DEFAULT_THRESHOLD_MS = 3000;
+    private static final int DEFAULT_MIN_SAMPLES = 20;
 
     /**
      * Validates if the response time is within the specified threshold.
@@ -97,4 +108,172 @@ public class ResponseTimeValidator {
 
         return difference;
     }
-}
\ No newline at end of file
+
+    /**
+     * Gets the configured response time threshold for a request type.
+     * Reads perf.threshold.get/post/put/delete/..., falling back to perf.threshold.default.
+     *
+     * @param requestType The HTTP method of the request
+     * @return The threshold in milliseconds
+     */
+    public static long getThreshold(RequestType requestType) {
+        ConfigurationManager config = ConfigurationManager.getInstance();
+        int defaultThreshold = config.getIntProperty("perf.threshold.default", (int) DEFAULT_THRESHOLD_MS);
+        return config.getIntProperty("perf.threshold." + requestType.name().toLowerCase(), defaultThreshold);
+    }
+
+    /**
+     * Calculates a response time percentile over a set of responses using the nearest-rank method.
+     *
+     * @param responses The API responses to analyze
+     * @param percentile The percentile to calculate (e.g. 95 or 99.9)
+     * @return The response time at the given percentile in milliseconds
+     * @throws APIException if no responses are given or the percentile is out of range
+     */
+    public static long calculatePercentile(List<Response> responses, double percentile) {
+        if (responses == null || responses.isEmpty()) {
+            throw new APIException("Cannot calculate a response time percentile without responses");
+        }
+        if (percentile <= 0 || percentile > 100) {
+            throw new APIException("Percentile must be greater than 0 and at most 100: " + percentile);
+        }
+
+        long[] times = new long[responses.size()];
+        for (int i = 0; i < times.length; i++) {
+            times[i] = responses.get(i).getTime();
+        }
+        Arrays.sort(times);
+
+        int rank = (int) Math.ceil(percentile / 100.0 * times.length);
+        return times[Math.max(0, rank - 1)];
+    }
+
+    /**
+     * Validates a percentile SLO over a set of responses, e.g. "p95 below 300 ms over N calls".
+     *
+     * @param responses The API responses to validate
+     * @param percentile The percentile to check (e.g. 95)
+     * @param thresholdInMillis The maximum acceptable response time at that percentile
+     * @return true if the percentile is within the threshold, false otherwise
+     */
+    public static boolean validatePercentile(List<Response> responses, double percentile, long thresholdInMillis) {
+        long value = calculatePercentile(responses, percentile);
+        boolean isValid = value <= thresholdInMillis;
+
+        if (isValid) {
+            logger.info("Percentile validation passed: p{} = {} ms over {} samples (threshold: {} ms)",
+                    percentile, value, responses.size(), thresholdInMillis);
+        } else {
+            logger.warn("Percentile validation failed: p{} = {} ms over {} samples exceeds threshold of {} ms",
+                    percentile, value, responses.size(), thresholdInMillis);
+        }
+
+        return isValid;
+    }
+
+    /**
+     * Asserts a percentile SLO over a set of responses and throws an exception if it is not met.
+     * The sample set must contain at least perf.slo.min.samples responses.
+     *
+     * @param responses The API responses to validate
+     * @param percentile The percentile to check (e.g. 95)
+     * @param thresholdInMillis The maximum acceptable response time at that percentile
+     * @throws APIException if there are too few samples or the percentile exceeds the threshold
+     */
+    public static void assertPercentile(List<Response> responses, double percentile, long thresholdInMillis) {
+        int sampleCount = responses == null ? 0 : responses.size();
+        assertEnoughSamples(sampleCount, "response set");
+
+        long value = calculatePercentile(responses, percentile);
+        if (value > thresholdInMillis) {
+            String errorMessage = String.format("Response time p%s (%d ms over %d samples) exceeds the threshold of %d ms",
+                    formatPercentile(percentile), value, sampleCount, thresholdInMillis);
+            logger.error(errorMessage);
+            throw new APIException(errorMessage);
+        }
+
+        logger.info("Percentile assertion passed: p{} = {} ms over {} samples (threshold: {} ms)",
+                percentile, value, sampleCount, thresholdInMillis);
+    }
+
+    /**
+     * Asserts a percentile SLO over a set of responses using the configured threshold for the request type.
+     *
+     * @param responses The API responses to validate
+     * @param requestType The HTTP method used for the responses
+     * @param percentile The percentile to check (e.g. 95)
+     * @throws APIException if there are too few samples or the percentile exceeds the threshold
+     */
+    public static void assertPercentile(List<Response> responses, RequestType requestType, double percentile) {
+        assertPercentile(responses, percentile, getThreshold(requestType));
+    }
+
+    /**
+     * Asserts a percentile SLO for an endpoint over every call recorded during the suite,
+     * e.g. "p99 below 1 s for GET /v1/products/{id}".
+     *
+     * @param requestType The HTTP method of the endpoint
+     * @param endpoint The endpoint URL or path; IDs in the path are normalized to {id}
+     * @param percentile The percentile to check (e.g. 99)
+     * @param thresholdInMillis The maximum acceptable response time at that percentile
+     * @throws APIException if nothing or too little was recorded, or the percentile exceeds the threshold
+     */
+    public static void assertEndpointPercentile(RequestType requestType, String endpoint,
+                                                double percentile, long thresholdInMillis) {
+        String endpointKey = LatencyRecorder.endpointKey(requestType.name(), endpoint);
+        LatencySnapshot snapshot = LatencyRecorder.getSnapshot(endpointKey);
+        long sampleCount = snapshot == null ? 0 : snapshot.getCount();
+        assertEnoughSamples(sampleCount, endpointKey);
+
+        double value = snapshot.getPercentileMs(percentile);
+        if (value > thresholdInMillis) {
+            String errorMessage = String.format("Response time p%s for %s (%.1f ms over %d samples) exceeds the threshold of %d ms",
+                    formatPercentile(percentile), endpointKey, value, sampleCount, thresholdInMillis);
+            logger.error(errorMessage);
+            throw new APIException(errorMessage);
+        }
+
+        logger.info("Endpoint percentile assertion passed for {}: p{} = {} ms over {} samples (threshold: {} ms)",
+                endpointKey, percentile, value, sampleCount, thresholdInMillis);
+    }
+
+    /**
+     * Asserts a percentile SLO for an endpoint over every call recorded during the suite,
+     * using the configured threshold for the request type.
+     *
+     * @param requestType The HTTP method of the endpoint
+     * @param endpoint The endpoint URL or path; IDs in the path are normalized to {id}
+     * @param percentile The percentile to check (e.g. 99)
+     * @throws APIException if nothing or too little was recorded, or the percentile exceeds the threshold
+     */
+    public static void assertEndpointPercentile(RequestType requestType, String endpoint, double percentile) {
+        assertEndpointPercentile(requestType, endpoint, percentile, getThreshold(requestType));
+    }
+
+    /**
+     * Ensures a sample set is large enough for a meaningful percentile (perf.slo.min.samples).
+     *
+     * @param sampleCount Number of samples available
+     * @param source Description of the samples for the error message
+     * @throws APIException if there are fewer samples than required
+     */
+    private static void assertEnoughSamples(long sampleCount, String source) {
+        int minSamples = ConfigurationManager.getInstance().getIntProperty("perf.slo.min.samples", DEFAULT_MIN_SAMPLES);
+        if (sampleCount < Math.max(1, minSamples)) {
+            String errorMessage = String.format("Not enough samples for a percentile assertion on %s: %d (minimum %d)",
+                    source, sampleCount, minSamples);
+            logger.error(errorMessage);
+            throw new APIException(errorMessage);
+        }
+    }
+
+    /**
+     * Formats a percentile for messages, e.g. 95.0 as "95" and 99.9 as "99.9".
+     *
+     * @param percentile The percentile
+     * @return The formatted percentile
+     */
+    private static String formatPercentile(double percentile) {
+        return percentile == Math.rint(percentile) ? String.valueOf((long) percentile) : String.valueOf(percentile);
+    }
+}
@@ -1,26 +1,56 @@
 package com.prasad_v.validation;
 
+import com.fasterxml.jackson.databind.JsonNode;
+import com.github.fge.jackson.JsonLoader;
+import com.github.fge.jsonschema.core.exceptions.ProcessingException;
+import com.github.fge.jsonschema.core.report.ProcessingMessage;
+import com.github.fge.jsonschema.core.report.ProcessingReport;
+import com.github.fge.jsonschema.main.JsonSchema;
+import com.github.fge.jsonschema.main.JsonSchemaFactory;
+import com.prasad_v.cache.BoundedCache;
+import com.prasad_v.config.ConfigurationManager;
 import com.prasad_v.exceptions.APIException;
-import io.restassured.module.jsv.JsonSchemaValidator;
 import io.restassured.response.Response;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
 import java.io.File;
+import java.io.IOException;
 import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 /**
  * Utility class for validating API responses against JSON schemas.
  * Provides methods to verify that response bodies conform to predefined schemas.
+ * Schemas are compiled once and cached (keyed by file path or content hash), so repeated
+ * validations only pay for walking the response body. Schemas given as content are kept in a
+ * bounded cache (size set by schema.cache.max.size), since callers may generate any number of them.
  */
 public class SchemaValidator {
 
     private static final Logger logger = LogManager.getLogger(SchemaValidator.class);
     private static final String SCHEMA_BASE_PATH = "src/test/resources/schemas/";
 
+    private static final JsonSchemaFactory schemaFactory = JsonSchemaFactory.byDefault();
+
+    // Compiled schema files keyed by "file:<absolute path>"
+    private static final Map<String, JsonSchema> schemaCache = new ConcurrentHashMap<>();
+
+    // Compiled schema content keyed by "sha256:<content hash>"
+    private static final BoundedCache<String, JsonSchema> contentSchemaCache = new BoundedCache<>("json-schema",
+            ConfigurationManager.getInstance().getIntProperty("schema.cache.max.size", 256));
+
     /**
      * Validates if the response body conforms to the specified JSON schema file.
      *
@@ -38,7 +68,11 @@ public class SchemaValidator {
                 return false;
             }
 
-            response.then().assertThat().body(JsonSchemaValidator.matchesJsonSchema(schemaFile));
+            ProcessingReport report = validate(getSchema(schemaFile), response);
+            if (!report.isSuccess()) {
+                logger.error("Schema validation failed: {}", formatReport(report));
+                return false;
+            }
             logger.info("Schema validation passed against schema: {}", schemaFileName);
             return true;
         } catch (Exception e) {
@@ -65,12 +99,19 @@ public class SchemaValidator {
                 throw new APIException(errorMessage);
             }
 
-            response.then().assertThat().body(JsonSchemaValidator.matchesJsonSchema(schemaFile));
+            ProcessingReport report = validate(getSchema(schemaFile), response);
+            if (!report.isSuccess()) {
+                throw new AssertionError(formatReport(report));
+            }
             logger.info("Schema assertion passed against schema: {}", schemaFileName);
         } catch (AssertionError e) {
             String errorMessage = "Schema validation failed: " + e.getMessage();
             logger.error(errorMessage);
             throw new APIException(errorMessage);
+        } catch (IOException | ProcessingException e) {
+            String errorMessage = "Schema validation could not be performed: " + e.getMessage();
+            logger.error(errorMessage);
+            throw new APIException(errorMessage, e);
         }
     }
 
@@ -83,7 +124,22 @@ public class SchemaValidator {
      */
     public static boolean validateSchemaFromStream(Response response, InputStream schemaStream) {
         try {
-            response.then().assertThat().body(JsonSchemaValidator.matchesJsonSchema(schemaStream));
+            String schemaContent;
+            try (InputStreamReader reader = new InputStreamReader(schemaStream, StandardCharsets.UTF_8)) {
+                StringBuilder sb = new StringBuilder();
+                char[] buffer = new char[8192];
+                int read;
+                while ((read = reader.read(buffer)) != -1) {
+                    sb.append(buffer, 0, read);
+                }
+                schemaContent = sb.toString();
+            }
+
+            ProcessingReport report = validate(getSchemaFromContent(schemaContent), response);
+            if (!report.isSuccess()) {
+                logger.error("Schema validation failed: {}", formatReport(report));
+                return false;
+            }
             logger.info("Schema validation passed against provided schema stream");
             return true;
         } catch (Exception e) {
@@ -101,7 +157,11 @@ public class SchemaValidator {
      */
     public static boolean validateSchemaFromString(Response response, String schemaContent) {
         try {
-            response.then().assertThat().body(JsonSchemaValidator.matchesJsonSchemaInClasspath(createTempSchemaFile(schemaContent)));
+            ProcessingReport report = validate(getSchemaFromContent(schemaContent), response);
+            if (!report.isSuccess()) {
+                logger.error("Schema validation failed: {}", formatReport(report));
+                return false;
+            }
             logger.info("Schema validation passed against provided schema string");
             return true;
         } catch (Exception e) {
@@ -111,17 +171,143 @@ public class SchemaValidator {
     }
 
     /**
-     * Creates a temporary file from a schema string for validation purposes.
+     * Gets the compiled schema for a file, compiling and caching it on first use.
+     *
+     * @param schemaFile The schema file
+     * @return The compiled schema
+     * @throws APIException if the schema cannot be read or compiled
+     */
+    private static JsonSchema getSchema(File schemaFile) {
+        String key = "file:" + schemaFile.getAbsoluteFile().toPath().normalize();
+        return schemaCache.computeIfAbsent(key, k -> {
+            try {
+                logger.debug("Compiling JSON schema: {}", schemaFile);
+                // Load by URI so relative $refs resolve against the schema's own location
+                return schemaFactory.getJsonSchema(schemaFile.toURI().toString());
+            } catch (ProcessingException e) {
+                throw new APIException("Failed to compile JSON schema " + schemaFile + ": " + e.getMessage(), e);
+            }
+        });
+    }
+
+    /**
+     * Gets the compiled schema for schema content, keyed by the SHA-256 hash of the content.
      *
      * @param schemaContent The schema content as a string
-     * @return The path to the temporary file
-     * @throws Exception if an error occurs while creating the temporary file
+     * @return The compiled schema
+     * @throws APIException if the schema cannot be parsed or compiled
+     */
+    private static JsonSchema getSchemaFromContent(String schemaContent) {
+        String key = "sha256:" + sha256(schemaContent);
+        return contentSchemaCache.get(key, k -> {
+            try {
+                logger.debug("Compiling JSON schema from content: {}", k);
+                return schemaFactory.getJsonSchema(JsonLoader.fromString(schemaContent));
+            } catch (IOException | ProcessingException e) {
+                throw new APIException("Failed to compile JSON schema from content: " + e.getMessage(), e);
+            }
+        });
+    }
+
+    /**
+     * Validates a response body against a compiled schema.
+     *
+     * @param schema The compiled schema
+     * @param response The API response to validate
+     * @return The validation report
+     * @throws IOException if the response body is not valid JSON
+     * @throws ProcessingException if validation cannot be performed
+     */
+    private static ProcessingReport validate(JsonSchema schema, Response response) throws IOException, ProcessingException {
+        JsonNode instance = JsonLoader.fromString(response.asString());
+        return schema.validate(instance);
+    }
+
+    /**
+     * Formats the error messages of a validation report.
+     *
+     * @param report The validation report
+     * @return The error messages, one per line
+     */
+    private static String formatReport(ProcessingReport report) {
+        StringBuilder sb = new StringBuilder();
+        for (ProcessingMessage message : report) {
+            if (sb.length() > 0) {
+                sb.append(System.lineSeparator());
+            }
+            sb.append(message.getMessage());
+            JsonNode pointer = message.asJson().path("instance").path("pointer");
+            if (!pointer.isMissingNode()) {
+                sb.append(" (at '").append(pointer.asText()).append("')");
+            }
+        }
+        return sb.toString();
+    }
+
+    private static String sha256(String content) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(content.getBytes(StandardCharsets.UTF_8));
+            StringBuilder hex = new StringBuilder(digest.length * 2);
+            for (byte b : digest) {
+                hex.append(String.format("%02x", b));
+            }
+            return hex.toString();
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    /**
+     * Compiles every schema under the schemas directory so the first validations
+     * do not pay the compile cost. Schemas that fail to compile are logged and skipped.
+     *
+     * @return The number of schemas compiled
+     */
+    public static int preloadSchemas() {
+        Path baseDir = Paths.get(SCHEMA_BASE_PATH);
+        if (!Files.isDirectory(baseDir)) {
+            logger.warn("Schema directory not found, nothing to preload: {}", baseDir);
+            return 0;
+        }
+
+        List<Path> schemaFiles;
+        try (Stream<Path> paths = Files.walk(baseDir)) {
+            schemaFiles = paths.filter(Files::isRegularFile)
+                    .filter(p -> p.toString().endsWith(".json"))
+                    .collect(Collectors.toList());
+        } catch (IOException e) {
+            logger.error("Failed to list schema directory {}: {}", baseDir, e.getMessage());
+            return 0;
+        }
+
+        int loaded = 0;
+        for (Path schemaFile : schemaFiles) {
+            try {
+                getSchema(schemaFile.toFile());
+                loaded++;
+            } catch (APIException e) {
+                logger.error(e.getMessage());
+            }
+        }
+        logger.info("Preloaded {} JSON schemas from {}", loaded, baseDir);
+        return loaded;
+    }
+
+    /**
+     * Gets the number of compiled schemas in the cache.
+     *
+     * @return The cache size
+     */
+    public static int getCachedSchemaCount() {
+        return schemaCache.size() + contentSchemaCache.size();
+    }
+
+    /**
+     * Removes all compiled schemas from the cache, e.g. after schema files were changed.
      */
-    private static String createTempSchemaFile(String schemaContent) throws Exception {
-        Path tempFile = Files.createTempFile("schema-", ".json");
-        Files.write(tempFile, schemaContent.getBytes());
-        tempFile.toFile().deleteOnExit();
-        return tempFile.toString();
+    public static void clearSchemaCache() {
+        schemaCache.clear();
+        contentSchemaCache.clear();
     }
 
     /**
@@ -0,0 +1,89 @@
+package com.prasad_v.cache;
+
+import com.prasad_v.exceptions.APIException;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.io.IOException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class BoundedCacheTest {
+
+    @Test
+    public void testLeastRecentlyUsedEntryIsEvicted() {
+        BoundedCache<String, String> cache = new BoundedCache<>("test", 2);
+        cache.get("a", String::toUpperCase);
+        cache.get("b", String::toUpperCase);
+        // Touch a, so b is the least recently used
+        cache.get("a", String::toUpperCase);
+        cache.get("c", String::toUpperCase);
+
+        Assert.assertEquals(cache.size(), 2);
+        Assert.assertEquals(cache.getEvictionCount(), 1);
+        AtomicInteger loads = new AtomicInteger();
+        cache.get("a", key -> "reloaded-" + loads.incrementAndGet());
+        Assert.assertEquals(loads.get(), 0, "a should still be cached");
+        Assert.assertEquals(cache.get("b", key -> "reloaded-" + loads.incrementAndGet()), "reloaded-1");
+    }
+
+    @Test
+    public void testFailedLoadIsNotCached() {
+        BoundedCache<String, String> cache = new BoundedCache<>("test", 4);
+        RuntimeException failure = new IllegalStateException("boom");
+        Assert.assertSame(Assert.expectThrows(IllegalStateException.class, () -> cache.get("a", key -> {
+            throw failure;
+        })), failure);
+
+        Assert.assertEquals(cache.size(), 0);
+        Assert.assertEquals(cache.getLoadFailureCount(), 1);
+        Assert.assertEquals(cache.get("a", String::toUpperCase), "A", "The next caller retries the load");
+    }
+
+    @Test
+    public void testCheckedLoadFailureIsWrapped() {
+        BoundedCache<String, String> cache = new BoundedCache<>("test", 4);
+        APIException e = Assert.expectThrows(APIException.class, () -> cache.get("a", key -> {
+            throw new IOException("missing");
+        }));
+        Assert.assertTrue(e.getCause() instanceof IOException);
+    }
+
+    @Test
+    public void testConcurrentMissesLoadOnce() throws Exception {
+        BoundedCache<String, String> cache = new BoundedCache<>("test", 4);
+        AtomicInteger loads = new AtomicInteger();
+        CountDownLatch loading = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            Future<String> first = executor.submit(() -> cache.get("a", key -> {
+                loads.incrementAndGet();
+                loading.countDown();
+                release.await();
+                return "A";
+            }));
+            Assert.assertTrue(loading.await(5, TimeUnit.SECONDS));
+            Future<String> second = executor.submit(() -> cache.get("a", key -> {
+                loads.incrementAndGet();
+                return "other";
+            }));
+            release.countDown();
+
+            Assert.assertEquals(first.get(5, TimeUnit.SECONDS), "A");
+            Assert.assertEquals(second.get(5, TimeUnit.SECONDS), "A");
+            Assert.assertEquals(loads.get(), 1);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void testInvalidSizeIsRejected() {
+        Assert.assertThrows(IllegalArgumentException.class, () -> new BoundedCache<String, String>("test", 0));
+    }
+}
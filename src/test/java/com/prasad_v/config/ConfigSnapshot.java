@@ -0,0 +1,50 @@
+package com.prasad_v.config;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Properties;
+
+/**
+ * Saves the JVM-wide ConfigurationManager properties so a test class that changes them can
+ * put the suite's configuration back afterwards. Restoring loads the saved copy, which also
+ * drops any runtime overrides the test set.
+ */
+public final class ConfigSnapshot {
+
+    private final Path savedConfig;
+
+    private ConfigSnapshot(Path savedConfig) {
+        this.savedConfig = savedConfig;
+    }
+
+    /**
+     * Save the current configuration
+     *
+     * @return Snapshot to restore later
+     * @throws IOException If the snapshot cannot be written
+     */
+    public static ConfigSnapshot take() throws IOException {
+        Properties current = new Properties();
+        current.putAll(ConfigurationManager.getInstance().getProperties());
+        Path savedConfig = Files.createTempFile("previous", ".properties");
+        try (Writer out = Files.newBufferedWriter(savedConfig)) {
+            current.store(out, null);
+        }
+        return new ConfigSnapshot(savedConfig);
+    }
+
+    /**
+     * Load the saved configuration back and delete the snapshot
+     *
+     * @throws IOException If the snapshot cannot be read
+     */
+    public void restore() throws IOException {
+        try {
+            ConfigurationManager.getInstance().loadConfig(savedConfig.toString());
+        } finally {
+            Files.deleteIfExists(savedConfig);
+        }
+    }
+}
@@ -0,0 +1,89 @@
+package com.prasad_v.config;
+
+import org.testng.Assert;
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+public class ConfigurationManagerTest {
+
+    private final ConfigurationManager config = ConfigurationManager.getInstance();
+    private Path configFile;
+    private ConfigSnapshot previousConfig;
+
+    @BeforeClass
+    public void saveCurrentConfig() throws IOException {
+        previousConfig = ConfigSnapshot.take();
+        configFile = Files.createTempFile("config", ".properties");
+    }
+
+    @AfterClass(alwaysRun = true)
+    public void restoreConfig() throws IOException {
+        previousConfig.restore();
+        Files.deleteIfExists(configFile);
+    }
+
+    @Test
+    public void testTypedValuesAreParsedOnce() throws IOException {
+        load("count=42\nnegative=-3\nratio=1.5\nname=abc\nflag=TRUE\nother=yes\n");
+
+        Assert.assertEquals(config.getIntProperty("count", 0), 42);
+        Assert.assertEquals(config.getIntProperty("negative", 0), -3);
+        Assert.assertEquals(config.getIntProperty("ratio", 7), 7, "Non-integers fall back to the default");
+        Assert.assertEquals(config.getIntProperty("name", 7), 7);
+        Assert.assertEquals(config.getIntProperty("missing", 7), 7);
+        Assert.assertTrue(config.getBooleanProperty("flag", false));
+        Assert.assertFalse(config.getBooleanProperty("other", true), "Only 'true' is true");
+        Assert.assertTrue(config.getBooleanProperty("missing", true));
+        Assert.assertEquals(config.getProperty("ratio"), "1.5");
+    }
+
+    @Test
+    public void testListenersAreToldOnlyTheChangedKeys() throws IOException {
+        load("same=1\nchanged=1\nremoved=1\n");
+        Set<String> notified = new HashSet<>();
+        ConfigChangeListener listener = notified::addAll;
+        config.addChangeListener(listener);
+        try {
+            load("same=1\nchanged=2\nadded=1\n");
+            Assert.assertEquals(notified, Set.of("changed", "removed", "added"));
+
+            notified.clear();
+            config.setProperty("same", "1");
+            Assert.assertTrue(notified.isEmpty(), "Setting an unchanged value is not a change");
+        } finally {
+            config.removeChangeListener(listener);
+        }
+    }
+
+    @Test
+    public void testRuntimeOverridesSurviveReloadButNotLoad() throws IOException {
+        load("a=1\nb=1\n");
+        config.setProperty("a", "override");
+
+        Files.writeString(configFile, "a=2\nb=2\nc=2\n");
+        config.reloadConfig(configFile.toString());
+        Assert.assertEquals(config.getProperties(), Map.of("a", "override", "b", "2", "c", "2"));
+
+        config.loadConfig(configFile.toString());
+        Assert.assertEquals(config.getProperty("a"), "2");
+    }
+
+    @Test
+    public void testPropertiesViewIsReadOnly() throws IOException {
+        load("a=1\n");
+        Assert.assertThrows(UnsupportedOperationException.class, () -> config.getProperties().put("a", "2"));
+    }
+
+    private void load(String content) throws IOException {
+        Files.writeString(configFile, content);
+        config.loadConfig(configFile.toString());
+    }
+}
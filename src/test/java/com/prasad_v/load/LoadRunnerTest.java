@@ -0,0 +1,66 @@
+package com.prasad_v.load;
+
+import com.prasad_v.exceptions.APIException;
+import com.prasad_v.requestbuilder.RequestBuilder;
+import io.restassured.response.Response;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+public class LoadRunnerTest {
+
+    @Test
+    public void testClosedModelRunsForTheWholeDurationPastTheGracePeriod() throws APIException {
+        StubTemplate template = new StubTemplate();
+        LoadProfile profile = LoadProfile.fixedConcurrency(2, Duration.ofSeconds(3))
+                .setThinkTime(Duration.ofMillis(20));
+        // A grace period shorter than the run used to cut the users off when it expired
+        LoadRunner runner = new LoadRunner(template, profile, TimeUnit.SECONDS.toNanos(1));
+
+        long startNanos = System.nanoTime();
+        LoadResult result = runner.run();
+
+        Assert.assertTrue(result.getElapsed().compareTo(Duration.ofMillis(2900)) >= 0,
+                "Run ended early after " + result.getElapsed());
+        long lastRequestAfter = template.lastExecutedNanos.get() - startNanos;
+        Assert.assertTrue(lastRequestAfter >= TimeUnit.MILLISECONDS.toNanos(2500),
+                "Users stopped after " + TimeUnit.NANOSECONDS.toMillis(lastRequestAfter) + " ms");
+        Assert.assertEquals(result.getErrorCount(), result.getCompletedCount(), "The stub fails every request");
+    }
+
+    @Test
+    public void testSecondRunReportsOnlyItsOwnRequests() throws APIException {
+        StubTemplate template = new StubTemplate();
+        LoadProfile profile = LoadProfile.fixedConcurrency(1, Duration.ofMillis(300))
+                .setThinkTime(Duration.ofMillis(20));
+        LoadRunner runner = new LoadRunner(template, profile);
+
+        LoadResult first = runner.run();
+        long executedBySecond = -template.executions.get();
+        LoadResult second = runner.run();
+        executedBySecond += template.executions.get();
+
+        Assert.assertEquals(first.getCompletedCount(), first.getErrorCount());
+        Assert.assertTrue(first.getCompletedCount() > 0, "The first run sent no requests");
+        Assert.assertEquals(second.getCompletedCount(), executedBySecond, "Counts carried over from the first run");
+    }
+
+    /**
+     * Request template that counts its executions, records the last one and fails without any network call
+     */
+    private static class StubTemplate extends RequestBuilder {
+
+        private final AtomicLong lastExecutedNanos = new AtomicLong();
+        private final AtomicLong executions = new AtomicLong();
+
+        @Override
+        public Response execute() throws APIException {
+            executions.incrementAndGet();
+            lastExecutedNanos.set(System.nanoTime());
+            throw new APIException("stub");
+        }
+    }
+}
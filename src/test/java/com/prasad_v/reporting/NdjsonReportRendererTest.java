@@ -0,0 +1,34 @@
+package com.prasad_v.reporting;
+
+import com.aventstack.extentreports.Status;
+import com.aventstack.extentreports.markuputils.CodeLanguage;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+public class NdjsonReportRendererTest {
+
+    @Test
+    public void testJsonBodyIsRenderedAsEscapedText() throws IOException {
+        Path directory = Files.createTempDirectory("report-events");
+        NdjsonReportSink sink = new NdjsonReportSink(directory, false);
+        // What ExtentTestManager.logJson posts for a body below report.blob.min.bytes
+        String body = "{\"id\":1,\"note\":\"<b>&</b>\"}";
+        sink.startTest(1, 0, "json body", "");
+        ReportEvent.code(sink, 1, Status.INFO, body, CodeLanguage.JSON).run();
+        sink.endTest(1);
+        sink.close();
+
+        Path html = NdjsonReportRenderer.render(sink.getEventLog(), directory.resolve("report.html"));
+        String report = Files.readString(html, StandardCharsets.UTF_8);
+
+        Assert.assertTrue(report.contains("{&quot;id&quot;:1,&quot;note&quot;:&quot;&lt;b&gt;&amp;&lt;/b&gt;&quot;}"),
+                "Body missing from report");
+        Assert.assertFalse(report.contains("<script"), "The report must not depend on Extent's scripts");
+        Assert.assertFalse(report.contains("malformed"), "Every event line should render");
+    }
+}
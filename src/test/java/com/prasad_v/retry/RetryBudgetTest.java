@@ -0,0 +1,96 @@
+package com.prasad_v.retry;
+
+import com.prasad_v.config.ConfigSnapshot;
+import com.prasad_v.config.ConfigurationManager;
+import org.testng.Assert;
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+
+import java.io.IOException;
+
+public class RetryBudgetTest {
+
+    private ConfigSnapshot previousConfig;
+
+    @BeforeClass
+    public void saveCurrentConfig() throws IOException {
+        previousConfig = ConfigSnapshot.take();
+    }
+
+    @AfterClass(alwaysRun = true)
+    public void restoreConfig() throws IOException {
+        previousConfig.restore();
+    }
+
+    @Test
+    public void testRequestsDepositTheirShareOfARetry() {
+        RetryBudget budget = new RetryBudget(20, 0);
+        Assert.assertEquals(budget.getAvailableRetries(), 0);
+        Assert.assertFalse(budget.tryAcquire());
+
+        for (int i = 0; i < 4; i++) {
+            budget.recordRequest();
+        }
+        Assert.assertEquals(budget.getAvailableRetries(), 0, "4 requests at 20% are not a whole retry");
+        budget.recordRequest();
+        Assert.assertTrue(budget.tryAcquire());
+        Assert.assertFalse(budget.tryAcquire());
+    }
+
+    @Test
+    public void testBalanceIsCapped() {
+        RetryBudget budget = new RetryBudget(100, 0);
+        for (int i = 0; i < 50; i++) {
+            budget.recordRequest();
+        }
+        // At least ten tokens, even when the refill rate is zero
+        Assert.assertEquals(budget.getAvailableRetries(), 10);
+
+        RetryBudget fastRefill = new RetryBudget(100, 3);
+        for (int i = 0; i < 100; i++) {
+            fastRefill.recordRequest();
+        }
+        Assert.assertEquals(fastRefill.getAvailableRetries(), 30, "Ten seconds of refill");
+    }
+
+    @Test
+    public void testMinimumRateRefillsAnEmptyBucket() throws InterruptedException {
+        RetryBudget budget = new RetryBudget(0, 10);
+        // Starts with one second's worth of retries
+        int acquired = 0;
+        while (budget.tryAcquire()) {
+            acquired++;
+        }
+        Assert.assertTrue(acquired >= 10 && acquired <= 11, "Acquired " + acquired);
+
+        Thread.sleep(300);
+        Assert.assertTrue(budget.getAvailableRetries() >= 2, "Available " + budget.getAvailableRetries());
+    }
+
+    @Test
+    public void testZeroBudgetNeverRetries() {
+        RetryBudget budget = new RetryBudget(0, 0);
+        for (int i = 0; i < 100; i++) {
+            budget.recordRequest();
+        }
+        Assert.assertFalse(budget.tryAcquire());
+    }
+
+    @Test
+    public void testConfigChangeRebuildsTheSharedBudget() {
+        RetryBudget before = RetryBudget.getInstance();
+        // Empty the shared budget, so a carried-over balance differs from a fresh one
+        while (before.tryAcquire()) {
+            // drain
+        }
+        long carried = before.getAvailableRetries();
+
+        ConfigurationManager.getInstance().setProperty("request.retry.budget.min.per.second", "50");
+        RetryBudget after = RetryBudget.getInstance();
+        Assert.assertNotSame(after, before);
+        // A fresh budget at 50 per second would start with 50 retries
+        Assert.assertTrue(after.getAvailableRetries() <= carried + 5,
+                "Balance was not carried over: " + after.getAvailableRetries() + " vs " + carried);
+    }
+}
@@ -0,0 +1,75 @@
+package com.prasad_v.retry;
+
+import com.prasad_v.enums.RequestType;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.Set;
+
+public class RetryPolicyTest {
+
+    private final RetryPolicy policy = new RetryPolicy(true, 3, 100, 1000, Set.of(429, 502, 503));
+
+    @Test
+    public void testParseRetryAfterDelaySeconds() {
+        Assert.assertEquals(RetryPolicy.parseRetryAfter("5"), 5000);
+        Assert.assertEquals(RetryPolicy.parseRetryAfter(" 0 "), 0);
+    }
+
+    @Test
+    public void testParseRetryAfterHttpDate() {
+        String inTenSeconds = DateTimeFormatter.RFC_1123_DATE_TIME.format(ZonedDateTime.now(ZoneOffset.UTC).plusSeconds(10));
+        long delay = RetryPolicy.parseRetryAfter(inTenSeconds);
+        // The header has one-second resolution
+        Assert.assertTrue(delay > 8000 && delay <= 10000, "Unexpected delay: " + delay);
+
+        String past = DateTimeFormatter.RFC_1123_DATE_TIME.format(ZonedDateTime.now(ZoneOffset.UTC).minusMinutes(1));
+        Assert.assertEquals(RetryPolicy.parseRetryAfter(past), 0);
+    }
+
+    @Test
+    public void testParseRetryAfterRejectsJunk() {
+        Assert.assertEquals(RetryPolicy.parseRetryAfter(null), -1);
+        Assert.assertEquals(RetryPolicy.parseRetryAfter(""), -1);
+        Assert.assertEquals(RetryPolicy.parseRetryAfter("soon"), -1);
+        Assert.assertEquals(RetryPolicy.parseRetryAfter("1.5"), -1);
+    }
+
+    @Test
+    public void testBackoffStaysWithinCappedExponentialBound() {
+        for (int attempt = 0; attempt < 10; attempt++) {
+            long ceiling = Math.min(1000, 100L << attempt);
+            for (int i = 0; i < 200; i++) {
+                long delay = policy.getBackoffMillis(attempt);
+                Assert.assertTrue(delay >= 0 && delay <= ceiling,
+                        "Attempt " + attempt + " delay " + delay + " outside [0, " + ceiling + "]");
+            }
+        }
+    }
+
+    @Test
+    public void testBackoffIsZeroWithoutBaseDelay() {
+        RetryPolicy noDelay = new RetryPolicy(true, 3, 0, 1000, Set.of(503));
+        Assert.assertEquals(noDelay.getBackoffMillis(5), 0);
+    }
+
+    @Test
+    public void testDelayHonoursRetryAfterUpToMaxDelay() {
+        Assert.assertEquals(policy.getDelayMillis(0, "1"), 1000);
+        Assert.assertEquals(policy.getDelayMillis(0, "2"), -1);
+        long fallback = policy.getDelayMillis(1, "soon");
+        Assert.assertTrue(fallback >= 0 && fallback <= 200, "Unexpected fallback delay: " + fallback);
+    }
+
+    @Test
+    public void testOnlyIdempotentRequestsAreRetried() {
+        Assert.assertTrue(policy.allowsRetry(RequestType.GET));
+        Assert.assertFalse(policy.allowsRetry(RequestType.POST));
+        Assert.assertFalse(new RetryPolicy(false, 3, 100, 1000, Set.of(503)).allowsRetry(RequestType.GET));
+        Assert.assertTrue(policy.isRetryableStatus(503));
+        Assert.assertFalse(policy.isRetryableStatus(500));
+    }
+}
@@ -0,0 +1,89 @@
+package com.prasad_v.testdata;
+
+import org.json.JSONObject;
+import org.testng.Assert;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+public class BinaryDataCacheTest {
+
+    private Path directory;
+    private Path source;
+
+    @BeforeMethod
+    public void createSource() throws IOException {
+        directory = Files.createTempDirectory("tdcache");
+        source = Files.writeString(directory.resolve("users.xlsx"), "source content");
+    }
+
+    @AfterMethod(alwaysRun = true)
+    public void deleteDirectory() throws IOException {
+        try (Stream<Path> files = Files.walk(directory)) {
+            files.sorted(Comparator.reverseOrder()).forEach(path -> path.toFile().delete());
+        }
+    }
+
+    @Test
+    public void testRowsRoundTrip() {
+        Map<String, Object> first = new LinkedHashMap<>();
+        first.put("name", "Ann");
+        first.put("age", 31);
+        first.put("balance", 12.5);
+        first.put("active", true);
+        first.put("id", 9_000_000_000L);
+        first.put("amount", new BigDecimal("0.10"));
+        first.put("nothing", null);
+        first.put("jsonNull", JSONObject.NULL);
+        Map<String, Object> second = new LinkedHashMap<>();
+        second.put("name", "Bob");
+        second.put("extra", "only here");
+        List<Map<String, Object>> rows = List.of(first, second);
+
+        BinaryDataCache.write(source, null, rows);
+        List<Map<String, Object>> cached = BinaryDataCache.read(source, null);
+
+        Assert.assertNotNull(cached);
+        Assert.assertEquals(cached.size(), 2);
+        Assert.assertEquals(new HashMap<>(cached.get(0)), new HashMap<>(first));
+        Assert.assertEquals(new HashMap<>(cached.get(1)), new HashMap<>(second));
+        Assert.assertFalse(cached.get(1).containsKey("age"), "Absent cells stay absent");
+    }
+
+    @Test
+    public void testSourceChangeInvalidatesTheCache() throws IOException {
+        BinaryDataCache.write(source, null, List.of(Map.of("name", "Ann")));
+        Files.writeString(source, "changed content");
+        Assert.assertNull(BinaryDataCache.read(source, null));
+    }
+
+    @Test
+    public void testSheetsWithSimilarNamesDoNotShareAFile() {
+        Assert.assertNotEquals(BinaryDataCache.cacheFileFor(source, "Sheet 1"),
+                BinaryDataCache.cacheFileFor(source, "Sheet_1"));
+
+        BinaryDataCache.write(source, "Sheet 1", List.of(Map.of("sheet", "space")));
+        BinaryDataCache.write(source, "Sheet_1", List.of(Map.of("sheet", "underscore")));
+
+        Assert.assertEquals(BinaryDataCache.read(source, "Sheet 1").get(0).get("sheet"), "space");
+        Assert.assertEquals(BinaryDataCache.read(source, "Sheet_1").get(0).get("sheet"), "underscore");
+        Assert.assertNull(BinaryDataCache.read(source, null));
+    }
+
+    @Test
+    public void testNestedValuesAreNotCached() {
+        BinaryDataCache.write(source, null, List.of(Map.of("address", Map.of("city", "Pune"))));
+        Assert.assertFalse(Files.exists(BinaryDataCache.cacheFileFor(source, null)));
+    }
+}
@@ -0,0 +1,68 @@
+package com.prasad_v.testdata;
+
+import com.prasad_v.exceptions.APIException;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.util.Map;
+
+public class ShardSpecTest {
+
+    @Test
+    public void testPositionsArePartitionedAcrossShards() {
+        int count = 3;
+        for (long position = 0; position < 100; position++) {
+            int owners = 0;
+            for (int index = 0; index < count; index++) {
+                if (ShardSpec.of(index, count).ownsPosition(position)) {
+                    owners++;
+                }
+            }
+            Assert.assertEquals(owners, 1, "Position " + position + " must have exactly one owner");
+        }
+        Assert.assertTrue(ShardSpec.of(1, 3).ownsPosition(4));
+        Assert.assertFalse(ShardSpec.of(1, 3).ownsPosition(5));
+    }
+
+    @Test
+    public void testKeyedRowsArePartitionedAcrossShards() {
+        int count = 4;
+        int[] perShard = new int[count];
+        for (int id = 0; id < 200; id++) {
+            Map<String, Object> row = Map.of("id", "user-" + id);
+            int owners = 0;
+            for (int index = 0; index < count; index++) {
+                if (ShardSpec.of(index, count, "id").owns(id, row)) {
+                    owners++;
+                    perShard[index]++;
+                }
+            }
+            Assert.assertEquals(owners, 1, "Row " + id + " must have exactly one owner");
+        }
+        for (int index = 0; index < count; index++) {
+            Assert.assertTrue(perShard[index] > 0, "Shard " + index + " owns no rows");
+        }
+    }
+
+    @Test
+    public void testKeyedOwnershipIgnoresPosition() {
+        ShardSpec spec = ShardSpec.of(0, 2, "id");
+        Map<String, Object> row = Map.of("id", 42);
+        Assert.assertTrue(spec.isKeyed());
+        Assert.assertEquals(spec.owns(0, row), spec.owns(7, row));
+    }
+
+    @Test
+    public void testSingleShardOwnsEverything() {
+        Assert.assertFalse(ShardSpec.NONE.isSharded());
+        Assert.assertFalse(ShardSpec.of(0, 1, "id").isKeyed());
+        Assert.assertTrue(ShardSpec.NONE.owns(5, Map.of()));
+    }
+
+    @Test
+    public void testOutOfRangeSpecsAreRejected() {
+        Assert.assertThrows(APIException.class, () -> ShardSpec.of(3, 3));
+        Assert.assertThrows(APIException.class, () -> ShardSpec.of(-1, 3));
+        Assert.assertThrows(APIException.class, () -> ShardSpec.of(0, 0));
+    }
+}
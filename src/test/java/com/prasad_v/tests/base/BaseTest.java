@@ -2,14 +2,25 @@ package com.prasad_v.tests.base;
 
 import com.prasad_v.endpoints.APIConstants;
 import com.prasad_v.asserts.AssertActions;
+import com.prasad_v.auth.OAuthHandler;
+import com.prasad_v.config.ConfigWatcher;
+import com.prasad_v.config.ConfigurationManager;
+import com.prasad_v.logging.AsyncLogging;
+import com.prasad_v.metrics.MetricsServer;
 import com.prasad_v.modules.PayloadManager;
+import com.prasad_v.reporting.ExtentTestManager;
+import com.prasad_v.requestbuilder.ConnectionPoolManager;
+import com.prasad_v.validation.SchemaValidator;
 import io.restassured.RestAssured;
 import io.restassured.builder.RequestSpecBuilder;
+import io.restassured.config.RestAssuredConfig;
 import io.restassured.http.ContentType;
 import io.restassured.path.json.JsonPath;
 import io.restassured.response.Response;
 import io.restassured.response.ValidatableResponse;
 import io.restassured.specification.RequestSpecification;
+import org.testng.annotations.AfterSuite;
+import org.testng.annotations.BeforeSuite;
 import org.testng.annotations.BeforeTest;
 
 /**
@@ -26,6 +37,63 @@ public class BaseTest {
     public Response response;  // Stores raw API responses
     public ValidatableResponse validatableResponse;  // Stores responses in a testable format
 
+    /**
+     * Compiles all JSON schemas once at suite start so schema validation in tests
+     * only costs the response walk. Controlled by schema.preload.enabled.
+     */
+    @BeforeSuite
+    public void preloadSchemas() {
+        if (ConfigurationManager.getInstance().getBooleanProperty("schema.preload.enabled", true)) {
+            SchemaValidator.preloadSchemas();
+        }
+    }
+
+    /**
+     * Switches to the asynchronous logging profile so log I/O happens off the test threads.
+     * Controlled by logging.async.enabled.
+     */
+    @BeforeSuite
+    public void configureLogging() {
+        AsyncLogging.configure();
+    }
+
+    /**
+     * Starts reloading the environment's properties file when it changes, so long runs can
+     * tune thresholds, pool limits and log levels without a restart. Controlled by
+     * config.hot.reload.enabled.
+     */
+    @BeforeSuite
+    public void startConfigWatcher() {
+        if (ConfigWatcher.isEnabled()) {
+            ConfigWatcher.start();
+        }
+    }
+
+    /**
+     * Starts the Prometheus metrics endpoint so long runs can be followed live.
+     * Controlled by metrics.server.enabled.
+     */
+    @BeforeSuite
+    public void startMetricsServer() {
+        if (MetricsServer.isEnabled()) {
+            MetricsServer.start();
+        }
+    }
+
+    /**
+     * Releases what the suite started, in order: stops config reloads, background token refreshes
+     * and the metrics endpoint, closes the pooled connections, then writes the report. A single method because TestNG
+     * does not order separate @AfterSuite methods.
+     */
+    @AfterSuite(alwaysRun = true)
+    public void tearDownSuite() {
+        ConfigWatcher.stop();
+        OAuthHandler.cancelAllScheduledRefreshes();
+        MetricsServer.stop();
+        ConnectionPoolManager.shutdown();
+        ExtentTestManager.flush();
+    }
+
     /**
      * Setup method runs before every test.
      * It initializes request specifications, payload management, and assertion handling.
@@ -38,6 +106,8 @@ public class BaseTest {
 
         // Create a reusable request specification for all tests
         requestSpecification = new RequestSpecBuilder()
+                .setConfig(getRestAssuredConfig())  // Reuse pooled connections across tests
+                .addFilter(ConnectionPoolManager.getResponseBufferingFilter())  // Release each pooled connection
                 .setBaseUri(APIConstants.BASE_URL)  // Set the API base URL
                 .addHeader("Content-Type", "application/json")  // Set header for JSON requests
                 .build().log().all();  // Log request details
@@ -51,6 +121,7 @@ public class BaseTest {
         // Create a new request specification for authentication
         requestSpecification = RestAssured
                 .given()
+                .config(getRestAssuredConfig())  // Reuse pooled connections across tests
                 .baseUri(APIConstants.BASE_URL)  // Set API base URL
                 .basePath(APIConstants.AUTH_URL);  // Set authentication endpoint
 
@@ -70,6 +141,16 @@ public class BaseTest {
         // Return the token for future API requests
         return token;
     }
+
+    /**
+     * Gets the RestAssured configuration shared by all tests.
+     * @return The pooled-client configuration, or the global default when pooling is disabled.
+     */
+    protected RestAssuredConfig getRestAssuredConfig() {
+        return ConnectionPoolManager.isEnabled()
+                ? ConnectionPoolManager.getInstance().getRestAssuredConfig()
+                : RestAssured.config();
+    }
 }
 
 
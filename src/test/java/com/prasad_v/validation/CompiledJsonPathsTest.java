@@ -0,0 +1,48 @@
+package com.prasad_v.validation;
+
+import io.restassured.path.json.JsonPath;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+public class CompiledJsonPathsTest {
+
+    private static final String DOCUMENT = "{\"id\": 7, \"name\": \"order\", \"customer\": {\"name\": \"Ann\", \"tags\": [\"a\", \"b\"]},"
+            + " \"items\": [{\"id\": 1, \"price\": 4.5}, {\"id\": 2, \"price\": 12}], \"note\": null}";
+
+    @Test
+    public void testValuesMatchJsonPathForEveryPath() {
+        List<String> paths = List.of(
+                "id", "name", "customer.name", "customer.tags[1]", "items[0].id", "items[1].price",
+                // Missing or null along the way
+                "missing", "missing.field", "items[5].id", "note.value",
+                // Need GPath semantics: field over a list, filter, size
+                "items.id", "items.findAll { it.price > 5 }.id", "customer.tags.size()");
+        JsonPath jsonPath = new JsonPath(DOCUMENT);
+
+        Map<String, Object> values = CompiledJsonPaths.compile(paths).extract(jsonPath);
+
+        Assert.assertEquals(new ArrayList<>(values.keySet()), paths);
+        for (String path : paths) {
+            Assert.assertEquals(values.get(path), jsonPath.get(path), "Value of " + path);
+        }
+    }
+
+    @Test
+    public void testDuplicatePathsAreCompiledOnce() {
+        CompiledJsonPaths compiled = CompiledJsonPaths.compile("id", "customer.name", "id");
+        Assert.assertEquals(compiled.getPaths(), List.of("id", "customer.name"));
+        Assert.assertEquals(compiled.extract(new JsonPath(DOCUMENT)).get("id"), 7);
+    }
+
+    @Test
+    public void testRootArrayIndexes() {
+        JsonPath jsonPath = new JsonPath("[{\"id\": 1}, {\"id\": 2}]");
+        Map<String, Object> values = CompiledJsonPaths.compile("[1].id", "[0]").extract(jsonPath);
+        Assert.assertEquals(values.get("[1].id"), 2);
+        Assert.assertEquals(values.get("[0]"), jsonPath.get("[0]"));
+    }
+}